@@ -0,0 +1,30 @@
+package com.backend.githubanalyzer.config;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.flyway.autoconfigure.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+
+// Tables are still created by ddl-auto, so migrations (indexes ddl-auto can't declare, backfills of columns it
+// just added) run after Hibernate instead of before it. Still part of startup, so before any worker writes.
+@Configuration
+public class FlywayConfig {
+
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy() {
+        return flyway -> {
+            // Deferred to flywayMigrator below
+        };
+    }
+
+    @Bean
+    @DependsOn("entityManagerFactory")
+    public FlywayMigrator flywayMigrator(Flyway flyway) {
+        flyway.migrate();
+        return new FlywayMigrator();
+    }
+
+    public static class FlywayMigrator {
+    }
+}
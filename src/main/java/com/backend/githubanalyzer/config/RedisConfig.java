@@ -6,15 +6,22 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.repository.configuration.EnableRedisRepositories;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
-import org.springframework.cache.CacheManager;
+import com.backend.githubanalyzer.global.cache.TwoLevelCacheManager;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.Set;
 
 @Configuration
 @EnableRedisRepositories
@@ -23,6 +30,22 @@ public class RedisConfig {
     private String host;
     @Value("${spring.data.redis.port}")
     private int port;
+    @Value("${team.members-cache-ttl-seconds:60}")
+    private long teamMembersTtlSeconds;
+    @Value("${cache.repository-ttl-seconds:600}")
+    private long repositoryTtlSeconds;
+    @Value("${cache.repository-metrics-ttl-seconds:120}")
+    private long repositoryMetricsTtlSeconds;
+    @Value("${cache.repository-contributors-ttl-seconds:120}")
+    private long repositoryContributorsTtlSeconds;
+    @Value("${cache.user-profile-ttl-seconds:300}")
+    private long userProfileTtlSeconds;
+    @Value("${cache.local.ttl-seconds:30}")
+    private long localTtlSeconds;
+    @Value("${cache.local.max-size:10000}")
+    private long localMaxSize;
+    @Value("${cache.invalidation-channel:cache:invalidate}")
+    private String invalidationChannel;
 
     @Bean
     public RedisConnectionFactory redisConnectionFactory() {
@@ -44,17 +67,50 @@ public class RedisConfig {
         return redisTemplate;
     }
 
+    // Plain string values for counters, hashes and Lua scripts (no JSON quoting)
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+    public StringRedisTemplate stringRedisTemplate() {
+        return new StringRedisTemplate(redisConnectionFactory());
+    }
+
+    @Bean
+    public TwoLevelCacheManager cacheManager(RedisConnectionFactory connectionFactory, MeterRegistry meterRegistry) {
         RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
                 .entryTtl(Duration.ofHours(1))
                 .serializeKeysWith(
                         RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
                 .serializeValuesWith(RedisSerializationContext.SerializationPair
-                        .fromSerializer(new GenericJackson2JsonRedisSerializer()));
+                        .fromSerializer(new GenericJackson2JsonRedisSerializer()
+                                .configure(mapper -> mapper.registerModule(new JavaTimeModule()))));
 
-        return RedisCacheManager.builder(connectionFactory)
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(config)
+                .withCacheConfiguration("teamMembers", config.entryTtl(Duration.ofSeconds(teamMembersTtlSeconds)))
+                .withCacheConfiguration("repository", config.entryTtl(Duration.ofSeconds(repositoryTtlSeconds)))
+                .withCacheConfiguration("repositoryMetrics",
+                        config.entryTtl(Duration.ofSeconds(repositoryMetricsTtlSeconds)))
+                .withCacheConfiguration("repositoryContributorPages",
+                        config.entryTtl(Duration.ofSeconds(repositoryContributorsTtlSeconds)))
+                .withCacheConfiguration("userProfile", config.entryTtl(Duration.ofSeconds(userProfileTtlSeconds)))
                 .build();
+        redisCacheManager.afterPropertiesSet();
+
+        // Hot read models get an in-process L1 on top of Redis
+        return new TwoLevelCacheManager(redisCacheManager,
+                Set.of("repository", "repositoryMetrics", "repositoryContributorPages", "userProfile"),
+                Duration.ofSeconds(localTtlSeconds), localMaxSize, stringRedisTemplate(), meterRegistry,
+                invalidationChannel);
+    }
+
+    // Drops L1 entries evicted on other nodes
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+            TwoLevelCacheManager cacheManager) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(
+                (message, pattern) -> cacheManager.onInvalidation(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(cacheManager.getChannel()));
+        return container;
     }
 }
@@ -0,0 +1,9 @@
+package com.backend.githubanalyzer.domain.analysis.event;
+
+// Published exactly once per batch, by whichever node records the last result (or seals the batch last)
+public record AnalysisBatchCompletedEvent(String batchId, Long ownerId, long total, long success, long scoreSum) {
+
+    public double averageScore() {
+        return success > 0 ? (double) scoreSum / success : 0;
+    }
+}
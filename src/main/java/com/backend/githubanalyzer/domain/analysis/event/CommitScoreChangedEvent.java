@@ -0,0 +1,8 @@
+package com.backend.githubanalyzer.domain.analysis.event;
+
+import java.time.LocalDateTime;
+
+// Published with the same deltas applied to the aggregate counters; listeners should react after commit
+public record CommitScoreChangedEvent(Long userId, String repoId, LocalDateTime committedAt,
+        long scoreDelta, long countDelta, long commitDelta) {
+}
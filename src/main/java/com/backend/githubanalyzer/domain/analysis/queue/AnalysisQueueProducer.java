@@ -18,4 +18,13 @@ public class AnalysisQueueProducer {
         log.info("Pushing analysis job to queue for commit: {}", job.getCommitSha());
         redisTemplate.opsForList().rightPush(ANALYSIS_QUEUE_KEY, job);
     }
+
+    // One RPUSH for a whole ingestion chunk
+    public void pushJobs(java.util.List<AnalysisJobRequest> jobs) {
+        if (jobs.isEmpty()) {
+            return;
+        }
+        log.info("Pushing {} analysis jobs to queue", jobs.size());
+        redisTemplate.opsForList().rightPushAll(ANALYSIS_QUEUE_KEY, jobs.toArray());
+    }
 }
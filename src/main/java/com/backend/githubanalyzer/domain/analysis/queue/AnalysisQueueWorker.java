@@ -4,11 +4,13 @@ import com.backend.githubanalyzer.domain.analysis.dto.AnalysisJobRequest;
 import com.backend.githubanalyzer.domain.analysis.service.AnalysisService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Slf4j
 @Component
@@ -20,19 +22,33 @@ public class AnalysisQueueWorker {
     private final com.backend.githubanalyzer.global.monitor.MetricsService metricsService;
     private static final String ANALYSIS_QUEUE_KEY = "github:analysis:queue";
 
-    @org.springframework.beans.factory.annotation.Autowired
-    @org.springframework.beans.factory.annotation.Qualifier("analysisTaskExecutor")
-    private org.springframework.core.task.TaskExecutor taskExecutor;
+    // Jobs subscribed but not finished yet. Only the scheduler thread admits, so get/increment doesn't race.
+    private final AtomicInteger inFlight = new AtomicInteger(0);
+
+    @Value("${analysis.pipeline.max-in-flight:200}")
+    private int maxInFlight;
+
+    @Value("${analysis.pipeline.max-jobs-per-poll:1}")
+    private int maxJobsPerPoll;
 
     @jakarta.annotation.PostConstruct
     public void init() {
-        log.info("AnalysisQueueWorker initialized. Polling Redis queue: {}", ANALYSIS_QUEUE_KEY);
+        metricsService.registerGauge("analysis.pipeline.inflight", inFlight);
+        log.info("AnalysisQueueWorker initialized. Polling Redis queue: {} (maxInFlight={}, maxJobsPerPoll={})",
+                ANALYSIS_QUEUE_KEY, maxInFlight, maxJobsPerPoll);
     }
 
-    @Scheduled(fixedDelay = 2000) // Poll every 2 seconds to utilize OpenAI limit safely (approx 30 RPM)
+    // maxJobsPerPoll per tick keeps us inside the OpenAI rate limit (1 job / 2s = approx 30 RPM by default)
+    @Scheduled(fixedDelayString = "${analysis.pipeline.poll-interval-ms:2000}")
     public void processAnalysisJobs() {
-        // Process 1 job per tick to strictly control Rate Limit
-        for (int i = 0; i < 1; i++) {
+        // Leave jobs in Redis while the provider's circuit is open instead of failing them
+        if (!analysisService.isProviderAvailable()) {
+            log.debug("Analysis provider unavailable, pausing queue consumption");
+            return;
+        }
+
+        int admitted = 0;
+        while (admitted < maxJobsPerPoll && inFlight.get() < maxInFlight) {
             try {
                 // Non-blocking pop to drain queue faster
                 Object popped = redisTemplate.opsForList().leftPop(ANALYSIS_QUEUE_KEY);
@@ -41,49 +57,55 @@ public class AnalysisQueueWorker {
                     return; // Queue empty, wait for next schedule
                 }
 
-                // Submit to thread pool for processing
-                taskExecutor.execute(() -> processJob(popped));
+                AnalysisJobRequest job = toJob(popped);
+                if (job == null) {
+                    continue;
+                }
 
+                admitted++;
+                submit(job);
             } catch (Exception e) {
                 log.error("Error in analysis queue worker loop: {}", e.getMessage(), e);
+                return;
             }
         }
     }
 
-    private void processJob(Object popped) {
-        metricsService.recordJobDuration("analysis_job", () -> {
-            try {
-                AnalysisJobRequest job;
-                if (popped instanceof AnalysisJobRequest) {
-                    job = (AnalysisJobRequest) popped;
-                } else {
-                    // Try to convert if it's a LinkedHashMap (common with
-                    // GenericJackson2JsonRedisSerializer)
-                    try {
-                        com.fasterxml.jackson.databind.ObjectMapper mapper = new com.fasterxml.jackson.databind.ObjectMapper();
-                        job = mapper.convertValue(popped, AnalysisJobRequest.class);
-                    } catch (Exception e) {
-                        log.error("Invalid job type in queue: {}. Could not convert to AnalysisJobRequest.",
-                                popped.getClass().getName());
-                        return;
-                    }
-                }
+    private void submit(AnalysisJobRequest job) {
+        log.info("Processing AI analysis job (Async) for commit: {}, repo: {}", job.getCommitSha(),
+                job.getRepositoryId());
 
-                if (job == null || job.getCommitSha() == null) {
-                    log.error("Job or CommitSHA is null after conversion. Raw popped: {}", popped);
-                    return;
-                }
-                log.info("Processing AI analysis job (Async) for commit: {}, repo: {}", job.getCommitSha(),
-                        job.getRepositoryId());
+        inFlight.incrementAndGet();
+        long startedAt = System.nanoTime();
+        analysisService.analyzeCommit(job.getCommitSha(), job.getRepositoryId(), job.getBatchId())
+                .doFinally(signal -> {
+                    inFlight.decrementAndGet();
+                    metricsService.recordJobDuration("analysis_job", Duration.ofNanos(System.nanoTime() - startedAt));
+                })
+                .subscribe(null, e -> log.error("Failed to analyze commit: {}", job.getCommitSha(), e));
+    }
 
-                try {
-                    analysisService.analyzeCommitSync(job.getCommitSha(), job.getRepositoryId(), job.getBatchId());
-                } catch (Exception e) {
-                    log.error("Failed to analyze commit: {}", job.getCommitSha(), e);
-                }
+    private AnalysisJobRequest toJob(Object popped) {
+        AnalysisJobRequest job;
+        if (popped instanceof AnalysisJobRequest) {
+            job = (AnalysisJobRequest) popped;
+        } else {
+            // Try to convert if it's a LinkedHashMap (common with
+            // GenericJackson2JsonRedisSerializer)
+            try {
+                com.fasterxml.jackson.databind.ObjectMapper mapper = new com.fasterxml.jackson.databind.ObjectMapper();
+                job = mapper.convertValue(popped, AnalysisJobRequest.class);
             } catch (Exception e) {
-                log.error("Error processing async analysis job", e);
+                log.error("Invalid job type in queue: {}. Could not convert to AnalysisJobRequest.",
+                        popped.getClass().getName());
+                return null;
             }
-        });
+        }
+
+        if (job == null || job.getCommitSha() == null) {
+            log.error("Job or CommitSHA is null after conversion. Raw popped: {}", popped);
+            return null;
+        }
+        return job;
     }
 }
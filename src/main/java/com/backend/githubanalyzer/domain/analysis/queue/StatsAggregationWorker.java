@@ -1,103 +1,151 @@
 package com.backend.githubanalyzer.domain.analysis.queue;
 
 import com.backend.githubanalyzer.domain.analysis.service.ScoreAggregationService;
-import lombok.RequiredArgsConstructor;
+import com.backend.githubanalyzer.domain.ranking.service.ScoreRollupService;
+import com.backend.githubanalyzer.global.monitor.MetricsService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class StatsAggregationWorker {
 
     private final RedisTemplate<String, Object> redisTemplate;
     private final ScoreAggregationService scoreAggregationService;
+    private final MetricsService metricsService;
+    private final Executor statsAggregationExecutor;
+    private final ScoreRollupService scoreRollupService;
 
     private static final String DIRTY_REPOS_KEY = "aggregation:dirty:repos";
     private static final String DIRTY_USERS_KEY = "aggregation:dirty:users";
     private static final String DIRTY_TEAMS_KEY = "aggregation:dirty:teams";
 
-    @Scheduled(fixedDelay = 60000) // Run every 1 minute
-    public void processDirtyStats() {
-        log.info("Starting periodic stats aggregation for dirty entities...");
+    private static final String RECONCILE_LOCK_KEY = "aggregation:reconcile:lock";
+
+    // A crashed pass leaves its processing set behind; let it expire instead of blocking the type forever
+    private static final Duration PROCESSING_TTL = Duration.ofMinutes(10);
+
+    @Value("${aggregation.reconcile-interval-ms:3600000}")
+    private long reconcileIntervalMs;
+
+    @Value("${ranking.rollup.reconcile-days:2}")
+    private long rollupReconcileDays;
+
+    @Value("${aggregation.chunk-size:500}")
+    private int chunkSize;
 
-        processRepos();
-        processUsers();
-        processTeams();
+    private final Map<String, AtomicLong> backlog = new ConcurrentHashMap<>();
 
-        log.info("Finished periodic stats aggregation.");
+    public StatsAggregationWorker(RedisTemplate<String, Object> redisTemplate,
+            ScoreAggregationService scoreAggregationService,
+            MetricsService metricsService,
+            @Qualifier("statsAggregationExecutor") Executor statsAggregationExecutor,
+            ScoreRollupService scoreRollupService) {
+        this.redisTemplate = redisTemplate;
+        this.scoreAggregationService = scoreAggregationService;
+        this.metricsService = metricsService;
+        this.statsAggregationExecutor = statsAggregationExecutor;
+        this.scoreRollupService = scoreRollupService;
     }
 
-    private void processRepos() {
-        if (!Boolean.TRUE.equals(redisTemplate.hasKey(DIRTY_REPOS_KEY))) {
+    // Counters are maintained by deltas; the dirty sets below are only fed by reconciliation and rare events
+    // (author reassignment, repo deletion, new sprint registrations).
+    @Scheduled(fixedDelayString = "${aggregation.reconcile-interval-ms:3600000}", initialDelay = 120000)
+    public void reconcile() {
+        // One node per interval
+        Boolean acquired = redisTemplate.opsForValue().setIfAbsent(RECONCILE_LOCK_KEY, "1",
+                Duration.ofMillis(reconcileIntervalMs / 2));
+        if (!Boolean.TRUE.equals(acquired)) {
             return;
         }
-        String processingKey = DIRTY_REPOS_KEY + ":processing";
-        redisTemplate.renameIfAbsent(DIRTY_REPOS_KEY, processingKey);
-
-        Set<Object> repoIds = redisTemplate.opsForSet().members(processingKey);
-        if (repoIds != null && !repoIds.isEmpty()) {
-            log.info("Found {} dirty repositories to aggregate.", repoIds.size());
-            for (Object id : repoIds) {
-                try {
-                    scoreAggregationService.updateRepoStats((String) id);
-                    redisTemplate.opsForSet().remove(processingKey, id);
-                } catch (Exception e) {
-                    log.error("Failed to aggregate stats for repo: {}. Keeping in pool.", id, e);
-                }
-            }
+        try {
+            scoreAggregationService.markSliceForReconciliation();
+        } catch (Exception e) {
+            log.error("Failed to queue aggregate reconciliation", e);
+        }
+        try {
+            // Older buckets only change on author reassignment; keep the rebuild cheap
+            scoreRollupService.rebuildSince(LocalDateTime.now().minusDays(rollupReconcileDays));
+        } catch (Exception e) {
+            log.error("Failed to rebuild recent score rollups", e);
         }
-        redisTemplate.delete(processingKey);
     }
 
-    private void processUsers() {
-        if (!Boolean.TRUE.equals(redisTemplate.hasKey(DIRTY_USERS_KEY))) {
-            return;
-        }
-        String processingKey = DIRTY_USERS_KEY + ":processing";
-        redisTemplate.renameIfAbsent(DIRTY_USERS_KEY, processingKey);
-
-        Set<Object> userIds = redisTemplate.opsForSet().members(processingKey);
-        if (userIds != null && !userIds.isEmpty()) {
-            log.info("Found {} dirty users to aggregate.", userIds.size());
-            for (Object id : userIds) {
-                try {
-                    scoreAggregationService.updateUserStats(Long.valueOf(id.toString()));
-                    redisTemplate.opsForSet().remove(processingKey, id);
-                } catch (Exception e) {
-                    log.error("Failed to aggregate stats for user: {}. Keeping in pool.", id, e);
-                }
-            }
+    @Scheduled(fixedDelay = 60000) // Run every 1 minute
+    public void processDirtyStats() {
+        long startedAt = System.nanoTime();
+
+        int repos = drain(DIRTY_REPOS_KEY, "repos", scoreAggregationService::recomputeRepos);
+        int users = drain(DIRTY_USERS_KEY, "users",
+                ids -> scoreAggregationService.recomputeUsers(ids.stream().map(Long::valueOf).toList()));
+        int teams = drain(DIRTY_TEAMS_KEY, "teams", scoreAggregationService::recomputeSprintRegistrations);
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+        metricsService.recordJobDuration("stats-aggregation", elapsed);
+        if (repos + users + teams > 0) {
+            log.info("Aggregated {} repos, {} users and {} sprint repos in {} ms", repos, users, teams,
+                    elapsed.toMillis());
         }
-        redisTemplate.delete(processingKey);
     }
 
-    private void processTeams() {
-        if (!Boolean.TRUE.equals(redisTemplate.hasKey(DIRTY_TEAMS_KEY))) {
-            return;
+    // Claims the dirty set, recomputes it in chunks (one UPDATE ... JOIN each) in parallel,
+    // and puts failed chunks back for the next pass.
+    private int drain(String dirtyKey, String type, Consumer<List<String>> recompute) {
+        String processingKey = dirtyKey + ":processing";
+        Long pending = redisTemplate.opsForSet().size(dirtyKey);
+        Long inProgress = redisTemplate.opsForSet().size(processingKey);
+        backlogGauge(type).set((pending != null ? pending : 0L) + (inProgress != null ? inProgress : 0L));
+
+        if (pending == null || pending == 0L) {
+            return 0;
+        }
+        // Another node (or a crashed pass) holds the processing set
+        if (!Boolean.TRUE.equals(redisTemplate.renameIfAbsent(dirtyKey, processingKey))) {
+            return 0;
         }
-        String processingKey = DIRTY_TEAMS_KEY + ":processing";
-        redisTemplate.renameIfAbsent(DIRTY_TEAMS_KEY, processingKey);
-
-        Set<Object> repoIdsForTeams = redisTemplate.opsForSet().members(processingKey);
-        if (repoIdsForTeams != null && !repoIdsForTeams.isEmpty()) {
-            log.info("Found {} repositories with dirty team/sprint stats.", repoIdsForTeams.size());
-            for (Object id : repoIdsForTeams) {
-                try {
-                    // This updates all sprint registrations linked to this repo
-                    // (userId is not needed for the broad repo activity update)
-                    scoreAggregationService.updateTeamSprintStats((String) id, null);
-                    redisTemplate.opsForSet().remove(processingKey, id);
-                } catch (Exception e) {
-                    log.error("Failed to aggregate sprint stats for repo: {}. Keeping in pool.", id, e);
-                    redisTemplate.opsForSet().add(processingKey, id);
-                }
-            }
+        redisTemplate.expire(processingKey, PROCESSING_TTL);
+
+        Set<Object> members = redisTemplate.opsForSet().members(processingKey);
+        if (members == null || members.isEmpty()) {
+            redisTemplate.delete(processingKey);
+            return 0;
+        }
+        List<String> ids = members.stream().map(String::valueOf).toList();
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<String> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+            futures.add(CompletableFuture.runAsync(() -> recompute.accept(chunk), statsAggregationExecutor)
+                    .exceptionally(e -> {
+                        log.error("Failed to aggregate {} chunk of {}. Keeping in pool.", type, chunk.size(), e);
+                        redisTemplate.opsForSet().add(dirtyKey, chunk.toArray());
+                        return null;
+                    }));
         }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
         redisTemplate.delete(processingKey);
+        return ids.size();
+    }
+
+    private AtomicLong backlogGauge(String type) {
+        return backlog.computeIfAbsent(type,
+                t -> metricsService.registerGauge("aggregation.backlog." + t, new AtomicLong(0)));
     }
 }
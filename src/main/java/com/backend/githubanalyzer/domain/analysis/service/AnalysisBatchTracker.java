@@ -0,0 +1,137 @@
+package com.backend.githubanalyzer.domain.analysis.service;
+
+import com.backend.githubanalyzer.domain.analysis.event.AnalysisBatchCompletedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AnalysisBatchTracker {
+
+    private static final String BATCH_KEY_PREFIX = "analysis:batch:";
+
+    // Both scripts complete the batch at most once: the hash is deleted in the same script that
+    // detects processed >= total, so late or duplicate results find no key and do nothing.
+    // total = -1 while the sync is still queueing jobs.
+    private static final String COMPLETE_IF_DONE = """
+            local total = tonumber(redis.call('HGET', KEYS[1], 'total'))
+            local processed = tonumber(redis.call('HGET', KEYS[1], 'processed'))
+            if total >= 0 and processed >= total then
+                local summary = redis.call('HMGET', KEYS[1], 'total', 'success', 'score_sum', 'owner_id')
+                redis.call('DEL', KEYS[1])
+                return summary
+            end
+            return {}
+            """;
+
+    private static final DefaultRedisScript<List> RECORD_RESULT_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then return {} end
+            redis.call('HINCRBY', KEYS[1], 'processed', 1)
+            if ARGV[1] == '1' then
+                redis.call('HINCRBY', KEYS[1], 'success', 1)
+                redis.call('HINCRBY', KEYS[1], 'score_sum', ARGV[2])
+            end
+            redis.call('EXPIRE', KEYS[1], ARGV[3])
+            """ + COMPLETE_IF_DONE, List.class);
+
+    private static final DefaultRedisScript<List> SEAL_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then return {} end
+            redis.call('HSET', KEYS[1], 'total', ARGV[1])
+            redis.call('EXPIRE', KEYS[1], ARGV[2])
+            """ + COMPLETE_IF_DONE, List.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Batches whose jobs got lost (worker crash, dropped queue) expire instead of leaking
+    @Value("${analysis.batch.ttl-seconds:86400}")
+    private long ttlSeconds;
+
+    public String open(Long ownerId) {
+        String batchId = UUID.randomUUID().toString();
+        String key = BATCH_KEY_PREFIX + batchId;
+        stringRedisTemplate.opsForHash().putAll(key, Map.of(
+                "total", "-1",
+                "processed", "0",
+                "success", "0",
+                "score_sum", "0",
+                "owner_id", ownerId != null ? ownerId.toString() : ""));
+        stringRedisTemplate.expire(key, java.time.Duration.ofSeconds(ttlSeconds));
+        return batchId;
+    }
+
+    // Called once every job of the batch is queued. Completes right away if they all finished already.
+    public void seal(String batchId, int total) {
+        if (batchId == null) {
+            return;
+        }
+        if (total <= 0) {
+            stringRedisTemplate.delete(BATCH_KEY_PREFIX + batchId);
+            return;
+        }
+        List<?> summary = stringRedisTemplate.execute(SEAL_SCRIPT, List.of(BATCH_KEY_PREFIX + batchId),
+                String.valueOf(total), String.valueOf(ttlSeconds));
+        publishIfCompleted(batchId, summary);
+    }
+
+    public void recordResult(String batchId, boolean success, long score) {
+        if (batchId == null) {
+            return;
+        }
+        try {
+            List<?> summary = stringRedisTemplate.execute(RECORD_RESULT_SCRIPT, List.of(BATCH_KEY_PREFIX + batchId),
+                    success ? "1" : "0", String.valueOf(score), String.valueOf(ttlSeconds));
+            publishIfCompleted(batchId, summary);
+        } catch (Exception e) {
+            log.warn("Failed to record result for batch {}: {}", batchId, e.getMessage());
+        }
+    }
+
+    // For callers inside a transaction: the increment is not transactional and not idempotent, so it only
+    // happens once the transaction has committed. On rollback nothing is recorded; the caller's failure
+    // path records the result instead.
+    public void recordResultAfterCommit(String batchId, boolean success, long score) {
+        if (batchId == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            recordResult(batchId, success, score);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    recordResult(batchId, success, score);
+                }
+            }
+        });
+    }
+
+    private void publishIfCompleted(String batchId, List<?> summary) {
+        if (summary == null || summary.size() < 4) {
+            return;
+        }
+        String owner = summary.get(3) != null ? summary.get(3).toString() : "";
+        AnalysisBatchCompletedEvent event = new AnalysisBatchCompletedEvent(
+                batchId,
+                owner.isEmpty() ? null : Long.valueOf(owner),
+                Long.parseLong(summary.get(0).toString()),
+                Long.parseLong(summary.get(1).toString()),
+                Long.parseLong(summary.get(2).toString()));
+        log.info("Batch {} completed: {} processed, {} succeeded", batchId, event.total(), event.success());
+        eventPublisher.publishEvent(event);
+    }
+}
@@ -4,13 +4,19 @@ import com.backend.githubanalyzer.domain.commit.entity.AnalysisStatus;
 import com.backend.githubanalyzer.domain.commit.entity.Commit;
 import com.backend.githubanalyzer.domain.commit.entity.RiskLevel;
 import com.backend.githubanalyzer.domain.commit.repository.CommitRepository;
-import com.backend.githubanalyzer.infra.openai.OpenAiClient;
+import com.backend.githubanalyzer.infra.llm.AnalysisProvider;
+import com.backend.githubanalyzer.infra.llm.AnalysisRequest;
+import com.backend.githubanalyzer.infra.llm.ProviderUnavailableException;
 import com.backend.githubanalyzer.infra.openai.dto.OpenAiAnalysisResponse;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import com.backend.githubanalyzer.domain.analysis.event.AnalysisBatchCompletedEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
 import java.time.LocalDateTime;
 
@@ -19,7 +25,7 @@ import java.time.LocalDateTime;
 @RequiredArgsConstructor
 public class AnalysisService {
 
-    private final OpenAiClient openAiClient;
+    private final AnalysisProvider analysisProvider;
     private final CommitRepository commitRepository;
     private final ObjectMapper objectMapper;
     private final org.springframework.data.redis.core.RedisTemplate<String, Object> redisTemplate;
@@ -32,108 +38,184 @@ public class AnalysisService {
 
     private final com.backend.githubanalyzer.domain.notification.service.NotificationService notificationService;
 
-    // Helper record to hold prompts
-    private record AnalysisPrompts(String system, String user) {
-    }
+    private final Scheduler analysisDbScheduler;
+
+    private final AnalysisBatchTracker analysisBatchTracker;
+
+    private final CommitPreClassifier commitPreClassifier;
+
+    private final com.backend.githubanalyzer.domain.analysis.queue.AnalysisQueueProducer analysisQueueProducer;
 
     public void analyzeCommitSync(String commitSha, String repositoryId, String batchId) {
-        log.info("Starting AI Analysis for commit: {} (Batch: {})", commitSha, batchId);
+        analyzeCommit(commitSha, repositoryId, batchId).block();
+    }
 
-        try {
-            // Step 1: Prepare (Set Status PROCESSING, Build Prompts) - Short Transaction
-            AnalysisPrompts prompts = transactionTemplate.execute(status -> {
-                java.util.List<Commit> commits = commitRepository.findAllById_CommitShaAndRepositoryId(commitSha,
-                        repositoryId);
-                if (commits.isEmpty()) {
-                    throw new IllegalArgumentException("Commit not found: " + commitSha);
-                }
+    // prepare -> LLM -> persist, without parking a thread on the LLM call.
+    // JDBC steps hop onto analysisDbScheduler; the provider call stays on its own (event loop / timer) threads.
+    public Mono<Void> analyzeCommit(String commitSha, String repositoryId, String batchId) {
+        return Mono.fromCallable(() -> {
+                    log.info("Starting AI Analysis for commit: {} (Batch: {})", commitSha, batchId);
+                    return prepareAnalysis(commitSha, repositoryId);
+                })
+                .subscribeOn(analysisDbScheduler)
+                .flatMap(prepared -> {
+                    if (prepared.fastPathRule() != null) {
+                        // Already scored (or skipped) by a rule, nothing left to call
+                        analysisBatchTracker.recordResult(batchId, prepared.fastPathRule().isScored(),
+                                prepared.fastPathScore());
+                        return Mono.empty();
+                    }
+                    metricsService.incrementExternalRequest(analysisProvider.name());
+                    return analysisProvider.analyze(prepared.request())
+                            .switchIfEmpty(Mono.error(new IllegalStateException("Empty analysis response for commit: " + commitSha)));
+                })
+                .publishOn(analysisDbScheduler)
+                .doOnNext(response -> {
+                    Long score = saveAnalysis(commitSha, repositoryId, response);
+
+                    analysisBatchTracker.recordResult(batchId, true, score != null ? score : 0L);
+                })
+                .then()
+                .onErrorResume(e -> Mono.fromRunnable(() -> handleAnalysisFailure(commitSha, repositoryId, batchId, e))
+                        .subscribeOn(analysisDbScheduler)
+                        .then());
+    }
+
+    // Either prompts for the provider, or the fast-path rule that already finished the commit
+    private record PreparedAnalysis(AnalysisRequest request, CommitPreClassifier.Rule fastPathRule, long fastPathScore) {
+    }
 
-                // Mark ALL as processing
+    // Step 1: Prepare (Classify, Set Status PROCESSING, Build Prompts) - Short Transaction
+    private PreparedAnalysis prepareAnalysis(String commitSha, String repositoryId) {
+        PreparedAnalysis prepared = transactionTemplate.execute(status -> {
+            java.util.List<Commit> commits = commitRepository.findAllById_CommitShaAndRepositoryId(commitSha,
+                    repositoryId);
+            if (commits.isEmpty()) {
+                throw new IllegalArgumentException("Commit not found: " + commitSha);
+            }
+
+            // Use the first one for context (content is same)
+            Commit primaryCommit = commits.get(0);
+
+            java.util.Optional<CommitPreClassifier.Rule> rule = commitPreClassifier.classify(primaryCommit);
+            if (rule.isPresent()) {
+                long score = 0L;
                 for (Commit commit : commits) {
-                    commit.setAnalysisStatus(AnalysisStatus.PROCESSING);
+                    score = applyFastPath(commit, rule.get());
                 }
-                commitRepository.saveAll(commits);
-                commitRepository.flush();
-
-                // Use the first one for context (content is same)
-                Commit primaryCommit = commits.get(0);
-                String systemPrompt = constructSystemPrompt();
-                String userPrompt = constructUserPrompt(primaryCommit);
-                return new AnalysisPrompts(systemPrompt, userPrompt);
-            });
+                return new PreparedAnalysis(null, rule.get(), score);
+            }
+
+            // Mark ALL as processing
+            for (Commit commit : commits) {
+                commit.setAnalysisStatus(AnalysisStatus.PROCESSING);
+            }
+            commitRepository.saveAll(commits);
+            commitRepository.flush();
+
+            String systemPrompt = constructSystemPrompt();
+            String userPrompt = constructUserPrompt(primaryCommit);
+            return new PreparedAnalysis(new AnalysisRequest(commitSha, systemPrompt, userPrompt,
+                    primaryCommit.getMessage(), primaryCommit.getDiff()), null, 0L);
+        });
+
+        if (prepared == null)
+            throw new IllegalStateException("Failed to prepare analysis prompts");
+        return prepared;
+    }
+
+    // Fixed scores skip z-score normalization so bot commits don't shift the running stats
+    private long applyFastPath(Commit commit, CommitPreClassifier.Rule rule) {
+        log.info("Fast path {} for commit: {}", rule, commit.getId().getCommitSha());
+        metricsService.incrementAnalysisFastPath(rule.name());
+
+        long[] scores = rule.isScored() ? rule.getScores() : new long[6];
+        commit.setCommitMessageQuality(scores[0]);
+        commit.setCodeQuality(scores[1]);
+        commit.setChangeAppropriateness(scores[2]);
+        commit.setNecessity(scores[3]);
+        commit.setCorrectnessAndRisk(scores[4]);
+        commit.setTestingAndVerification(scores[5]);
+        commit.setRiskLevel(rule.isScored() ? RiskLevel.LOW : null);
+        commit.setSummary(rule.getSummary());
+
+        commit.setAnalysisStatus(rule.isScored() ? AnalysisStatus.COMPLETED : AnalysisStatus.SKIPPED);
+        commit.setAnalysisRule(rule.name());
+        commit.setAnalysisModel("rules");
+        commit.setAnalysisCreatedAt(LocalDateTime.now());
+
+        commit.calculateTotalScore();
+        scoreAggregationService.applyScoreChange(commit);
+        commitRepository.save(commit);
+        return commit.getTotalScore();
+    }
 
-            if (prompts == null)
-                throw new IllegalStateException("Failed to prepare analysis prompts");
+    // Step 3: Save Results - Short Transaction
+    private Long saveAnalysis(String commitSha, String repositoryId, OpenAiAnalysisResponse response) {
+        return transactionTemplate.execute(status -> {
+            java.util.List<Commit> commits = commitRepository.findAllById_CommitShaAndRepositoryId(commitSha,
+                    repositoryId);
+            if (commits.isEmpty()) {
+                throw new IllegalArgumentException("Commit not found during save: " + commitSha);
+            }
 
-            // Step 2: AI Call (No Transaction, Long running)
-            metricsService.incrementExternalRequest("openai");
-            OpenAiAnalysisResponse response = openAiClient.analyzeCommit(prompts.system(), prompts.user()).block();
+            Long finalScore = 0L;
+            // Update ALL copies of this commit (different branches)
+            for (Commit commit : commits) {
+                finalScore = updateCommitWithAnalysis(commit, response);
+            }
+            return finalScore;
+        });
+    }
 
-            // Step 3: Save Results - Short Transaction
-            Long score = transactionTemplate.execute(status -> {
+    // Step 4: Handle Error - Short Transaction
+    private void handleAnalysisFailure(String commitSha, String repositoryId, String batchId, Throwable e) {
+        if (e instanceof ProviderUnavailableException) {
+            requeue(commitSha, repositoryId, batchId, e);
+            return;
+        }
+        log.error("Error during analysis flow for commit: {}", commitSha, e);
+        try {
+            transactionTemplate.execute(status -> {
                 java.util.List<Commit> commits = commitRepository.findAllById_CommitShaAndRepositoryId(commitSha,
                         repositoryId);
-                if (commits.isEmpty()) {
-                    throw new IllegalArgumentException("Commit not found during save: " + commitSha);
-                }
-                
-                Long finalScore = 0L;
-                // Update ALL copies of this commit (different branches)
                 for (Commit commit : commits) {
-                   finalScore = updateCommitWithAnalysis(commit, response);
+                    handleAnalysisError(commit, e);
                 }
-                return finalScore;
+                return null;
             });
-            
-            // --- Batch Aggregation Logic (Success) ---
-            if (batchId != null) {
-                redisTemplate.opsForValue().increment("analysis:batch:" + batchId + ":success");
-                redisTemplate.opsForValue().increment("analysis:batch:" + batchId + ":score_sum", score != null ? score : 0);
-                Long processed = redisTemplate.opsForValue().increment("analysis:batch:" + batchId + ":processed");
-                checkAndSendBatchSummary(batchId, processed, commitRepository.findById(new com.backend.githubanalyzer.domain.commit.entity.CommitId(commitSha, repositoryId, "main")).map(c -> c.getAuthor().getId()).orElse(null)); 
-                // Note: Author ID might be tricky if we don't have commit obj context here easily. 
-                // But we need user ID to notify.
-                // We can query commit again or return authorId from Step 3.
-                // Let's refactor Step 3 slightly to return Author ID as well if feasible, or just fetch via Repo owner in checkAndSendBatchSummary if generic,
-                // BUT notification is per user. Usually caller user ID is preferred.
-                // Or we can get it from Commit.author.
-                // Let's rely on Step 3 returning commit author ID?
-                // For simplicity, let's assume we can fetch author ID from DB inside checkAndSendBatchSummary or pass it out.
-                // Actually, 'analyzeCommitSync' doesn't take userId. 
-                // But we can get it from the commit we just processed.
-            }
+        } catch (Exception ex) {
+            log.error("Failed to save error status for commit: {}", commitSha, ex);
+        }
+        // Counted even if the status write failed, so the batch can still complete
+        analysisBatchTracker.recordResult(batchId, false, 0L);
+    }
 
-        } catch (Exception e) {
-            log.error("Error during analysis flow for commit: {}", commitSha, e);
-            // Step 4: Handle Error - Short Transaction
-            try {
-                transactionTemplate.execute(status -> {
-                    java.util.List<Commit> commits = commitRepository.findAllById_CommitShaAndRepositoryId(commitSha,
-                            repositoryId);
-                    if (!commits.isEmpty()) {
-                        for (Commit commit : commits) {
-                            handleAnalysisError(commit, e);
-                        }
-                    }
-                    return null;
-                });
-                
-                // --- Batch Aggregation Logic (Error) ---
-                if (batchId != null) {
-                    Long processed = redisTemplate.opsForValue().increment("analysis:batch:" + batchId + ":processed");
-                    // We need user ID to notify.
-                    // Fetch generic user from repo? Or pass in request?
-                    // Request didn't have user ID passed to AnalysisService (only AnalysisJobRequest had repositoryId).
-                    // We can lookup commit author.
-                     checkAndSendBatchSummary(batchId, processed, null); 
+    // Provider rejected the call without trying (circuit open / bulkhead full): not the commit's fault,
+    // put it back as PENDING instead of FAILED. The batch keeps waiting for its result.
+    private void requeue(String commitSha, String repositoryId, String batchId, Throwable e) {
+        log.warn("Provider unavailable, re-queueing commit {}: {}", commitSha, e.getMessage());
+        try {
+            transactionTemplate.execute(status -> {
+                for (Commit commit : commitRepository.findAllById_CommitShaAndRepositoryId(commitSha, repositoryId)) {
+                    commit.setAnalysisStatus(AnalysisStatus.PENDING);
                 }
-
-            } catch (Exception ex) {
-                log.error("Failed to save error status for commit: {}", commitSha, ex);
-            }
+                return null;
+            });
+            analysisQueueProducer.pushJob(com.backend.githubanalyzer.domain.analysis.dto.AnalysisJobRequest.builder()
+                    .commitSha(commitSha)
+                    .repositoryId(repositoryId)
+                    .batchId(batchId)
+                    .build());
+        } catch (Exception ex) {
+            log.error("Failed to re-queue commit: {}", commitSha, ex);
         }
     }
 
+    public boolean isProviderAvailable() {
+        return analysisProvider.isAvailable();
+    }
+
     // ... (rest of methods unchanged)
 
     private Long updateCommitWithAnalysis(Commit commit, OpenAiAnalysisResponse response) {
@@ -178,19 +260,17 @@ public class AnalysisService {
         }
 
         commit.setAnalysisStatus(AnalysisStatus.COMPLETED);
+        commit.setAnalysisRule(null);
         commit.setAnalysisCreatedAt(LocalDateTime.now());
-        commit.setAnalysisModel("gpt-4o-mini");
+        commit.setAnalysisModel(analysisProvider.modelName());
 
         commit.calculateTotalScore();
+        scoreAggregationService.applyScoreChange(commit);
         commitRepository.save(commit);
 
         // Remove flush here as transactionTemplate will commit at end of block
         // commitRepository.flush();
 
-        scoreAggregationService.markRepoDirty(commit.getRepository().getId());
-        scoreAggregationService.markUserDirty(commit.getAuthor().getId());
-        scoreAggregationService.markTeamDirty(commit.getRepository().getId());
-
         // REMOVED: Individual Notification
         
         return commit.getTotalScore();
@@ -201,46 +281,27 @@ public class AnalysisService {
 
         commit.setAnalysisStatus(AnalysisStatus.FAILED);
         commit.setAnalysisReason(error.getMessage());
+        // A failed re-analysis drops the previous score from the aggregates
+        scoreAggregationService.applyScoreChange(commit);
         commitRepository.save(commit);
 
         // REMOVED: Individual Notification
     }
     
-    private void checkAndSendBatchSummary(String batchId, Long processedCount, Long userIdHint) {
-         Object totalObj = redisTemplate.opsForValue().get("analysis:batch:" + batchId + ":total");
-         if (totalObj == null || Integer.parseInt(totalObj.toString()) == -1) {
-             return; // Batch not fully queued yet or stale
-         }
-         
-         long total = Long.parseLong(totalObj.toString());
-         if (processedCount >= total) {
-             // Batch Complete
-             Object successObj = redisTemplate.opsForValue().get("analysis:batch:" + batchId + ":success");
-             Object scoreSumObj = redisTemplate.opsForValue().get("analysis:batch:" + batchId + ":score_sum");
-             
-             long success = successObj != null ? Long.parseLong(successObj.toString()) : 0;
-             long scoreSum = scoreSumObj != null ? Long.parseLong(scoreSumObj.toString()) : 0;
-             double avgScore = success > 0 ? (double) scoreSum / success : 0;
-             
-             String message = String.format("Analysis Summary: %d processed. %d succeeded. Average Score: %.1f", 
-                 total, success, avgScore);
-             
-             // We need a userId to notify. 
-             // If userIdHint is null, we try to fallback or skip.
-             // Ideally we pass userId through the chain or store it in Redis batch context 'ownerId'
-             // For now, if hint is provided, use it.
-             if (userIdHint != null) {
-                 notificationService.send(userIdHint, 
-                     com.backend.githubanalyzer.domain.notification.entity.NotificationType.ANALYSIS_SUMMARY, 
-                     message);
-             }
-             
-             // Cleanup
-             redisTemplate.delete("analysis:batch:" + batchId + ":total");
-             redisTemplate.delete("analysis:batch:" + batchId + ":processed");
-             redisTemplate.delete("analysis:batch:" + batchId + ":success");
-             redisTemplate.delete("analysis:batch:" + batchId + ":score_sum");
-         }
+    @EventListener
+    public void onBatchCompleted(AnalysisBatchCompletedEvent event) {
+        if (event.ownerId() == null) {
+            return;
+        }
+        String message = String.format("Analysis Summary: %d processed. %d succeeded. Average Score: %.1f",
+                event.total(), event.success(), event.averageScore());
+        try {
+            notificationService.send(event.ownerId(),
+                    com.backend.githubanalyzer.domain.notification.entity.NotificationType.ANALYSIS_SUMMARY,
+                    message);
+        } catch (Exception e) {
+            log.warn("Failed to send summary for batch {}: {}", event.batchId(), e.getMessage());
+        }
     }
 
     private String constructSystemPrompt() {
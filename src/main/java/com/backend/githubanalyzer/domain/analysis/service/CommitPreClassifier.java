@@ -0,0 +1,246 @@
+package com.backend.githubanalyzer.domain.analysis.service;
+
+import com.backend.githubanalyzer.domain.commit.entity.ChangedFile;
+import com.backend.githubanalyzer.domain.commit.entity.Commit;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+
+// Catches commits that don't need an LLM review (merges, bot dependency bumps, renames, formatting,
+// generated output) from the file list, patch stats and parent count.
+@Component
+public class CommitPreClassifier {
+
+    public enum Rule {
+        // scores: message, code, appropriateness, necessity, correctness, testing. null = not scored
+        MERGE("Merge commit - not scored", null),
+        GENERATED_FILES("Only generated/build output changed - not scored", null),
+        DEPENDENCY_BUMP("Dependency / lockfile update", new long[] { 50, 50, 80, 40, 70, 30 }),
+        RENAME_ONLY("Files renamed without content changes", new long[] { 50, 50, 70, 40, 80, 30 }),
+        WHITESPACE_ONLY("Whitespace / formatting only", new long[] { 50, 40, 60, 20, 80, 30 });
+
+        private final String summary;
+        private final long[] scores;
+
+        Rule(String summary, long[] scores) {
+            this.summary = summary;
+            this.scores = scores;
+        }
+
+        public String getSummary() {
+            return summary;
+        }
+
+        public boolean isScored() {
+            return scores != null;
+        }
+
+        public long[] getScores() {
+            return scores;
+        }
+    }
+
+    private static final Set<String> LOCKFILES = Set.of(
+            "package-lock.json", "npm-shrinkwrap.json", "yarn.lock", "pnpm-lock.yaml", "bun.lockb",
+            "gemfile.lock", "cargo.lock", "poetry.lock", "pipfile.lock", "uv.lock", "composer.lock",
+            "go.sum", "gradle.lockfile", "packages.lock.json", "pubspec.lock", "mix.lock", "flake.lock",
+            "podfile.lock");
+
+    private static final Set<String> MANIFESTS = Set.of(
+            "package.json", "go.mod", "cargo.toml", "pyproject.toml", "pipfile", "gemfile", "composer.json",
+            "build.gradle", "build.gradle.kts", "pom.xml", "libs.versions.toml", "pubspec.yaml", "podfile");
+
+    // A manifest edit bigger than this is real work, not a version bump
+    private static final int MAX_MANIFEST_CHURN = 20;
+
+    // Build output only at the repo root: scripts/build/ or packages/build/src/ are usually hand-written
+    private static final List<String> GENERATED_ROOT_DIRS = List.of(
+            "dist/", "build/", "target/", "out/", "vendor/", "generated/");
+
+    // Never hand-written, at any depth (e.g. per-package node_modules in a monorepo)
+    private static final List<String> GENERATED_DIRS = List.of("node_modules/", "__generated__/", ".next/");
+
+    private static final List<String> GENERATED_SUFFIXES = List.of(
+            ".min.js", ".min.css", ".map", "_pb2.py", "_pb2_grpc.py", ".pb.go", ".g.dart", ".freezed.dart",
+            ".designer.cs", ".snap");
+
+    // Indentation is syntax here: moving a line into or out of a block is a logic change
+    private static final List<String> INDENT_SENSITIVE_SUFFIXES = List.of(
+            ".py", ".pyi", ".pyw", ".yml", ".yaml", ".mk", ".coffee", ".pug", ".haml", ".sass", ".styl");
+
+    private static final Set<String> INDENT_SENSITIVE_NAMES = Set.of("makefile", "gnumakefile", "snakefile");
+
+    public Optional<Rule> classify(Commit commit) {
+        if (commit.getBeforeCommitId() != null && commit.getBeforeCommitId().split(",").length > 1) {
+            return Optional.of(Rule.MERGE);
+        }
+
+        List<ChangedFile> files = changedFiles(commit);
+        if (files.isEmpty()) {
+            return Optional.empty();
+        }
+
+        if (files.stream().allMatch(f -> isGenerated(f.filename()))) {
+            return Optional.of(Rule.GENERATED_FILES);
+        }
+
+        if (isDependencyBump(files)) {
+            return Optional.of(Rule.DEPENDENCY_BUMP);
+        }
+
+        if (commit.getChangedFiles() != null
+                && files.stream().allMatch(f -> "renamed".equals(f.status()) && f.additions() + f.deletions() == 0)) {
+            return Optional.of(Rule.RENAME_ONLY);
+        }
+
+        if (isWhitespaceOnly(commit.getDiff(), files.size())) {
+            return Optional.of(Rule.WHITESPACE_ONLY);
+        }
+
+        return Optional.empty();
+    }
+
+    // Older rows have no changed_files, fall back to the file headers and +/- lines of the stored diff
+    private List<ChangedFile> changedFiles(Commit commit) {
+        if (commit.getChangedFiles() != null) {
+            return ChangedFile.parse(commit.getChangedFiles());
+        }
+        List<ChangedFile> files = new ArrayList<>();
+        String diff = commit.getDiff();
+        if (diff == null || diff.isEmpty()) {
+            return files;
+        }
+        String current = null;
+        int additions = 0;
+        int deletions = 0;
+        for (String line : diff.split("\n")) {
+            if (line.startsWith("--- ")) {
+                if (current != null) {
+                    files.add(new ChangedFile("modified", additions, deletions, current));
+                }
+                current = line.substring(4).trim();
+                additions = 0;
+                deletions = 0;
+            } else if (line.startsWith("+")) {
+                additions++;
+            } else if (line.startsWith("-")) {
+                deletions++;
+            }
+        }
+        if (current != null) {
+            files.add(new ChangedFile("modified", additions, deletions, current));
+        }
+        return files;
+    }
+
+    private boolean isDependencyBump(List<ChangedFile> files) {
+        boolean touchesLockfile = false;
+        int manifestChurn = 0;
+        for (ChangedFile file : files) {
+            String name = baseName(file.filename());
+            if (LOCKFILES.contains(name)) {
+                touchesLockfile = true;
+            } else if (MANIFESTS.contains(name) || (name.startsWith("requirements") && name.endsWith(".txt"))) {
+                manifestChurn += file.additions() + file.deletions();
+            } else {
+                return false;
+            }
+        }
+        // A lockfile refresh rides along with most bumps; it doesn't excuse a large manifest edit
+        return (touchesLockfile || manifestChurn > 0) && manifestChurn <= MAX_MANIFEST_CHURN;
+    }
+
+    private boolean isGenerated(String path) {
+        String lower = path.toLowerCase(Locale.ROOT);
+        for (String dir : GENERATED_ROOT_DIRS) {
+            if (lower.startsWith(dir)) {
+                return true;
+            }
+        }
+        for (String dir : GENERATED_DIRS) {
+            if (lower.startsWith(dir) || lower.contains("/" + dir)) {
+                return true;
+            }
+        }
+        for (String suffix : GENERATED_SUFFIXES) {
+            if (lower.endsWith(suffix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Each run of removed lines comes back as the same run of added lines once whitespace is normalized, in
+    // order and within the same hunk, so moved or reordered code never counts as formatting.
+    // Every file needs a patch, otherwise a binary/huge file could hide real changes.
+    private boolean isWhitespaceOnly(String diff, int fileCount) {
+        if (diff == null || diff.isEmpty()) {
+            return false;
+        }
+        List<String> removed = new ArrayList<>();
+        List<String> added = new ArrayList<>();
+        int patchedFiles = 0;
+        int changedLines = 0;
+        boolean keepIndent = false;
+        for (String line : diff.split("\n")) {
+            if (line.startsWith("--- ") || !(line.startsWith("+") || line.startsWith("-"))) {
+                if (line.startsWith("\\")) {
+                    continue; // "\ No newline at end of file"
+                }
+                // File header, hunk header or context line: the change run ends here
+                if (!removed.equals(added)) {
+                    return false;
+                }
+                removed.clear();
+                added.clear();
+                if (line.startsWith("--- ")) {
+                    patchedFiles++;
+                    keepIndent = isIndentSensitive(line.substring(4).trim());
+                }
+            } else {
+                String stripped = normalizeWhitespace(line.substring(1), keepIndent);
+                changedLines++;
+                if (!stripped.isEmpty()) { // added/removed blank lines are formatting too
+                    (line.charAt(0) == '+' ? added : removed).add(stripped);
+                }
+            }
+        }
+        return removed.equals(added) && patchedFiles == fileCount && changedLines > 0;
+    }
+
+    // Leading whitespace is dropped unless it's syntax; runs inside the line collapse to one space rather
+    // than vanishing, so "a b" and "ab" (e.g. in a string literal) still differ
+    private String normalizeWhitespace(String content, boolean keepIndent) {
+        int start = 0;
+        while (start < content.length() && Character.isWhitespace(content.charAt(start))) {
+            start++;
+        }
+        String rest = content.substring(start).strip().replaceAll("\\s+", " ");
+        if (rest.isEmpty()) {
+            return rest;
+        }
+        return keepIndent ? content.substring(0, start) + rest : rest;
+    }
+
+    private boolean isIndentSensitive(String path) {
+        String name = baseName(path);
+        if (INDENT_SENSITIVE_NAMES.contains(name)) {
+            return true;
+        }
+        for (String suffix : INDENT_SENSITIVE_SUFFIXES) {
+            if (name.endsWith(suffix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String baseName(String path) {
+        String[] parts = path.split("/");
+        return parts[parts.length - 1].toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,18 +1,33 @@
 package com.backend.githubanalyzer.domain.analysis.service;
 
+import com.backend.githubanalyzer.domain.analysis.event.CommitScoreChangedEvent;
+import com.backend.githubanalyzer.domain.commit.entity.AnalysisStatus;
+import com.backend.githubanalyzer.domain.commit.entity.Commit;
 import com.backend.githubanalyzer.domain.commit.repository.CommitRepository;
+import com.backend.githubanalyzer.domain.ranking.service.ScoreRollupService;
 import com.backend.githubanalyzer.domain.repository.repository.GithubRepositoryRepository;
-import com.backend.githubanalyzer.domain.team.entity.TeamRegisterSprint;
 import com.backend.githubanalyzer.domain.team.repository.TeamRegisterSprintRepository;
 import com.backend.githubanalyzer.domain.user.repository.UserRepository;
+import com.backend.githubanalyzer.domain.user.service.UserActivityService;
+import com.backend.githubanalyzer.global.cache.VersionStampService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -24,77 +39,221 @@ public class ScoreAggregationService {
     private final UserRepository userRepository;
     private final TeamRegisterSprintRepository teamRegisterSprintRepository;
     private final RedisTemplate<String, Object> redisTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final ScoreRollupService scoreRollupService;
+    private final UserActivityService userActivityService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final VersionStampService versionStampService;
 
     private static final String DIRTY_REPOS_KEY = "aggregation:dirty:repos";
     private static final String DIRTY_USERS_KEY = "aggregation:dirty:users";
     private static final String DIRTY_TEAMS_KEY = "aggregation:dirty:teams";
+    private static final String RECONCILE_REPO_CURSOR_KEY = "aggregation:reconcile:cursor:repos";
+    private static final String RECONCILE_USER_CURSOR_KEY = "aggregation:reconcile:cursor:users";
 
+    @Value("${aggregation.reconcile-slice-size:500}")
+    private int reconcileSliceSize;
+
+    // Hot path: O(1) counter adjustments per event instead of re-scanning the entity's history.
+    // Must run inside the transaction that changes the commit so the counters and counted_score move together.
     @Transactional
-    public void updateRepoStats(String repoId) {
-        log.info("Updating real-time stats for Repo: {}", repoId);
-        repositoryRepository.findById(repoId).ifPresent(repo -> {
-            Long totalCompletedScore = commitRepository.sumCompletedScoreByRepositoryId(repoId);
-            long completedCount = commitRepository.countCompletedByRepositoryId(repoId);
-            long totalCount = commitRepository.countUniqueCommitsByRepositoryId(repoId);
-
-            long avgScore = (completedCount > 0) ? (totalCompletedScore / completedCount) : 0L;
-
-            repo.setScore(avgScore);
-            repo.setCommitCount(totalCount);
-            repositoryRepository.save(repo);
-        });
+    public void applyScoreChange(Commit commit) {
+        Long counted = commit.getAnalysisStatus() == AnalysisStatus.COMPLETED ? commit.getTotalScore() : null;
+        Long previous = commit.getCountedScore();
+        if (Objects.equals(counted, previous)) {
+            return;
+        }
+        long scoreDelta = (counted != null ? counted : 0L) - (previous != null ? previous : 0L);
+        long countDelta = (counted != null ? 1L : 0L) - (previous != null ? 1L : 0L);
+        commit.setCountedScore(counted);
+
+        applyDelta(commit, scoreDelta, countDelta, 0L, 0L);
     }
 
+    // firstInRepo: repo commit counts are distinct SHAs, other copies of the SHA on other branches don't count
     @Transactional
-    public void updateUserStats(Long userId) {
-        log.info("Updating real-time stats for User: {}", userId);
-        userRepository.findById(userId).ifPresent(user -> {
-            Long totalCompletedScore = commitRepository.sumCompletedScoreByAuthorId(userId);
-            long completedCount = commitRepository.countCompletedByAuthorId(userId);
-            long totalCount = commitRepository.countByAuthorId(userId);
-
-            long avgScore = (completedCount > 0) ? (totalCompletedScore / completedCount) : 0L;
-
-            user.setScore(avgScore);
-            // Formula: commit count * average score
-            user.setTotalScore(totalCount * avgScore);
-            user.setCommitCount(totalCount);
-            userRepository.save(user);
-        });
+    public void applyCommitAdded(Commit commit, boolean firstInRepo) {
+        applyDelta(commit, 0L, 0L, 1L, firstInRepo ? 1L : 0L);
+    }
+
+    public record AddedCommit(Commit commit, boolean firstInRepo) {
     }
 
+    // applyCommitAdded for a whole ingestion chunk: one counter update per user and per repo, one JDBC batch
+    // for the sprint registrations and daily activity. Events stay per commit so listeners see the same stream.
     @Transactional
-    public void updateTeamSprintStats(String repoId, Long userId) {
-        log.info("Updating TeamSprint stats for Repo {} and User {}", repoId, userId);
-        // Find all sprint registrations that use this repo
-        List<TeamRegisterSprint> registrations = teamRegisterSprintRepository.findByRepositoryId(repoId);
+    public void applyCommitsAdded(List<AddedCommit> added) {
+        if (added.isEmpty()) {
+            return;
+        }
+        Map<Long, Long> userCommits = new HashMap<>();
+        Map<String, Long> repoCommits = new HashMap<>();
+        List<Object[]> sprintArgs = new ArrayList<>();
+        for (AddedCommit a : added) {
+            Commit commit = a.commit();
+            String repoId = commit.getRepository().getId();
+            userCommits.merge(commit.getAuthor().getId(), 1L, Long::sum);
+            repoCommits.merge(repoId, a.firstInRepo() ? 1L : 0L, Long::sum);
+            if (commit.getCommittedAt() != null) {
+                sprintArgs.add(new Object[] { repoId, commit.getCommittedAt() });
+            }
+        }
+        userCommits.forEach((userId, delta) -> userRepository.applyScoreDelta(userId, 0L, 0L, delta));
+        repoCommits.forEach((repoId, delta) -> {
+            if (delta > 0) {
+                repositoryRepository.applyScoreDelta(repoId, 0L, 0L, delta);
+            }
+        });
+        // Only commit_num moves; score_sum and scored_count (and so score) are untouched by an added commit
+        jdbcTemplate.batchUpdate("UPDATE team_register_sprint SET commit_num = commit_num + 1 WHERE repo_id = ? " +
+                "AND sprint_id IN (SELECT s.sprint_id FROM sprints s WHERE ? BETWEEN s.start_date AND s.end_date)",
+                sprintArgs);
+        userActivityService.applyCommitsAdded(added.stream().map(AddedCommit::commit).toList());
+        for (AddedCommit a : added) {
+            Commit commit = a.commit();
+            eventPublisher.publishEvent(new CommitScoreChangedEvent(commit.getAuthor().getId(),
+                    commit.getRepository().getId(), commit.getCommittedAt(), 0L, 0L, 1L));
+        }
+    }
 
-        for (TeamRegisterSprint reg : registrations) {
-            LocalDateTime start = reg.getSprint().getStartDate();
-            LocalDateTime end = reg.getSprint().getEndDate();
+    private void applyDelta(Commit commit, long scoreDelta, long countDelta, long commitDelta, long repoCommitDelta) {
+        String repoId = commit.getRepository().getId();
+        userRepository.applyScoreDelta(commit.getAuthor().getId(), scoreDelta, countDelta, commitDelta);
+        repositoryRepository.applyScoreDelta(repoId, scoreDelta, countDelta, repoCommitDelta);
+        if (commit.getCommittedAt() != null) {
+            teamRegisterSprintRepository.applyScoreDelta(repoId, commit.getCommittedAt(), scoreDelta, countDelta,
+                    commitDelta);
+        }
+        scoreRollupService.applyDelta(commit.getAuthor().getId(), repoId, commit.getCommittedAt(), scoreDelta,
+                countDelta);
+        userActivityService.applyDelta(commit.getAuthor().getId(), commit.getCommittedAt(), commitDelta);
+        eventPublisher.publishEvent(new CommitScoreChangedEvent(commit.getAuthor().getId(), repoId,
+                commit.getCommittedAt(), scoreDelta, countDelta, commitDelta));
+    }
 
-            Long totalCompletedScore = commitRepository.sumCompletedScoreByRepoAndTime(repoId, start, end);
-            long completedCount = commitRepository.countCompletedByRepoAndTime(repoId, start, end);
-            long totalCount = commitRepository.countByRepoAndTime(repoId, start, end);
+    // Drift correction: queue the next slice of repos and users (keyset order, wrapping around) for a full
+    // recompute by the StatsAggregationWorker. Each pass costs one slice, not the whole history.
+    @Transactional
+    public void markSliceForReconciliation() {
+        Object repoCursor = redisTemplate.opsForValue().get(RECONCILE_REPO_CURSOR_KEY);
+        Object userCursor = redisTemplate.opsForValue().get(RECONCILE_USER_CURSOR_KEY);
+        List<String> repoIds = repositoryRepository.findIdsAfter(repoCursor != null ? repoCursor.toString() : "",
+                Limit.of(reconcileSliceSize));
+        List<Long> userIds = userRepository.findIdsAfter(
+                userCursor != null ? Long.valueOf(userCursor.toString()) : 0L, Limit.of(reconcileSliceSize));
 
-            long avgScore = (completedCount > 0) ? (totalCompletedScore / completedCount) : 0L;
+        if (!repoIds.isEmpty()) {
+            int completed = commitRepository.syncCountedScoreForCompleted(repoIds);
+            int cleared = commitRepository.clearCountedScoreForIncomplete(repoIds);
+            if (completed + cleared > 0) {
+                log.warn("Reconciliation fixed counted_score on {} commits", completed + cleared);
+            }
+            redisTemplate.opsForSet().add(DIRTY_REPOS_KEY, repoIds.toArray());
+            // Sprint registrations are keyed by repo as well
+            redisTemplate.opsForSet().add(DIRTY_TEAMS_KEY, repoIds.toArray());
+        }
+        if (!userIds.isEmpty()) {
+            redisTemplate.opsForSet().add(DIRTY_USERS_KEY, userIds.stream().map(String::valueOf).toArray());
+        }
+        advanceCursor(RECONCILE_REPO_CURSOR_KEY, repoIds);
+        advanceCursor(RECONCILE_USER_CURSOR_KEY, userIds);
+        log.info("Queued {} repos and {} users for reconciliation", repoIds.size(), userIds.size());
+    }
 
-            reg.setScore(avgScore);
-            reg.setCommitNum(totalCount);
-            teamRegisterSprintRepository.save(reg);
+    // A short slice means the end was reached; the next pass starts over
+    private void advanceCursor(String key, List<?> ids) {
+        if (ids.size() < reconcileSliceSize) {
+            redisTemplate.delete(key);
+        } else {
+            redisTemplate.opsForValue().set(key, String.valueOf(ids.get(ids.size() - 1)));
         }
     }
 
+    // Full recompute for a chunk of IDs as one UPDATE ... JOIN over the GROUP BY, so the aggregate is read
+    // and written under the same row locks and a delta landing mid-recompute can't be overwritten by a stale
+    // read. Used for reconciliation; resets the counters the deltas build on.
+    private static final String RECOMPUTE_REPOS_SQL = """
+            UPDATE repositories r LEFT JOIN (
+                SELECT c.repo_id,
+                       COALESCE(SUM(CASE WHEN c.analysis_status = 'COMPLETED' THEN c.total_score END), 0) AS score_sum,
+                       COUNT(CASE WHEN c.analysis_status = 'COMPLETED' THEN 1 END) AS scored_count,
+                       COUNT(DISTINCT c.commit_sha) AS commit_count
+                FROM commits c WHERE c.repo_id IN (:ids) GROUP BY c.repo_id) agg ON agg.repo_id = r.id
+            SET r.score_sum = COALESCE(agg.score_sum, 0), r.scored_count = COALESCE(agg.scored_count, 0),
+                r.commit_count = COALESCE(agg.commit_count, 0),
+                r.score = IF(agg.scored_count > 0, agg.score_sum DIV agg.scored_count, 0)
+            WHERE r.id IN (:ids)""";
+
+    // total_score formula: commit count * average score
+    private static final String RECOMPUTE_USERS_SQL = """
+            UPDATE `user` u LEFT JOIN (
+                SELECT c.author_id,
+                       COALESCE(SUM(CASE WHEN c.analysis_status = 'COMPLETED' THEN c.total_score END), 0) AS score_sum,
+                       COUNT(CASE WHEN c.analysis_status = 'COMPLETED' THEN 1 END) AS scored_count,
+                       COUNT(*) AS commit_count
+                FROM commits c WHERE c.author_id IN (:ids) GROUP BY c.author_id) agg ON agg.author_id = u.id
+            SET u.score_sum = COALESCE(agg.score_sum, 0), u.scored_count = COALESCE(agg.scored_count, 0),
+                u.commit_count = COALESCE(agg.commit_count, 0),
+                u.score = IF(agg.scored_count > 0, agg.score_sum DIV agg.scored_count, 0),
+                u.total_score = IF(agg.scored_count > 0, agg.commit_count * (agg.score_sum DIV agg.scored_count), 0)
+            WHERE u.id IN (:ids)""";
+
+    // Each registration over its sprint window; the derived table doesn't read team_register_sprint itself
+    private static final String RECOMPUTE_SPRINT_REGISTRATIONS_SQL = """
+            UPDATE team_register_sprint trs LEFT JOIN (
+                SELECT s.sprint_id, c.repo_id,
+                       COALESCE(SUM(CASE WHEN c.analysis_status = 'COMPLETED' THEN c.total_score END), 0) AS score_sum,
+                       COUNT(CASE WHEN c.analysis_status = 'COMPLETED' THEN 1 END) AS scored_count,
+                       COUNT(*) AS commit_count
+                FROM commits c JOIN sprints s ON c.committed_at BETWEEN s.start_date AND s.end_date
+                WHERE c.repo_id IN (:ids) GROUP BY s.sprint_id, c.repo_id) agg
+                ON agg.sprint_id = trs.sprint_id AND agg.repo_id = trs.repo_id
+            SET trs.score_sum = COALESCE(agg.score_sum, 0), trs.scored_count = COALESCE(agg.scored_count, 0),
+                trs.commit_num = COALESCE(agg.commit_count, 0),
+                trs.score = IF(agg.scored_count > 0, agg.score_sum DIV agg.scored_count, 0)
+            WHERE trs.repo_id IN (:ids)""";
+
+    @Transactional
+    public void recomputeRepos(Collection<String> repoIds) {
+        namedParameterJdbcTemplate.update(RECOMPUTE_REPOS_SQL, Map.of("ids", repoIds));
+        bumpVersions(repoIds.stream().map(VersionStampService::repo));
+    }
+
+    @Transactional
+    public void recomputeUsers(Collection<Long> userIds) {
+        namedParameterJdbcTemplate.update(RECOMPUTE_USERS_SQL, Map.of("ids", userIds));
+        bumpVersions(userIds.stream().map(VersionStampService::user));
+    }
+
+    // Recomputes every sprint registration that uses one of the repos
+    @Transactional
+    public void recomputeSprintRegistrations(Collection<String> repoIds) {
+        namedParameterJdbcTemplate.update(RECOMPUTE_SPRINT_REGISTRATIONS_SQL, Map.of("ids", repoIds));
+        bumpVersions(teamRegisterSprintRepository.findSprintIdsByRepoIds(repoIds).stream()
+                .map(VersionStampService::sprint));
+    }
+
+    // Recomputed aggregates invalidate the ETags of every read built on them (applied after commit)
+    private void bumpVersions(Stream<String> refs) {
+        List<String> all = new ArrayList<>(refs.toList());
+        all.add(VersionStampService.SCORES);
+        versionStampService.bumpAll(all);
+    }
+
     public void markRepoDirty(String repoId) {
         redisTemplate.opsForSet().add(DIRTY_REPOS_KEY, repoId);
+        versionStampService.bump(VersionStampService.repo(repoId));
     }
 
     public void markUserDirty(Long userId) {
         redisTemplate.opsForSet().add(DIRTY_USERS_KEY, String.valueOf(userId));
+        versionStampService.bump(VersionStampService.user(userId));
     }
 
     public void markTeamDirty(String repoId) {
         // Teams are recalculated based on repository activity within a sprint
         redisTemplate.opsForSet().add(DIRTY_TEAMS_KEY, repoId);
+        versionStampService.bump(VersionStampService.SCORES);
     }
 }
@@ -2,16 +2,23 @@ package com.backend.githubanalyzer.domain.chat.controller;
 
 import com.backend.githubanalyzer.domain.chat.dto.ChatRequest;
 import com.backend.githubanalyzer.domain.chat.dto.ChatResponse;
+import com.backend.githubanalyzer.domain.chat.dto.ChatSessionResponse;
 import com.backend.githubanalyzer.domain.chat.service.ChatService;
+import com.backend.githubanalyzer.domain.chat.service.ChatSessionService;
 import com.backend.githubanalyzer.global.dto.ApiResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/chat")
@@ -20,10 +27,34 @@ import org.springframework.web.bind.annotation.RestController;
 public class ChatController {
 
     private final ChatService chatService;
+    private final ChatSessionService chatSessionService;
 
     @Operation(summary = "Chat with AI", description = "OpenAI를 이용해 코드/커밋에 대한 질의응답을 수행합니다.")
     @PostMapping
     public ResponseEntity<ApiResponse<ChatResponse>> chat(@RequestBody ChatRequest request) {
-        return ResponseEntity.ok(ApiResponse.success(chatService.processChat(request)));
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        return ResponseEntity.ok(ApiResponse.success(chatService.processChat(request, username)));
+    }
+
+    @Operation(summary = "Chat with AI (Streaming)", description = "응답을 SSE로 스트리밍합니다. token 이벤트로 부분 응답을, 마지막에 done 이벤트를 전송합니다.")
+    @PostMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChat(@RequestBody ChatRequest request) {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        return chatService.streamChat(request, username);
+    }
+
+    @Operation(summary = "Create Chat Session", description = "서버 측 대화 세션을 생성합니다. 이후 요청에 sessionId를 넣으면 최근 대화와 요약이 자동으로 포함됩니다.")
+    @PostMapping("/sessions")
+    public ResponseEntity<ApiResponse<ChatSessionResponse>> createSession() {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        return ResponseEntity.ok(ApiResponse.success(new ChatSessionResponse(chatSessionService.create(username))));
+    }
+
+    @Operation(summary = "Delete Chat Session", description = "대화 세션과 저장된 기록을 삭제합니다.")
+    @DeleteMapping("/sessions/{sessionId}")
+    public ResponseEntity<ApiResponse<Void>> deleteSession(@PathVariable String sessionId) {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        chatSessionService.delete(sessionId, username);
+        return ResponseEntity.ok(ApiResponse.success(null));
     }
 }
@@ -5,7 +5,9 @@ import java.util.List;
 public record ChatRequest(
     List<Message> messages,
     List<CommitContext> commits,
-    String selectedCommit
+    String selectedCommit,
+    String repoId, // When set, commit context is retrieved server-side and `commits` is ignored
+    String sessionId // When set, history is kept server-side and only the last user message is used
 ) {
     public record Message(String role, String content) {}
     
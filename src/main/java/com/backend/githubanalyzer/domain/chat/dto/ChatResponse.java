@@ -1,4 +1,4 @@
 package com.backend.githubanalyzer.domain.chat.dto;
 
-public record ChatResponse(String message) {
+public record ChatResponse(String message, String sessionId) {
 }
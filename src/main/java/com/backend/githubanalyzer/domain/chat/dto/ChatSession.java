@@ -0,0 +1,25 @@
+package com.backend.githubanalyzer.domain.chat.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Stored as JSON under chat:session:{id}
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatSession {
+
+    private String owner;
+    private String summary; // Running summary of turns that were compacted away
+    private List<Turn> turns = new ArrayList<>();
+    private long nextSeq;
+
+    public record Turn(long seq, String role, String content) {
+    }
+}
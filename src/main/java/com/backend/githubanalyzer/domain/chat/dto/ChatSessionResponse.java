@@ -0,0 +1,4 @@
+package com.backend.githubanalyzer.domain.chat.dto;
+
+public record ChatSessionResponse(String sessionId) {
+}
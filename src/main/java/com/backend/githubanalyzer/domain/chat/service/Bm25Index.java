@@ -0,0 +1,97 @@
+package com.backend.githubanalyzer.domain.chat.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Minimal in-memory Okapi BM25 over pre-tokenized documents. Immutable once built.
+class Bm25Index<T> {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final List<T> documents;
+    private final List<Map<String, Integer>> termFrequencies;
+    private final int[] lengths;
+    private final Map<String, Integer> documentFrequencies = new HashMap<>();
+    private final double averageLength;
+
+    Bm25Index(List<T> documents, java.util.function.Function<T, String> text) {
+        this.documents = documents;
+        this.termFrequencies = new ArrayList<>(documents.size());
+        this.lengths = new int[documents.size()];
+
+        long totalLength = 0;
+        for (int i = 0; i < documents.size(); i++) {
+            List<String> tokens = tokenize(text.apply(documents.get(i)));
+            Map<String, Integer> tf = new HashMap<>();
+            for (String token : tokens) {
+                tf.merge(token, 1, Integer::sum);
+            }
+            for (String term : tf.keySet()) {
+                documentFrequencies.merge(term, 1, Integer::sum);
+            }
+            termFrequencies.add(tf);
+            lengths[i] = tokens.size();
+            totalLength += tokens.size();
+        }
+        this.averageLength = documents.isEmpty() ? 0 : (double) totalLength / documents.size();
+    }
+
+    int size() {
+        return documents.size();
+    }
+
+    // Documents with a positive score, best first
+    List<T> search(String query, int limit) {
+        List<String> terms = tokenize(query).stream().distinct().toList();
+        if (terms.isEmpty() || documents.isEmpty()) {
+            return List.of();
+        }
+
+        int n = documents.size();
+        double[] scores = new double[n];
+        for (String term : terms) {
+            Integer df = documentFrequencies.get(term);
+            if (df == null) {
+                continue;
+            }
+            double idf = Math.log(1 + (n - df + 0.5) / (df + 0.5));
+            for (int i = 0; i < n; i++) {
+                Integer f = termFrequencies.get(i).get(term);
+                if (f == null) {
+                    continue;
+                }
+                double norm = K1 * (1 - B + B * lengths[i] / averageLength);
+                scores[i] += idf * (f * (K1 + 1)) / (f + norm);
+            }
+        }
+
+        List<Integer> hits = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            if (scores[i] > 0) {
+                hits.add(i);
+            }
+        }
+        hits.sort(Comparator.comparingDouble((Integer i) -> scores[i]).reversed());
+        return hits.stream().limit(limit).map(documents::get).toList();
+    }
+
+    // Splits camelCase and path/punctuation boundaries: "src/UserService.java" -> src, user, service, java
+    static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+        String split = text.replaceAll("([a-z0-9])([A-Z])", "$1 $2").toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : split.split("[^\\p{L}\\p{N}]+")) {
+            if (token.length() > 1) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
@@ -6,9 +6,12 @@ import com.backend.githubanalyzer.infra.openai.OpenAiClient;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Schedulers;
 
+import java.time.Duration;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -19,26 +22,96 @@ import java.util.stream.Collectors;
 public class ChatService {
 
     private final OpenAiClient openAiClient;
+    private final CommitContextRetriever commitContextRetriever;
+    private final ChatSessionService chatSessionService;
+    private final com.backend.githubanalyzer.global.monitor.MetricsService metricsService;
 
-    public ChatResponse processChat(ChatRequest request) {
+    private static final long STREAM_TIMEOUT_MS = 5 * 60 * 1000L;
+
+    public ChatResponse processChat(ChatRequest request, String username) {
+        List<Map<String, String>> messages = buildMessages(request, username);
+
+        try {
+            String aiResponse = openAiClient.chat(messages).block();
+            if (request.sessionId() != null) {
+                chatSessionService.appendExchange(request.sessionId(), username, latestUserMessage(request), aiResponse);
+            }
+            return new ChatResponse(aiResponse, request.sessionId());
+        } catch (Exception e) {
+            log.error("Chat processing failed", e);
+            throw new IllegalStateException("Failed to process chat request: " + e.getMessage());
+        }
+    }
+
+    // Proxies the model's token stream as "token" events, then a "done" (or "error") event.
+    // The upstream call is cancelled as soon as the client goes away.
+    public SseEmitter streamChat(ChatRequest request, String username) {
+        List<Map<String, String>> messages = buildMessages(request, username);
+        StringBuilder reply = new StringBuilder();
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+        long startedAt = System.nanoTime();
+        java.util.concurrent.atomic.AtomicBoolean firstToken = new java.util.concurrent.atomic.AtomicBoolean(true);
+
+        Disposable subscription = openAiClient.chatStream(messages)
+                .doOnNext(delta -> {
+                    if (firstToken.compareAndSet(true, false)) {
+                        metricsService.recordChatTimeToFirstToken(Duration.ofNanos(System.nanoTime() - startedAt));
+                    }
+                    reply.append(delta);
+                })
+                // emitter.send and the session write below block; run them off the Netty event loop
+                .publishOn(Schedulers.boundedElastic())
+                .subscribe(
+                        delta -> send(emitter, SseEmitter.event().name("token").data(delta)),
+                        error -> {
+                            log.error("Chat stream failed", error);
+                            send(emitter, SseEmitter.event().name("error").data("Failed to process chat request"));
+                            emitter.complete();
+                        },
+                        () -> {
+                            if (request.sessionId() != null) {
+                                try {
+                                    chatSessionService.appendExchange(request.sessionId(), username,
+                                            latestUserMessage(request), reply.toString());
+                                } catch (Exception e) {
+                                    log.warn("Failed to store chat session {}: {}", request.sessionId(), e.getMessage());
+                                }
+                            }
+                            send(emitter, SseEmitter.event().name("done").data(""));
+                            emitter.complete();
+                        });
+
+        emitter.onCompletion(subscription::dispose);
+        emitter.onTimeout(subscription::dispose);
+        emitter.onError(e -> subscription.dispose());
+        return emitter;
+    }
+
+    private void send(SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (Exception e) {
+            // Client disconnected; completing triggers onCompletion -> dispose upstream
+            emitter.completeWithError(e);
+        }
+    }
+
+    private List<Map<String, String>> buildMessages(ChatRequest request, String username) {
         String systemPrompt = constructSystemPrompt(request);
 
         List<Map<String, String>> messages = new ArrayList<>();
         messages.add(Map.of("role", "system", "content", systemPrompt));
 
-        if (request.messages() != null) {
+        // Session mode: history comes from the server, only the new user message is taken from the request
+        if (request.sessionId() != null) {
+            messages.addAll(chatSessionService.history(chatSessionService.load(request.sessionId(), username)));
+            messages.add(Map.of("role", "user", "content", latestUserMessage(request)));
+        } else if (request.messages() != null) {
             messages.addAll(request.messages().stream()
                     .map(msg -> Map.of("role", msg.role(), "content", msg.content()))
                     .collect(Collectors.toList()));
         }
-
-        try {
-            String aiResponse = openAiClient.chat(messages).block();
-            return new ChatResponse(aiResponse);
-        } catch (Exception e) {
-            log.error("Chat processing failed", e);
-            throw new IllegalStateException("Failed to process chat request: " + e.getMessage());
-        }
+        return messages;
     }
 
     private String constructSystemPrompt(ChatRequest request) {
@@ -46,7 +119,13 @@ public class ChatService {
         sb.append("You are an expert software engineer assistant analyzing a GitHub repository.\n");
         sb.append("You have access to the following commit history context:\n\n");
 
-        if (request.commits() != null && !request.commits().isEmpty()) {
+        if (request.repoId() != null && !request.repoId().isBlank()) {
+            String context = commitContextRetriever.buildContext(request.repoId(), latestUserMessage(request),
+                    request.selectedCommit());
+            if (!context.isEmpty()) {
+                sb.append("Relevant Commits:\n").append(context).append("\n");
+            }
+        } else if (request.commits() != null && !request.commits().isEmpty()) {
             sb.append("Recent Commits:\n");
             for (ChatRequest.CommitContext commit : request.commits()) {
                 String sha = commit.sha() != null ? commit.sha() : "Unknown";
@@ -69,4 +148,17 @@ public class ChatService {
         sb.append("Answer the user's questions based on this context. Be concise and technical. Format your response in Markdown.");
         return sb.toString();
     }
+
+    private String latestUserMessage(ChatRequest request) {
+        if (request.messages() == null) {
+            return "";
+        }
+        for (int i = request.messages().size() - 1; i >= 0; i--) {
+            ChatRequest.Message message = request.messages().get(i);
+            if ("user".equals(message.role()) && message.content() != null) {
+                return message.content();
+            }
+        }
+        return "";
+    }
 }
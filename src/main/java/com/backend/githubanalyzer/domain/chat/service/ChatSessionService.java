@@ -0,0 +1,226 @@
+package com.backend.githubanalyzer.domain.chat.service;
+
+import com.backend.githubanalyzer.domain.chat.dto.ChatSession;
+import com.backend.githubanalyzer.infra.openai.OpenAiClient;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+// Server-side chat memory: a sliding window of recent turns plus a running summary of everything older.
+// Prompt history is capped at max-tokens, so per-turn cost stays flat however long the chat gets.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChatSessionService {
+
+    private static final String SESSION_KEY_PREFIX = "chat:session:";
+    private static final String COMPACT_LOCK_SUFFIX = ":compacting";
+    private static final Duration COMPACT_LOCK_TTL = Duration.ofMinutes(2);
+
+    // WATCH/MULTI retries before a concurrent writer wins
+    private static final int MAX_UPDATE_ATTEMPTS = 5;
+
+    private static final String SUMMARY_PROMPT = """
+            You maintain the memory of a conversation between a user and a code-review assistant.
+            Merge the previous summary and the new messages into one updated summary of at most 200 words.
+            Keep facts, decisions, open questions and any commit SHAs, file names or repositories mentioned.
+            Reply with the summary only.""";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final OpenAiClient openAiClient;
+
+    @Value("${chat.session.ttl-hours:24}")
+    private long ttlHours;
+
+    // Rough token estimate: 4 chars per token
+    @Value("${chat.session.max-tokens:3000}")
+    private int maxTokens;
+
+    // Messages (user + assistant) always kept verbatim
+    @Value("${chat.session.recent-turns:6}")
+    private int recentTurns;
+
+    public String create(String owner) {
+        String sessionId = UUID.randomUUID().toString();
+        ChatSession session = new ChatSession();
+        session.setOwner(owner);
+        save(sessionId, session);
+        return sessionId;
+    }
+
+    public ChatSession load(String sessionId, String owner) {
+        return parse(sessionId, owner, stringRedisTemplate.opsForValue().get(SESSION_KEY_PREFIX + sessionId));
+    }
+
+    public void delete(String sessionId, String owner) {
+        load(sessionId, owner);
+        stringRedisTemplate.delete(List.of(SESSION_KEY_PREFIX + sessionId,
+                SESSION_KEY_PREFIX + sessionId + COMPACT_LOCK_SUFFIX));
+    }
+
+    // Summary first, then as many recent turns as fit under the ceiling (newest win). The summary gets at
+    // most half the budget so an oversized one can't crowd out every recent turn.
+    public List<Map<String, String>> history(ChatSession session) {
+        List<Map<String, String>> history = new ArrayList<>();
+        int budgetChars = maxTokens * 4;
+        if (session.getSummary() != null && !session.getSummary().isBlank()) {
+            String summary = session.getSummary();
+            if (summary.length() > budgetChars / 2) {
+                summary = summary.substring(0, budgetChars / 2);
+            }
+            history.add(Map.of("role", "system", "content", "Summary of the earlier conversation:\n" + summary));
+            budgetChars = Math.max(0, budgetChars - summary.length());
+        }
+
+        List<ChatSession.Turn> turns = session.getTurns();
+        int from = turns.size();
+        int used = 0;
+        while (from > 0 && used + turns.get(from - 1).content().length() <= budgetChars) {
+            used += turns.get(from - 1).content().length();
+            from--;
+        }
+        for (ChatSession.Turn turn : turns.subList(from, turns.size())) {
+            history.add(Map.of("role", turn.role(), "content", turn.content()));
+        }
+        return history;
+    }
+
+    public void appendExchange(String sessionId, String owner, String userMessage, String assistantMessage) {
+        ChatSession session = update(sessionId, owner, current -> {
+            addTurn(current, "user", userMessage);
+            addTurn(current, "assistant", assistantMessage);
+        });
+
+        if (estimateChars(session) > maxTokens * 4 && session.getTurns().size() > recentTurns) {
+            compact(sessionId, owner, session);
+        }
+    }
+
+    // Folds everything but the recent window into the summary. Runs in the background so the
+    // current turn doesn't wait; the window trimming in history() keeps prompts bounded meanwhile.
+    // One compaction per session at a time: a second one would summarize the same turns again.
+    private void compact(String sessionId, String owner, ChatSession snapshot) {
+        String lockKey = SESSION_KEY_PREFIX + sessionId + COMPACT_LOCK_SUFFIX;
+        if (!Boolean.TRUE.equals(stringRedisTemplate.opsForValue().setIfAbsent(lockKey, "1", COMPACT_LOCK_TTL))) {
+            return;
+        }
+
+        List<ChatSession.Turn> old = snapshot.getTurns().subList(0, snapshot.getTurns().size() - recentTurns);
+        long compactedThrough = old.get(old.size() - 1).seq();
+
+        StringBuilder transcript = new StringBuilder();
+        if (snapshot.getSummary() != null) {
+            transcript.append("Previous summary:\n").append(snapshot.getSummary()).append("\n\n");
+        }
+        transcript.append("New messages:\n");
+        for (ChatSession.Turn turn : old) {
+            transcript.append(turn.role()).append(": ").append(turn.content()).append("\n");
+        }
+
+        openAiClient.chat(List.of(
+                Map.of("role", "system", "content", SUMMARY_PROMPT),
+                Map.of("role", "user", "content", transcript.toString())))
+                .publishOn(Schedulers.boundedElastic()) // Redis calls below block; keep them off the Netty thread
+                .doFinally(signal -> stringRedisTemplate.delete(lockKey))
+                .subscribe(summary -> {
+                    try {
+                        // Applied to the latest state: turns may have been added while summarizing
+                        update(sessionId, owner, current -> {
+                            current.setSummary(summary);
+                            current.getTurns().removeIf(turn -> turn.seq() <= compactedThrough);
+                        });
+                        log.debug("Compacted chat session {} through seq {}", sessionId, compactedThrough);
+                    } catch (Exception e) {
+                        log.warn("Failed to store compacted chat session {}: {}", sessionId, e.getMessage());
+                    }
+                }, e -> log.warn("Failed to summarize chat session {}: {}", sessionId, e.getMessage()));
+    }
+
+    // Optimistic read-modify-write: WATCH the key, apply the change, and retry if another writer
+    // (a parallel request or a compaction) touched the session before EXEC
+    private ChatSession update(String sessionId, String owner, Consumer<ChatSession> mutation) {
+        String key = SESSION_KEY_PREFIX + sessionId;
+        for (int attempt = 0; attempt < MAX_UPDATE_ATTEMPTS; attempt++) {
+            ChatSession stored = stringRedisTemplate.execute(new SessionCallback<ChatSession>() {
+                @Override
+                @SuppressWarnings({ "unchecked", "rawtypes" })
+                public ChatSession execute(RedisOperations operations) {
+                    operations.watch(key);
+                    ChatSession session;
+                    try {
+                        session = parse(sessionId, owner, (String) operations.opsForValue().get(key));
+                    } catch (RuntimeException e) {
+                        operations.unwatch();
+                        throw e;
+                    }
+                    mutation.accept(session);
+                    String json = serialize(session);
+                    operations.multi();
+                    operations.opsForValue().set(key, json, Duration.ofHours(ttlHours));
+                    List<Object> results = operations.exec();
+                    return results == null || results.isEmpty() ? null : session;
+                }
+            });
+            if (stored != null) {
+                return stored;
+            }
+        }
+        throw new IllegalStateException("Chat session is being updated concurrently: " + sessionId);
+    }
+
+    private ChatSession parse(String sessionId, String owner, String json) {
+        if (json == null) {
+            throw new IllegalArgumentException("Chat session not found or expired: " + sessionId);
+        }
+        ChatSession session;
+        try {
+            session = objectMapper.readValue(json, ChatSession.class);
+        } catch (Exception e) {
+            throw new IllegalStateException("Corrupted chat session: " + sessionId);
+        }
+        if (owner != null && !owner.equals(session.getOwner())) {
+            throw new IllegalArgumentException("Chat session not found or expired: " + sessionId);
+        }
+        return session;
+    }
+
+    private void addTurn(ChatSession session, String role, String content) {
+        session.getTurns().add(new ChatSession.Turn(session.getNextSeq(), role, content != null ? content : ""));
+        session.setNextSeq(session.getNextSeq() + 1);
+    }
+
+    private int estimateChars(ChatSession session) {
+        int chars = session.getSummary() != null ? session.getSummary().length() : 0;
+        for (ChatSession.Turn turn : session.getTurns()) {
+            chars += turn.content().length();
+        }
+        return chars;
+    }
+
+    private void save(String sessionId, ChatSession session) {
+        stringRedisTemplate.opsForValue().set(SESSION_KEY_PREFIX + sessionId, serialize(session),
+                Duration.ofHours(ttlHours));
+    }
+
+    private String serialize(ChatSession session) {
+        try {
+            return objectMapper.writeValueAsString(session);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to save chat session: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.backend.githubanalyzer.domain.chat.service;
+
+import com.backend.githubanalyzer.domain.commit.dto.CommitSearchDocument;
+import com.backend.githubanalyzer.domain.commit.entity.ChangedFile;
+import com.backend.githubanalyzer.domain.commit.repository.CommitRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+// Picks the commits most relevant to the user's question (BM25 over message, analysis summary and
+// file paths) so the prompt carries a bounded, useful context instead of whatever the client sends.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CommitContextRetriever {
+
+    private static final int MAX_FILES_PER_COMMIT = 10;
+
+    private final CommitRepository commitRepository;
+
+    @Value("${chat.retrieval.top-k:20}")
+    private int topK;
+
+    // Rough token estimate: 4 chars per token
+    @Value("${chat.retrieval.token-budget:3000}")
+    private int tokenBudget;
+
+    // Newest N commits of the repo are indexed
+    @Value("${chat.retrieval.max-documents:5000}")
+    private int maxDocuments;
+
+    @Value("${chat.retrieval.index-ttl-seconds:300}")
+    private long indexTtlSeconds;
+
+    @Value("${chat.retrieval.max-cached-repos:50}")
+    private int maxCachedRepos;
+
+    private record CachedIndex(Bm25Index<CommitSearchDocument> index, List<CommitSearchDocument> newestFirst,
+            long builtAt) {
+    }
+
+    private final Map<String, CachedIndex> indexes = new ConcurrentHashMap<>();
+
+    public String buildContext(String repoId, String query, String selectedSha) {
+        CachedIndex cached = getIndex(repoId);
+
+        Map<String, CommitSearchDocument> picked = new LinkedHashMap<>();
+        // The commit the user is looking at always goes first
+        if (selectedSha != null && !selectedSha.isBlank()) {
+            cached.newestFirst().stream()
+                    .filter(doc -> doc.sha().startsWith(selectedSha))
+                    .findFirst()
+                    .ifPresent(doc -> picked.put(doc.sha(), doc));
+        }
+        for (CommitSearchDocument doc : cached.index().search(query, topK)) {
+            picked.putIfAbsent(doc.sha(), doc);
+        }
+        // Nothing matched (e.g. "what happened lately?"): fall back to the most recent commits
+        if (picked.size() <= 1) {
+            for (CommitSearchDocument doc : cached.newestFirst()) {
+                if (picked.size() >= topK)
+                    break;
+                picked.putIfAbsent(doc.sha(), doc);
+            }
+        }
+
+        StringBuilder sb = new StringBuilder();
+        int budgetChars = tokenBudget * 4;
+        int count = 0;
+        for (CommitSearchDocument doc : picked.values()) {
+            if (count >= topK)
+                break;
+            String entry = format(doc);
+            if (sb.length() + entry.length() > budgetChars && count > 0)
+                break;
+            sb.append(entry);
+            count++;
+        }
+        log.debug("Retrieved {} commits for repo {} ({} indexed)", count, repoId, cached.index().size());
+        return sb.toString();
+    }
+
+    private CachedIndex getIndex(String repoId) {
+        long now = System.currentTimeMillis();
+        CachedIndex cached = indexes.get(repoId);
+        if (cached != null && now - cached.builtAt() < indexTtlSeconds * 1000) {
+            return cached;
+        }
+
+        // Branch copies of a commit share the SHA; keep the first (newest) one
+        Map<String, CommitSearchDocument> unique = new LinkedHashMap<>();
+        for (CommitSearchDocument doc : commitRepository.findSearchDocumentsByRepositoryId(repoId,
+                PageRequest.of(0, maxDocuments))) {
+            unique.putIfAbsent(doc.sha(), doc);
+        }
+        List<CommitSearchDocument> docs = new ArrayList<>(unique.values());
+        CachedIndex built = new CachedIndex(new Bm25Index<>(docs, this::indexText), docs, now);
+
+        if (indexes.size() >= maxCachedRepos && !indexes.containsKey(repoId)) {
+            indexes.entrySet().stream()
+                    .min(Comparator.comparingLong(e -> e.getValue().builtAt()))
+                    .ifPresent(oldest -> indexes.remove(oldest.getKey()));
+        }
+        indexes.put(repoId, built);
+        return built;
+    }
+
+    private String indexText(CommitSearchDocument doc) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(doc.message()).append(' ');
+        if (doc.summary() != null)
+            sb.append(doc.summary()).append(' ');
+        for (ChangedFile file : ChangedFile.parse(doc.changedFiles())) {
+            sb.append(file.filename()).append(' ');
+        }
+        return sb.toString();
+    }
+
+    private String format(CommitSearchDocument doc) {
+        String shortSha = doc.sha().length() > 7 ? doc.sha().substring(0, 7) : doc.sha();
+        String subject = doc.message() != null ? doc.message().lines().findFirst().orElse("") : "";
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("- [%s] %s (Author: %s, Time: %s) +%d/-%d, score %d\n",
+                shortSha,
+                subject,
+                doc.authorName(),
+                doc.committedAt(),
+                doc.additions() != null ? doc.additions() : 0,
+                doc.deletions() != null ? doc.deletions() : 0,
+                doc.totalScore() != null ? doc.totalScore() : 0));
+        if (doc.summary() != null && !doc.summary().isBlank()) {
+            sb.append("  Summary: ").append(doc.summary()).append("\n");
+        }
+        List<ChangedFile> files = ChangedFile.parse(doc.changedFiles());
+        if (!files.isEmpty()) {
+            sb.append("  Files: ").append(files.stream()
+                    .limit(MAX_FILES_PER_COMMIT)
+                    .map(ChangedFile::filename)
+                    .collect(Collectors.joining(", ")));
+            if (files.size() > MAX_FILES_PER_COMMIT)
+                sb.append(" (+").append(files.size() - MAX_FILES_PER_COMMIT).append(" more)");
+            sb.append("\n");
+        }
+        return sb.toString();
+    }
+}
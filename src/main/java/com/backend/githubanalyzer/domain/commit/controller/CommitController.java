@@ -5,12 +5,11 @@ import com.backend.githubanalyzer.domain.commit.dto.CommitResponse;
 import com.backend.githubanalyzer.domain.commit.entity.AnalysisStatus;
 import com.backend.githubanalyzer.domain.commit.service.CommitService;
 import com.backend.githubanalyzer.global.dto.ApiResponse;
+import com.backend.githubanalyzer.global.dto.CursorPageResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/repos/{repoId}/commits")
 @RequiredArgsConstructor
@@ -21,14 +20,18 @@ public class CommitController {
 
     @io.swagger.v3.oas.annotations.Operation(summary = "Get Commits (커밋 목록 조회)", description = "레포지토리의 최근 커밋 목록을 조회합니다.")
     @GetMapping
-    public ResponseEntity<ApiResponse<List<CommitResponse>>> getCommits(@PathVariable String repoId) {
-        return ResponseEntity.ok(ApiResponse.success(commitService.getCommits(repoId)));
+    public ResponseEntity<ApiResponse<CursorPageResponse<CommitResponse>>> getCommits(@PathVariable String repoId,
+            @io.swagger.v3.oas.annotations.Parameter(description = "이전 응답의 nextCursor (첫 페이지는 생략)") @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "30") int size) {
+        return ResponseEntity.ok(ApiResponse.success(commitService.getCommits(repoId, cursor, size)));
     }
 
     @io.swagger.v3.oas.annotations.Operation(summary = "Get Commits (Alias)", description = "getCommits와 동일합니다.")
     @GetMapping("/activities")
-    public ResponseEntity<ApiResponse<List<CommitResponse>>> getActivities(@PathVariable String repoId) {
-        return getCommits(repoId);
+    public ResponseEntity<ApiResponse<CursorPageResponse<CommitResponse>>> getActivities(@PathVariable String repoId,
+            @io.swagger.v3.oas.annotations.Parameter(description = "이전 응답의 nextCursor (첫 페이지는 생략)") @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "30") int size) {
+        return getCommits(repoId, cursor, size);
     }
 
     @io.swagger.v3.oas.annotations.Operation(summary = "Get Analysis Result (AI 분석 결과 조회)", description = "특정 커밋의 AI 분석 상세 결과(코드 설명, 점수, 피드백 등)를 조회합니다.")
@@ -0,0 +1,32 @@
+package com.backend.githubanalyzer.domain.commit.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+// Keyset position in the newest-first commit listings: the sort key of the last row returned.
+// Clients only see it as an opaque base64url token.
+public record CommitCursor(LocalDateTime committedAt, String sha, String repoId, String branchName) {
+
+    // Ahead of every real row, for the first page
+    public static final CommitCursor START = new CommitCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), "", "", "");
+
+    public String encode() {
+        // Branch last: it is the only part that may contain the separator
+        String raw = committedAt + "|" + sha + "|" + repoId + "|" + branchName;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CommitCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 4);
+            return new CommitCursor(LocalDateTime.parse(parts[0]), parts[1], parts[2], parts[3]);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
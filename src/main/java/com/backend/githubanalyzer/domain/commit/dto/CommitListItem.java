@@ -0,0 +1,18 @@
+package com.backend.githubanalyzer.domain.commit.dto;
+
+import com.backend.githubanalyzer.domain.commit.entity.AnalysisStatus;
+
+import java.time.LocalDateTime;
+
+// List-row view of a commit: the full key plus the columns list responses render (no diff, no analysis text)
+public record CommitListItem(
+        String sha,
+        String repoId,
+        String branchName,
+        String message,
+        LocalDateTime committedAt,
+        String authorName,
+        String authorProfileUrl,
+        AnalysisStatus analysisStatus,
+        Long totalScore) {
+}
@@ -0,0 +1,16 @@
+package com.backend.githubanalyzer.domain.commit.dto;
+
+import java.time.LocalDateTime;
+
+// Text-only view of a commit for retrieval (no diff, no lazy associations)
+public record CommitSearchDocument(
+        String sha,
+        String message,
+        String summary,
+        String changedFiles,
+        String authorName,
+        LocalDateTime committedAt,
+        Integer additions,
+        Integer deletions,
+        Long totalScore) {
+}
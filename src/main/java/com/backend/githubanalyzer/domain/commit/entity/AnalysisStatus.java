@@ -4,5 +4,6 @@ public enum AnalysisStatus {
     PENDING,
     PROCESSING,
     COMPLETED,
-    FAILED
+    FAILED,
+    SKIPPED // Not scored (merge / generated commits caught by the fast path)
 }
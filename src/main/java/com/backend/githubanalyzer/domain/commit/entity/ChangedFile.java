@@ -0,0 +1,38 @@
+package com.backend.githubanalyzer.domain.commit.entity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Per-file stats stored in Commit.changedFiles as "status\tadditions\tdeletions\tfilename" lines
+public record ChangedFile(String status, int additions, int deletions, String filename) {
+
+    public static String format(List<ChangedFile> files) {
+        StringBuilder sb = new StringBuilder();
+        for (ChangedFile file : files) {
+            sb.append(file.status()).append('\t')
+                    .append(file.additions()).append('\t')
+                    .append(file.deletions()).append('\t')
+                    .append(file.filename()).append('\n');
+        }
+        return sb.toString();
+    }
+
+    public static List<ChangedFile> parse(String changedFiles) {
+        List<ChangedFile> files = new ArrayList<>();
+        if (changedFiles == null || changedFiles.isEmpty()) {
+            return files;
+        }
+        for (String line : changedFiles.split("\n")) {
+            String[] parts = line.split("\t", 4);
+            if (parts.length < 4) {
+                continue;
+            }
+            try {
+                files.add(new ChangedFile(parts[0], Integer.parseInt(parts[1]), Integer.parseInt(parts[2]), parts[3]));
+            } catch (NumberFormatException e) {
+                // Skip malformed line
+            }
+        }
+        return files;
+    }
+}
@@ -13,7 +13,12 @@ import java.time.LocalDateTime;
 @Table(name = "commits", indexes = {
         @Index(name = "idx_commit_repo_status", columnList = "repo_id, analysis_status"),
         @Index(name = "idx_commit_author_status", columnList = "author_id, analysis_status"),
-        @Index(name = "idx_commit_repo_time_status", columnList = "repo_id, committed_at, analysis_status")
+        @Index(name = "idx_commit_repo_time_status", columnList = "repo_id, committed_at, analysis_status"),
+        @Index(name = "idx_commit_status_score", columnList = "analysis_status, total_score"),
+        // Keyset pagination (CommitRepository.find*Page): equality prefix, then the sort key
+        @Index(name = "idx_commit_repo_keyset", columnList = "repo_id, committed_at, commit_sha, branch_name"),
+        @Index(name = "idx_commit_branch_keyset", columnList = "repo_id, branch_name, committed_at, commit_sha"),
+        @Index(name = "idx_commit_author_keyset", columnList = "author_id, committed_at, commit_sha, repo_id, branch_name")
 })
 @Getter
 @Setter
@@ -46,6 +51,16 @@ public class Commit {
     @Column(nullable = false)
     private LocalDateTime committedAt;
 
+    @Column(name = "additions")
+    private Integer additions;
+
+    @Column(name = "deletions")
+    private Integer deletions;
+
+    // One line per file, see ChangedFile. Null for commits synced before file stats were stored.
+    @Column(name = "changed_files", columnDefinition = "MEDIUMTEXT")
+    private String changedFiles;
+
     @Column(name = "analysis_result", columnDefinition = "LONGTEXT")
     private String analysisResult;
 
@@ -55,6 +70,9 @@ public class Commit {
     @Column(name = "analysis_model")
     private String analysisModel;
 
+    @Column(name = "analysis_rule")
+    private String analysisRule; // Fast-path rule that replaced the LLM call, null when analyzed normally
+
     @Column(name = "analysis_confidence")
     private Double analysisConfidence;
 
@@ -109,6 +127,10 @@ public class Commit {
     @Builder.Default
     private Long totalScore = 0L;
 
+    // Score currently included in the user/repo/sprint counters, null when not counted
+    @Column(name = "counted_score")
+    private Long countedScore;
+
     @Column(name = "analysis_reason", columnDefinition = "LONGTEXT")
     private String analysisReason;
 
@@ -16,9 +16,45 @@ public interface CommitRepository extends JpaRepository<Commit, CommitId> {
 
         long countByAnalysisStatus(com.backend.githubanalyzer.domain.commit.entity.AnalysisStatus analysisStatus);
 
-        List<Commit> findAllByAuthorIdOrderByCommittedAtDesc(Long authorId);
+        // Keyset pagination, newest first. Rows are per branch, so (committed_at, sha, repo, branch) is the
+        // unique sort key; the cursor is the last row of the previous page (CommitCursor.START for the first).
+        String KEYSET_AFTER_CURSOR = " AND (c.committedAt < :at OR (c.committedAt = :at AND (c.id.commitSha < :sha"
+                        + " OR (c.id.commitSha = :sha AND (c.id.repoId < :cursorRepoId"
+                        + " OR (c.id.repoId = :cursorRepoId AND c.id.branchName < :branch))))))";
+        String KEYSET_ORDER = " ORDER BY c.committedAt DESC, c.id.commitSha DESC, c.id.repoId DESC, c.id.branchName DESC";
+
+        // Columns for CommitListItem; the author comes in by join, diff and analysis text are never read
+        String LIST_ITEM_SELECT = "SELECT new com.backend.githubanalyzer.domain.commit.dto.CommitListItem("
+                        + "c.id.commitSha, c.id.repoId, c.id.branchName, c.message, c.committedAt, "
+                        + "a.username, a.profileUrl, c.analysisStatus, c.totalScore) FROM Commit c JOIN c.author a";
+
+        @Query(LIST_ITEM_SELECT + " WHERE c.id.repoId = :repoId" + KEYSET_AFTER_CURSOR
+                        + KEYSET_ORDER)
+        List<com.backend.githubanalyzer.domain.commit.dto.CommitListItem> findRepoPage(@Param("repoId") String repoId,
+                        @Param("at") java.time.LocalDateTime at, @Param("sha") String sha,
+                        @Param("cursorRepoId") String cursorRepoId, @Param("branch") String branch,
+                        org.springframework.data.domain.Pageable pageable);
+
+        @Query(LIST_ITEM_SELECT + " WHERE c.id.repoId = :repoId AND c.id.branchName = :branchName"
+                        + KEYSET_AFTER_CURSOR + KEYSET_ORDER)
+        List<com.backend.githubanalyzer.domain.commit.dto.CommitListItem> findBranchPage(@Param("repoId") String repoId, @Param("branchName") String branchName,
+                        @Param("at") java.time.LocalDateTime at, @Param("sha") String sha,
+                        @Param("cursorRepoId") String cursorRepoId, @Param("branch") String branch,
+                        org.springframework.data.domain.Pageable pageable);
 
-        List<Commit> findAllByAuthorIdAndRepositoryIdOrderByCommittedAtDesc(Long authorId, String repoId);
+        @Query(LIST_ITEM_SELECT + " WHERE c.author.id = :authorId" + KEYSET_AFTER_CURSOR
+                        + KEYSET_ORDER)
+        List<com.backend.githubanalyzer.domain.commit.dto.CommitListItem> findAuthorPage(@Param("authorId") Long authorId,
+                        @Param("at") java.time.LocalDateTime at, @Param("sha") String sha,
+                        @Param("cursorRepoId") String cursorRepoId, @Param("branch") String branch,
+                        org.springframework.data.domain.Pageable pageable);
+
+        @Query(LIST_ITEM_SELECT + " WHERE c.author.id = :authorId AND c.id.repoId = :repoId"
+                        + KEYSET_AFTER_CURSOR + KEYSET_ORDER)
+        List<com.backend.githubanalyzer.domain.commit.dto.CommitListItem> findAuthorRepoPage(@Param("authorId") Long authorId, @Param("repoId") String repoId,
+                        @Param("at") java.time.LocalDateTime at, @Param("sha") String sha,
+                        @Param("cursorRepoId") String cursorRepoId, @Param("branch") String branch,
+                        org.springframework.data.domain.Pageable pageable);
 
         java.util.List<Commit> findAllById_CommitSha(String commitSha);
 
@@ -30,8 +66,6 @@ public interface CommitRepository extends JpaRepository<Commit, CommitId> {
 
         List<Commit> findAllByRepositoryIdAndId_BranchName(String repoId, String branchName);
 
-        List<Commit> findAllByRepositoryIdOrderByCommittedAtDesc(String repoId);
-
         @Query("SELECT COUNT(DISTINCT c.id.commitSha) FROM Commit c WHERE c.repository.id = :repoId")
         long countUniqueCommitsByRepositoryId(@Param("repoId") String repoId);
 
@@ -40,6 +74,40 @@ public interface CommitRepository extends JpaRepository<Commit, CommitId> {
 
         long countByAuthorId(Long authorId);
 
+        boolean existsById_CommitShaAndId_RepoId(String commitSha, String repoId);
+
+        // Bulk form of existsById_CommitShaAndId_RepoId for an ingestion chunk
+        @Query("SELECT DISTINCT c.id.commitSha FROM Commit c WHERE c.id.repoId = :repoId AND c.id.commitSha IN :shas")
+        List<String> findExistingShas(@Param("repoId") String repoId,
+                        @Param("shas") java.util.Collection<String> shas);
+
+        // Candidates for re-synced commits of a chunk; callers match the exact (sha, branch) in memory
+        @Query("SELECT c FROM Commit c JOIN FETCH c.author WHERE c.id.repoId = :repoId " +
+                        "AND c.id.commitSha IN :shas AND c.id.branchName IN :branches")
+        List<Commit> findAllForResync(@Param("repoId") String repoId,
+                        @Param("shas") java.util.Collection<String> shas,
+                        @Param("branches") java.util.Collection<String> branches);
+
+        // Per-author stats of one repo inside a window. Rows: [authorId, completedScoreSum, commitCount]
+        @Query("SELECT c.author.id, SUM(CASE WHEN c.analysisStatus = 'COMPLETED' THEN c.totalScore ELSE 0 END), COUNT(c) " +
+                        "FROM Commit c WHERE c.repository.id = :repoId AND c.committedAt BETWEEN :start AND :end " +
+                        "GROUP BY c.author.id")
+        List<Object[]> aggregateByRepoAndTimeGroupByAuthor(@Param("repoId") String repoId,
+                        @Param("start") java.time.LocalDateTime start,
+                        @Param("end") java.time.LocalDateTime end);
+
+        // Brings counted_score in line with analysis status for rows the deltas never saw (pre-existing data),
+        // one reconciliation slice of repos at a time (idx_commit_repo_status)
+        @org.springframework.data.jpa.repository.Modifying
+        @Query("UPDATE Commit c SET c.countedScore = c.totalScore WHERE c.id.repoId IN :repoIds " +
+                        "AND c.analysisStatus = 'COMPLETED' AND (c.countedScore IS NULL OR c.countedScore <> c.totalScore)")
+        int syncCountedScoreForCompleted(@Param("repoIds") java.util.Collection<String> repoIds);
+
+        @org.springframework.data.jpa.repository.Modifying
+        @Query("UPDATE Commit c SET c.countedScore = NULL WHERE c.id.repoId IN :repoIds " +
+                        "AND c.analysisStatus <> 'COMPLETED' AND c.countedScore IS NOT NULL")
+        int clearCountedScoreForIncomplete(@Param("repoIds") java.util.Collection<String> repoIds);
+
         @Query("SELECT SUM(c.totalScore) FROM Commit c WHERE c.author.id = :authorId AND c.analysisStatus = 'COMPLETED'")
         Long sumCompletedScoreByAuthorId(@Param("authorId") Long authorId);
 
@@ -72,11 +140,6 @@ public interface CommitRepository extends JpaRepository<Commit, CommitId> {
         @Query("SELECT SUM(c.totalScore) FROM Commit c WHERE c.author.id = :authorId")
         Long sumTotalScoreByAuthorId(@Param("authorId") Long authorId);
 
-        @Query(value = "SELECT DATE(committed_at) as date, COUNT(*) as count FROM commits WHERE author_id = :authorId GROUP BY DATE(committed_at)", nativeQuery = true)
-        List<Object[]> countCommitsByDayForUser_Native(@Param("authorId") Long authorId);
-
-        List<Commit> findByMessageContainingIgnoreCase(String keyword);
-
         @Query("SELECT DISTINCT c.author FROM Commit c WHERE c.repository.id = :repoId")
         List<com.backend.githubanalyzer.domain.user.entity.User> findDistinctAuthorByRepositoryId(
                         @Param("repoId") String repoId);
@@ -84,6 +147,12 @@ public interface CommitRepository extends JpaRepository<Commit, CommitId> {
         @Query("SELECT COUNT(c) FROM Commit c WHERE c.repository.id IN :repoIds AND c.author.id = :authorId")
         long countByRepositoryIdInAndAuthorId(@Param("repoIds") List<String> repoIds, @Param("authorId") Long authorId);
 
+        // Rows: [authorId, commitCount, totalScoreSum]
+        @Query("SELECT c.author.id, COUNT(c), SUM(c.totalScore) FROM Commit c " +
+                        "WHERE c.repository.id IN :repoIds AND c.author.id IN :authorIds GROUP BY c.author.id")
+        List<Object[]> aggregateByRepositoryIdInAndAuthorIdIn(@Param("repoIds") List<String> repoIds,
+                        @Param("authorIds") List<Long> authorIds);
+
         @Query("SELECT SUM(c.totalScore) FROM Commit c WHERE c.repository.id IN :repoIds AND c.author.id = :authorId")
         Long sumTotalScoreByRepositoryIdInAndAuthorId(@Param("repoIds") List<String> repoIds,
                         @Param("authorId") Long authorId);
@@ -105,29 +174,26 @@ public interface CommitRepository extends JpaRepository<Commit, CommitId> {
                         @Param("start") java.time.LocalDateTime start,
                         @Param("end") java.time.LocalDateTime end);
 
-        @Query("SELECT DISTINCT c.committedAt FROM Commit c WHERE c.author.id = :authorId ORDER BY c.committedAt DESC")
-        java.util.List<java.time.LocalDateTime> findDistinctCommittedAtByAuthorId(@Param("authorId") Long authorId);
-
         boolean existsByAuthorIdAndRepositoryIdIn(Long authorId, java.util.List<String> repositoryIds);
 
         // --- Ranking Queries ---
 
         // 1. Top Commits Global
-        @Query("SELECT c FROM Commit c WHERE c.committedAt BETWEEN :start AND :end AND c.analysisStatus = 'COMPLETED' ORDER BY c.totalScore DESC")
-        List<Commit> findTopCommitsGlobal(@Param("start") java.time.LocalDateTime start,
+        @Query(LIST_ITEM_SELECT + " WHERE c.committedAt BETWEEN :start AND :end AND c.analysisStatus = 'COMPLETED' ORDER BY c.totalScore DESC")
+        List<com.backend.githubanalyzer.domain.commit.dto.CommitListItem> findTopCommitsGlobal(@Param("start") java.time.LocalDateTime start,
                         @Param("end") java.time.LocalDateTime end,
                         org.springframework.data.domain.Pageable pageable);
 
         // 2. Top Commits by Repos (Team/Sprint)
-        @Query("SELECT c FROM Commit c WHERE c.repository.id IN :repoIds AND c.committedAt BETWEEN :start AND :end AND c.analysisStatus = 'COMPLETED' ORDER BY c.totalScore DESC")
-        List<Commit> findTopCommitsByRepos(@Param("repoIds") List<String> repoIds,
+        @Query(LIST_ITEM_SELECT + " WHERE c.repository.id IN :repoIds AND c.committedAt BETWEEN :start AND :end AND c.analysisStatus = 'COMPLETED' ORDER BY c.totalScore DESC")
+        List<com.backend.githubanalyzer.domain.commit.dto.CommitListItem> findTopCommitsByRepos(@Param("repoIds") List<String> repoIds,
                         @Param("start") java.time.LocalDateTime start,
                         @Param("end") java.time.LocalDateTime end,
                         org.springframework.data.domain.Pageable pageable);
 
         // 3. Top Commits by User
-        @Query("SELECT c FROM Commit c WHERE c.author.id = :userId AND c.committedAt BETWEEN :start AND :end AND c.analysisStatus = 'COMPLETED' ORDER BY c.totalScore DESC")
-        List<Commit> findTopCommitsByUser(@Param("userId") Long userId,
+        @Query(LIST_ITEM_SELECT + " WHERE c.author.id = :userId AND c.committedAt BETWEEN :start AND :end AND c.analysisStatus = 'COMPLETED' ORDER BY c.totalScore DESC")
+        List<com.backend.githubanalyzer.domain.commit.dto.CommitListItem> findTopCommitsByUser(@Param("userId") Long userId,
                         @Param("start") java.time.LocalDateTime start,
                         @Param("end") java.time.LocalDateTime end,
                         org.springframework.data.domain.Pageable pageable);
@@ -151,8 +217,8 @@ public interface CommitRepository extends JpaRepository<Commit, CommitId> {
                         org.springframework.data.domain.Pageable pageable);
 
         // 6. Top Commits by Authors (Team Scope)
-        @Query("SELECT c FROM Commit c WHERE c.author.id IN :authorIds AND c.committedAt BETWEEN :start AND :end AND c.analysisStatus = 'COMPLETED' ORDER BY c.totalScore DESC")
-        List<Commit> findTopCommitsByAuthors(@Param("authorIds") List<Long> authorIds,
+        @Query(LIST_ITEM_SELECT + " WHERE c.author.id IN :authorIds AND c.committedAt BETWEEN :start AND :end AND c.analysisStatus = 'COMPLETED' ORDER BY c.totalScore DESC")
+        List<com.backend.githubanalyzer.domain.commit.dto.CommitListItem> findTopCommitsByAuthors(@Param("authorIds") List<Long> authorIds,
                         @Param("start") java.time.LocalDateTime start,
                         @Param("end") java.time.LocalDateTime end,
                         org.springframework.data.domain.Pageable pageable);
@@ -166,18 +232,22 @@ public interface CommitRepository extends JpaRepository<Commit, CommitId> {
                         @Param("start") java.time.LocalDateTime start,
                         @Param("end") java.time.LocalDateTime end,
                         org.springframework.data.domain.Pageable pageable);
-        @Query("SELECT DISTINCT c.id.branchName FROM Commit c WHERE c.repository.id = :repoId")
-        List<String> findDistinctBranchNamesByRepositoryId(@Param("repoId") String repoId);
-
-        long countById_RepoIdAndId_BranchName(String repoId, String branchName);
-
-        List<Commit> findAllByRepositoryIdAndId_BranchNameOrderByCommittedAtDesc(String repoId, String branchName);
-
-        Commit findFirstById_RepoIdAndId_BranchNameOrderByCommittedAtDesc(String repoId, String branchName);
-
-        // 8. Contributors Ranking by Repo (All Time)
-        @Query("SELECT c.author as user, SUM(c.totalScore) as totalScore FROM Commit c " +
-                        "WHERE c.repository.id = :repoId AND c.analysisStatus = 'COMPLETED' " +
-                        "GROUP BY c.author ORDER BY SUM(c.totalScore) DESC")
-        List<Object[]> findContributorsWithScore(@Param("repoId") String repoId);
+        // Branch dropdown in one pass over idx_commit_branch_keyset:
+        // [branch_name, head commit_sha, head committed_at, commit_count], most recently active first
+        @Query(value = "SELECT b.branch_name, b.commit_sha, b.committed_at, b.commit_count FROM (" +
+                        "SELECT branch_name, commit_sha, committed_at, " +
+                        "COUNT(*) OVER (PARTITION BY branch_name) AS commit_count, " +
+                        "ROW_NUMBER() OVER (PARTITION BY branch_name ORDER BY committed_at DESC, commit_sha DESC) AS rn " +
+                        "FROM commits WHERE repo_id = :repoId) b " +
+                        "WHERE b.rn = 1 ORDER BY b.committed_at DESC, b.branch_name", nativeQuery = true)
+        List<Object[]> findBranchSummaries(@Param("repoId") String repoId);
+
+        // Retrieval documents for chat context, newest first. Branch copies share a SHA; callers dedupe.
+        @Query("SELECT new com.backend.githubanalyzer.domain.commit.dto.CommitSearchDocument(" +
+                        "c.id.commitSha, c.message, c.summary, c.changedFiles, a.username, c.committedAt, " +
+                        "c.additions, c.deletions, c.totalScore) " +
+                        "FROM Commit c JOIN c.author a WHERE c.id.repoId = :repoId ORDER BY c.committedAt DESC")
+        List<com.backend.githubanalyzer.domain.commit.dto.CommitSearchDocument> findSearchDocumentsByRepositoryId(
+                        @Param("repoId") String repoId,
+                        org.springframework.data.domain.Pageable pageable);
 }
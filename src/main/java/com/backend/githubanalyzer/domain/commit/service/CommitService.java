@@ -5,7 +5,12 @@ import com.backend.githubanalyzer.domain.commit.dto.CommitResponse;
 import com.backend.githubanalyzer.domain.commit.entity.AnalysisStatus;
 import com.backend.githubanalyzer.domain.commit.entity.Commit;
 import com.backend.githubanalyzer.domain.commit.repository.CommitRepository;
+import com.backend.githubanalyzer.domain.commit.dto.CommitCursor;
+import com.backend.githubanalyzer.domain.commit.dto.CommitListItem;
+import com.backend.githubanalyzer.global.dto.CursorPageResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,27 +24,60 @@ public class CommitService {
     private final CommitRepository commitRepository;
     private final com.backend.githubanalyzer.domain.user.repository.UserRepository userRepository;
 
+    @Value("${commit.page.max-size:100}")
+    private int maxPageSize;
+
     @Transactional(readOnly = true)
-    public List<CommitResponse> getUserRecentCommits(String username) {
+    public CursorPageResponse<CommitResponse> getUserRecentCommits(String username, String cursor, int size) {
         com.backend.githubanalyzer.domain.user.entity.User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new IllegalArgumentException("User not found with username: " + username));
-        return commitRepository.findAllByAuthorIdOrderByCommittedAtDesc(user.getId()).stream()
-                .map(this::toCommitResponse)
-                .collect(Collectors.toList());
+        CommitCursor after = CommitCursor.decode(cursor);
+        return toPage(commitRepository.findAuthorPage(user.getId(), after.committedAt(), after.sha(),
+                after.repoId(), after.branchName(), limit(size)), size);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageResponse<CommitResponse> getUserCommitsInRepo(Long userId, String repoId, String cursor,
+            int size) {
+        CommitCursor after = CommitCursor.decode(cursor);
+        return toPage(commitRepository.findAuthorRepoPage(userId, repoId, after.committedAt(), after.sha(),
+                after.repoId(), after.branchName(), limit(size)), size);
     }
 
     @Transactional(readOnly = true)
-    public List<CommitResponse> getUserCommitsInRepo(Long userId, String repoId) {
-        return commitRepository.findAllByAuthorIdAndRepositoryIdOrderByCommittedAtDesc(userId, repoId).stream()
-                .map(this::toCommitResponse)
-                .collect(Collectors.toList());
+    public CursorPageResponse<CommitResponse> getCommits(String repoId, String cursor, int size) {
+        CommitCursor after = CommitCursor.decode(cursor);
+        return toPage(commitRepository.findRepoPage(repoId, after.committedAt(), after.sha(),
+                after.repoId(), after.branchName(), limit(size)), size);
     }
 
     @Transactional(readOnly = true)
-    public List<CommitResponse> getCommits(String repoId) {
-        return commitRepository.findAllByRepositoryIdOrderByCommittedAtDesc(repoId).stream()
-                .map(this::toCommitResponse)
-                .collect(Collectors.toList());
+    public CursorPageResponse<CommitResponse> getCommitsByBranch(String repoId, String branchName, String cursor,
+            int size) {
+        CommitCursor after = CommitCursor.decode(cursor);
+        return toPage(commitRepository.findBranchPage(repoId, branchName, after.committedAt(), after.sha(),
+                after.repoId(), after.branchName(), limit(size)), size);
+    }
+
+    private int pageSize(int size) {
+        return Math.max(1, Math.min(size, maxPageSize));
+    }
+
+    // One extra row tells us whether there is a next page
+    private PageRequest limit(int size) {
+        return PageRequest.of(0, pageSize(size) + 1);
+    }
+
+    private CursorPageResponse<CommitResponse> toPage(List<CommitListItem> rows, int size) {
+        int pageSize = pageSize(size);
+        List<CommitListItem> page = rows.size() > pageSize ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            CommitListItem last = page.get(page.size() - 1);
+            nextCursor = new CommitCursor(last.committedAt(), last.sha(), last.repoId(), last.branchName()).encode();
+        }
+        return CursorPageResponse.of(page.stream().map(this::toCommitResponse).collect(Collectors.toList()),
+                nextCursor);
     }
 
     @Transactional(readOnly = true)
@@ -65,15 +103,15 @@ public class CommitService {
                 .orElse(null);
     }
 
-    private CommitResponse toCommitResponse(Commit commit) {
+    private CommitResponse toCommitResponse(CommitListItem commit) {
         return CommitResponse.builder()
-                .sha(commit.getId().getCommitSha())
-                .message(commit.getMessage())
-                .committedAt(commit.getCommittedAt())
-                .authorName(commit.getAuthor().getUsername())
-                .authorProfileUrl(commit.getAuthor().getProfileUrl())
-                .analysisStatus(commit.getAnalysisStatus())
-                .totalScore(commit.getTotalScore())
+                .sha(commit.sha())
+                .message(commit.message())
+                .committedAt(commit.committedAt())
+                .authorName(commit.authorName())
+                .authorProfileUrl(commit.authorProfileUrl())
+                .analysisStatus(commit.analysisStatus())
+                .totalScore(commit.totalScore())
                 .build();
     }
 
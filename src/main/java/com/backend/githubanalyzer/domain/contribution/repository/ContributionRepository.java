@@ -3,6 +3,8 @@ package com.backend.githubanalyzer.domain.contribution.repository;
 import com.backend.githubanalyzer.domain.contribution.entity.Contribution;
 import com.backend.githubanalyzer.domain.contribution.entity.ContributionId;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
@@ -12,5 +14,15 @@ public interface ContributionRepository extends JpaRepository<Contribution, Cont
 
     List<Contribution> findAllByUserId(Long userId);
 
-    List<Contribution> findAllByRepositoryIdOrderByRankAsc(String repoId);
+    // One page of the repo's contributors ranked by their score in the repo (daily rollups, COMPLETED commits).
+    // Rows: [username, profile_url, contribution_type, rank, score]; ties keep username order.
+    @Query(value = "SELECT u.username, u.profile_url, c.contribution_type, " +
+            "ROW_NUMBER() OVER (ORDER BY COALESCE(s.score, 0) DESC, u.username) AS contributor_rank, " +
+            "COALESCE(s.score, 0) AS score " +
+            "FROM contributions c JOIN `user` u ON u.id = c.user_id " +
+            "LEFT JOIN (SELECT user_id, SUM(score_sum) AS score FROM score_rollup_daily " +
+            "WHERE repo_id = :repoId GROUP BY user_id) s ON s.user_id = c.user_id " +
+            "WHERE c.repo_id = :repoId ORDER BY contributor_rank LIMIT :limit OFFSET :offset", nativeQuery = true)
+    List<Object[]> findRankedContributors(@Param("repoId") String repoId, @Param("limit") int limit,
+            @Param("offset") long offset);
 }
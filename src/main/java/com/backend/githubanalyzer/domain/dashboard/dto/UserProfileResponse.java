@@ -2,13 +2,17 @@ package com.backend.githubanalyzer.domain.dashboard.dto;
 
 import com.backend.githubanalyzer.domain.sprint.dto.SprintResponse;
 import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 
 import java.util.List;
 
 @Getter
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class UserProfileResponse {
     @Schema(description = "Username", example = "johndoe")
     private String username;
@@ -7,14 +7,16 @@ import com.backend.githubanalyzer.domain.sprint.dto.SprintResponse;
 import com.backend.githubanalyzer.domain.sprint.service.SprintService;
 import com.backend.githubanalyzer.domain.user.entity.User;
 import com.backend.githubanalyzer.domain.user.repository.UserRepository;
+import com.backend.githubanalyzer.domain.user.service.UserActivityService;
+import com.backend.githubanalyzer.domain.analysis.event.CommitScoreChangedEvent;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
-import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -24,6 +26,18 @@ public class DashboardService {
     private final UserRepository userRepository;
     private final CommitRepository commitRepository;
     private final SprintService sprintService;
+    private final UserActivityService userActivityService;
+    private final CacheManager cacheManager;
+    private final UserProfileCacheEvictor userProfileCacheEvictor;
+
+    // Keyed by user id, so every writer can evict without resolving the username
+    public static final String USER_PROFILE_CACHE = "userProfile";
+
+    // Score and commit totals on the profile move with every commit event
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommitScoreChanged(CommitScoreChangedEvent event) {
+        userProfileCacheEvictor.evict(event.userId());
+    }
 
     public DashboardStatsResponse getDashboardStats(Long userId) {
         User user = userRepository.findById(userId)
@@ -61,10 +75,15 @@ public class DashboardService {
                 .build();
     }
 
+    // Only the username lookup runs on a hit; the counts and sprint list come from the cache
     public UserProfileResponse getUserProfile(String username) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new IllegalArgumentException("User not found: " + username));
+        Cache cache = cacheManager.getCache(USER_PROFILE_CACHE);
+        return cache != null ? cache.get(user.getId(), () -> buildUserProfile(user)) : buildUserProfile(user);
+    }
 
+    private UserProfileResponse buildUserProfile(User user) {
         long totalCommits = commitRepository.countByAuthorId(user.getId());
         List<SprintResponse> mySprints = sprintService.getMyParticipatingSprints(user.getId());
 
@@ -81,41 +100,7 @@ public class DashboardService {
     }
 
     private int calculateCurrentStreak(Long userId) {
-        List<LocalDateTime> commitDates = commitRepository.findDistinctCommittedAtByAuthorId(userId);
-
-        if (commitDates.isEmpty()) {
-            return 0;
-        }
-
-        // Convert to LocalDates and distinct sorted descending
-        List<LocalDate> dates = commitDates.stream()
-                .map(LocalDateTime::toLocalDate)
-                .distinct()
-                .sorted((a, b) -> b.compareTo(a)) // Descending
-                .collect(Collectors.toList());
-
-        if (dates.isEmpty())
-            return 0;
-
-        LocalDate today = LocalDate.now();
-        LocalDate yesterday = today.minusDays(1);
-
-        // If no commit today or yesterday, streak is 0
-        if (!dates.get(0).equals(today) && !dates.get(0).equals(yesterday)) {
-            return 0;
-        }
-
-        int streak = 1;
-        for (int i = 0; i < dates.size() - 1; i++) {
-            LocalDate current = dates.get(i);
-            LocalDate next = dates.get(i + 1);
-
-            if (current.minusDays(1).equals(next)) {
-                streak++;
-            } else {
-                break;
-            }
-        }
-        return streak;
+        // Bitmap over local (activity.zone) days instead of every commit timestamp
+        return userActivityService.getCurrentStreak(userId);
     }
 }
@@ -0,0 +1,44 @@
+package com.backend.githubanalyzer.domain.dashboard.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+
+// Drops cached public profiles (keyed by user id) when something shown on them changes: scores, profile
+// fields, team memberships, sprint registrations. Deferred to after commit like the version bumps, so a
+// concurrent read can't re-cache the old rows.
+@Component
+@RequiredArgsConstructor
+public class UserProfileCacheEvictor {
+
+    private final CacheManager cacheManager;
+
+    public void evict(Long userId) {
+        evictAll(List.of(userId));
+    }
+
+    public void evictAll(Collection<Long> userIds) {
+        Cache cache = cacheManager.getCache(DashboardService.USER_PROFILE_CACHE);
+        if (cache == null || userIds.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        userIds.forEach(cache::evict);
+                    }
+                }
+            });
+        } else {
+            userIds.forEach(cache::evict);
+        }
+    }
+}
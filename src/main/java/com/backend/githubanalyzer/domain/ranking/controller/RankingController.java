@@ -2,11 +2,22 @@ package com.backend.githubanalyzer.domain.ranking.controller;
 
 import com.backend.githubanalyzer.domain.ranking.dto.CommitRankResponse;
 import com.backend.githubanalyzer.domain.ranking.dto.UserRankResponse;
+import com.backend.githubanalyzer.domain.ranking.service.LeaderboardService;
 import com.backend.githubanalyzer.domain.ranking.service.RankingService;
+import com.backend.githubanalyzer.domain.user.entity.User;
+import com.backend.githubanalyzer.domain.user.repository.UserRepository;
+import com.backend.githubanalyzer.global.cache.VersionStampService;
 import com.backend.githubanalyzer.global.dto.ApiResponse;
+import com.backend.githubanalyzer.global.dto.PageResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
 import java.util.List;
 
@@ -17,6 +28,9 @@ import java.util.List;
 public class RankingController {
 
     private final RankingService rankingService;
+    private final LeaderboardService leaderboardService;
+    private final UserRepository userRepository;
+    private final VersionStampService versionStampService;
 
     @io.swagger.v3.oas.annotations.Operation(summary = "Get Top Commits (커밋 랭킹 조회)", description = "지정된 조건(Scope, Period)에 따라 점수가 가장 높은 커밋 목록을 반환합니다.<br>"
             +
@@ -30,9 +44,14 @@ public class RankingController {
 
             @io.swagger.v3.oas.annotations.Parameter(description = "집계 기간 (ALL, YEAR, MONTH, WEEK, DAY, HOUR, SPRINT). Default: WEEK", example = "WEEK") @RequestParam(defaultValue = "WEEK") RankingService.Period period,
 
-            @io.swagger.v3.oas.annotations.Parameter(description = "반환 개수 제한", example = "10") @RequestParam(defaultValue = "10") int limit) {
+            @io.swagger.v3.oas.annotations.Parameter(description = "반환 개수 제한", example = "10") @RequestParam(defaultValue = "10") int limit,
+            WebRequest webRequest) {
 
-        return ResponseEntity.ok(ApiResponse.success(
+        if (webRequest.checkNotModified(versionStampService.etag(periodBucket(period), VersionStampService.SCORES,
+                VersionStampService.SPRINTS))) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate()).body(ApiResponse.success(
                 rankingService.getCommitRankings(scope, id, period, limit)));
     }
 
@@ -48,9 +67,67 @@ public class RankingController {
 
             @io.swagger.v3.oas.annotations.Parameter(description = "집계 기간 (ALL, YEAR, MONTH, WEEK, DAY, HOUR, SPRINT). Default: ALL", example = "ALL") @RequestParam(defaultValue = "ALL") RankingService.Period period,
 
-            @io.swagger.v3.oas.annotations.Parameter(description = "반환 개수 제한", example = "10") @RequestParam(defaultValue = "10") int limit) {
+            @io.swagger.v3.oas.annotations.Parameter(description = "반환 개수 제한", example = "10") @RequestParam(defaultValue = "10") int limit,
+            WebRequest webRequest) {
 
-        return ResponseEntity.ok(ApiResponse.success(
+        if (webRequest.checkNotModified(versionStampService.etag(periodBucket(period), VersionStampService.SCORES,
+                VersionStampService.SPRINTS))) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate()).body(ApiResponse.success(
                 rankingService.getUserRankings(scope, id, period, limit)));
     }
+
+    @io.swagger.v3.oas.annotations.Operation(summary = "Get Leaderboard (리더보드 조회)", description = "기간별 전체 유저 리더보드를 페이지 단위로 조회합니다.<br>"
+            +
+            "**Period**: `DAY` (오늘), `WEEK` (최근 7일), `MONTH` (최근 30일), `ALL` (전체)")
+    @GetMapping("/leaderboard")
+    public ResponseEntity<ApiResponse<PageResponse<UserRankResponse>>> getLeaderboard(
+            @io.swagger.v3.oas.annotations.Parameter(description = "기간 (DAY, WEEK, MONTH, ALL)", example = "WEEK") @RequestParam(defaultValue = "WEEK") LeaderboardService.Window period,
+            @io.swagger.v3.oas.annotations.Parameter(description = "페이지 번호 (0부터)", example = "0") @RequestParam(defaultValue = "0") int page,
+            @io.swagger.v3.oas.annotations.Parameter(description = "페이지 크기", example = "20") @RequestParam(defaultValue = "20") int size,
+            WebRequest webRequest) {
+
+        // The windows slide daily, so the day is part of the tag
+        if (webRequest.checkNotModified(versionStampService.etag(leaderboardService.today().toString(),
+                VersionStampService.SCORES))) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate())
+                .body(ApiResponse.success(leaderboardService.getPage(period, page, size)));
+    }
+
+    @io.swagger.v3.oas.annotations.Operation(summary = "Get My Rank (내 순위 조회)", description = "리더보드에서 내 순위와 점수를 조회합니다. 점수가 없으면 rank=0을 반환합니다.")
+    @GetMapping("/leaderboard/me")
+    public ResponseEntity<ApiResponse<UserRankResponse>> getMyRank(
+            @io.swagger.v3.oas.annotations.Parameter(description = "기간 (DAY, WEEK, MONTH, ALL)", example = "WEEK") @RequestParam(defaultValue = "WEEK") LeaderboardService.Window period) {
+
+        return ResponseEntity.ok(ApiResponse.success(leaderboardService.getMyRank(period, getCurrentUser())));
+    }
+
+    @io.swagger.v3.oas.annotations.Operation(summary = "Get Neighbors (내 주변 순위 조회)", description = "리더보드에서 내 위아래 radius명씩의 순위를 조회합니다.")
+    @GetMapping("/leaderboard/me/neighbors")
+    public ResponseEntity<ApiResponse<List<UserRankResponse>>> getNeighbors(
+            @io.swagger.v3.oas.annotations.Parameter(description = "기간 (DAY, WEEK, MONTH, ALL)", example = "WEEK") @RequestParam(defaultValue = "WEEK") LeaderboardService.Window period,
+            @io.swagger.v3.oas.annotations.Parameter(description = "위아래로 조회할 인원 수", example = "5") @RequestParam(defaultValue = "5") int radius) {
+
+        return ResponseEntity.ok(ApiResponse.success(leaderboardService.getNeighbors(period, getCurrentUser(), radius)));
+    }
+
+    // Rolling periods move without new data as commits age out, so the tag also carries a time bucket:
+    // a response can lag the window edge by at most one bucket
+    private String periodBucket(RankingService.Period period) {
+        return switch (period) {
+            case ALL, SPRINT -> "fixed";
+            case HOUR -> LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES).toString();
+            default -> LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).toString();
+        };
+    }
+
+    private User getCurrentUser() {
+        String principal = SecurityContextHolder.getContext().getAuthentication().getName();
+        return userRepository.findByEmail(principal)
+                .or(() -> userRepository.findByUsername(principal))
+                .orElseThrow(() -> new IllegalArgumentException("User not found: " + principal));
+    }
 }
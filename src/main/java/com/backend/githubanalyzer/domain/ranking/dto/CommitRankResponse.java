@@ -1,20 +1,35 @@
 package com.backend.githubanalyzer.domain.ranking.dto;
 
-import com.backend.githubanalyzer.domain.commit.entity.Commit;
-import com.backend.githubanalyzer.domain.user.entity.User;
+import com.backend.githubanalyzer.domain.commit.dto.CommitListItem;
 import lombok.Builder;
 import lombok.Getter;
 
+import java.time.LocalDateTime;
+
 @Getter
 @Builder
 public class CommitRankResponse {
     private long rank;
-    private Commit commit;
+    private String sha;
+    private String repoId;
+    private String branchName;
+    private String message;
+    private LocalDateTime committedAt;
+    private String authorName;
+    private String authorProfileUrl;
+    private Long totalScore;
 
-    public static CommitRankResponse of(long rank, Commit commit) {
+    public static CommitRankResponse of(long rank, CommitListItem commit) {
         return CommitRankResponse.builder()
                 .rank(rank)
-                .commit(commit)
+                .sha(commit.sha())
+                .repoId(commit.repoId())
+                .branchName(commit.branchName())
+                .message(commit.message())
+                .committedAt(commit.committedAt())
+                .authorName(commit.authorName())
+                .authorProfileUrl(commit.authorProfileUrl())
+                .totalScore(commit.totalScore())
                 .build();
     }
 }
@@ -0,0 +1,26 @@
+package com.backend.githubanalyzer.domain.ranking.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// Sum of COMPLETED commit scores per (user, repo, day). Maintained by ScoreRollupService.
+@Entity
+@Table(name = "score_rollup_daily", indexes = {
+        @Index(name = "idx_rollup_daily_bucket", columnList = "bucket_start, user_id, score_sum"),
+        // Per-repo contributor totals
+        @Index(name = "idx_rollup_daily_repo", columnList = "repo_id, user_id, score_sum")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+public class ScoreRollupDaily {
+
+    @EmbeddedId
+    private ScoreRollupId id;
+
+    @Column(name = "score_sum", nullable = false)
+    private Long scoreSum;
+
+    @Column(name = "scored_count", nullable = false)
+    private Long scoredCount;
+}
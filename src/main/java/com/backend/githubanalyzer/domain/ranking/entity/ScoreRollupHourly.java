@@ -0,0 +1,24 @@
+package com.backend.githubanalyzer.domain.ranking.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// Sum of COMPLETED commit scores per (user, repo, hour). Maintained by ScoreRollupService.
+@Entity
+@Table(name = "score_rollup_hourly", indexes = {
+        @Index(name = "idx_rollup_hourly_bucket", columnList = "bucket_start, user_id, score_sum")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+public class ScoreRollupHourly {
+
+    @EmbeddedId
+    private ScoreRollupId id;
+
+    @Column(name = "score_sum", nullable = false)
+    private Long scoreSum;
+
+    @Column(name = "scored_count", nullable = false)
+    private Long scoredCount;
+}
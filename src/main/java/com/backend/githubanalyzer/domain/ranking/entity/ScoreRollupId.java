@@ -0,0 +1,25 @@
+package com.backend.githubanalyzer.domain.ranking.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+@Embeddable
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@EqualsAndHashCode
+public class ScoreRollupId implements Serializable {
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "repo_id")
+    private String repoId;
+
+    @Column(name = "bucket_start")
+    private LocalDateTime bucketStart; // Truncated committedAt (hour or day)
+}
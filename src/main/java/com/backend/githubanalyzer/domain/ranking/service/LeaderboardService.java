@@ -0,0 +1,292 @@
+package com.backend.githubanalyzer.domain.ranking.service;
+
+import com.backend.githubanalyzer.domain.analysis.event.CommitScoreChangedEvent;
+import com.backend.githubanalyzer.domain.ranking.dto.UserRankResponse;
+import com.backend.githubanalyzer.domain.user.entity.User;
+import com.backend.githubanalyzer.domain.user.repository.UserRepository;
+import com.backend.githubanalyzer.domain.user.service.UserActivityService;
+import com.backend.githubanalyzer.global.cache.VersionStampService;
+import com.backend.githubanalyzer.global.dto.PageResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Global user leaderboards in Redis sorted sets (member = userId, score = summed commit score):
+//   leaderboard:day:{yyyy-MM-dd}   one per calendar day, kept for the month window
+//   leaderboard:week / :month      rolling 7 / 30 days incl. today, re-unioned from the day sets
+//   leaderboard:all                all-time
+//   leaderboard:rebuilding         lock (owner token) while a rebuild runs; increments go to ...:pending
+// Everything is seeded from the daily rollups and then moved by ZINCRBY as scores change.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LeaderboardService {
+
+    private static final String KEY_PREFIX = "leaderboard:";
+    private static final String BUILT_KEY = KEY_PREFIX + "built";
+    private static final String REFRESH_LOCK_KEY = KEY_PREFIX + "refresh:lock";
+    private static final String REBUILDING_KEY = KEY_PREFIX + "rebuilding";
+    private static final String PENDING_KEY = KEY_PREFIX + "pending";
+    private static final Duration REBUILD_LOCK_TTL = Duration.ofMinutes(10);
+    private static final Duration DAY_KEY_TTL = Duration.ofDays(Window.MONTH.days + 1L);
+
+    // KEYS: rebuilding, pending, then the sets to move. ARGV: member, delta, pending ttl, day key ttl.
+    // While a rebuild runs the increments are parked ("key|member|delta"), since its swap would overwrite them.
+    static final DefaultRedisScript<Long> INCREMENT_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 1 then
+                for i = 3, #KEYS do
+                    redis.call('RPUSH', KEYS[2], KEYS[i] .. '|' .. ARGV[1] .. '|' .. ARGV[2])
+                end
+                redis.call('EXPIRE', KEYS[2], ARGV[3])
+                return 0
+            end
+            for i = 3, #KEYS do
+                redis.call('ZINCRBY', KEYS[i], ARGV[2], ARGV[1])
+                if string.find(KEYS[i], ':day:', 1, true) then redis.call('EXPIRE', KEYS[i], ARGV[4]) end
+            end
+            return 1
+            """, Long.class);
+
+    // KEYS: rebuilding, pending. ARGV: owner token, day key ttl.
+    // Replays the parked increments and releases the lock in one step; -1 when another rebuild owns it by now.
+    static final DefaultRedisScript<Long> FINISH_REBUILD_SCRIPT = new DefaultRedisScript<>("""
+            local owner = redis.call('GET', KEYS[1])
+            if owner and owner ~= ARGV[1] then return -1 end
+            local entries = redis.call('LRANGE', KEYS[2], 0, -1)
+            for _, entry in ipairs(entries) do
+                local key, member, delta = string.match(entry, '^(.*)|([^|]*)|([^|]*)$')
+                redis.call('ZINCRBY', key, delta, member)
+                if string.find(key, ':day:', 1, true) then redis.call('EXPIRE', key, ARGV[2]) end
+            end
+            redis.call('DEL', KEYS[1], KEYS[2])
+            return #entries
+            """, Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ScoreRollupService scoreRollupService;
+    private final UserRepository userRepository;
+    private final VersionStampService versionStampService;
+    private final UserActivityService userActivityService;
+
+    @Value("${ranking.leaderboard.max-page-size:100}")
+    private int maxPageSize;
+
+    public enum Window {
+        DAY(1), WEEK(7), MONTH(30), ALL(0);
+
+        private final int days;
+
+        Window(int days) {
+            this.days = days;
+        }
+    }
+
+    public PageResponse<UserRankResponse> getPage(Window window, int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, maxPageSize));
+        long start = (long) Math.max(page, 0) * pageSize;
+        // One extra entry tells us whether there is a next page
+        Set<ZSetOperations.TypedTuple<String>> entries = stringRedisTemplate.opsForZSet()
+                .reverseRangeWithScores(key(window), start, start + pageSize);
+        List<UserRankResponse> content = toResponses(entries, start + 1);
+        boolean hasNext = content.size() > pageSize;
+        return PageResponse.of(hasNext ? content.subList(0, pageSize) : content, hasNext);
+    }
+
+    // O(log n); rank 0 when the user has no score in the window
+    public UserRankResponse getMyRank(Window window, User user) {
+        String member = String.valueOf(user.getId());
+        Long rank = stringRedisTemplate.opsForZSet().reverseRank(key(window), member);
+        if (rank == null) {
+            return UserRankResponse.of(0, user, 0L);
+        }
+        Double score = stringRedisTemplate.opsForZSet().score(key(window), member);
+        return UserRankResponse.of(rank + 1, user, score != null ? score.longValue() : 0L);
+    }
+
+    // The user plus up to `radius` entries above and below
+    public List<UserRankResponse> getNeighbors(Window window, User user, int radius) {
+        Long rank = stringRedisTemplate.opsForZSet().reverseRank(key(window), String.valueOf(user.getId()));
+        if (rank == null) {
+            return new ArrayList<>();
+        }
+        int span = Math.max(0, Math.min(radius, maxPageSize / 2));
+        long start = Math.max(0, rank - span);
+        return toResponses(stringRedisTemplate.opsForZSet()
+                .reverseRangeWithScores(key(window), start, rank + span), start + 1);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommitScoreChanged(CommitScoreChangedEvent event) {
+        if (event.scoreDelta() == 0 || event.committedAt() == null) {
+            return;
+        }
+        try {
+            String member = String.valueOf(event.userId());
+            LocalDate day = userActivityService.toLocalDay(event.committedAt());
+            LocalDate today = today();
+
+            List<String> keys = new ArrayList<>(List.of(REBUILDING_KEY, PENDING_KEY, key(Window.ALL)));
+            if (day.isAfter(today.minusDays(Window.MONTH.days)) && !day.isAfter(today)) {
+                keys.add(dayKey(day));
+                for (Window window : List.of(Window.DAY, Window.WEEK, Window.MONTH)) {
+                    if (day.isAfter(today.minusDays(window.days))) {
+                        keys.add(key(window));
+                    }
+                }
+            }
+            stringRedisTemplate.execute(INCREMENT_SCRIPT, keys, member, String.valueOf(event.scoreDelta()),
+                    String.valueOf(REBUILD_LOCK_TTL.toSeconds()), String.valueOf(DAY_KEY_TTL.toSeconds()));
+        } catch (Exception e) {
+            log.warn("Failed to update leaderboards for user {}: {}", event.userId(), e.getMessage());
+        }
+    }
+
+    // Slides the windows: drops days that fell out by re-unioning the day sets
+    @Scheduled(fixedDelayString = "${ranking.leaderboard.refresh-interval-ms:300000}", initialDelay = 60000)
+    public void refreshWindows() {
+        if (!Boolean.TRUE.equals(stringRedisTemplate.opsForValue().setIfAbsent(REFRESH_LOCK_KEY, "1",
+                Duration.ofMinutes(1)))) {
+            return;
+        }
+        unionWindows(UUID.randomUUID().toString());
+    }
+
+    private void unionWindows(String token) {
+        LocalDate today = today();
+        for (Window window : List.of(Window.DAY, Window.WEEK, Window.MONTH)) {
+            List<String> dayKeys = new ArrayList<>();
+            for (int i = 0; i < window.days; i++) {
+                dayKeys.add(dayKey(today.minusDays(i)));
+            }
+            String tmp = key(window) + ":tmp:" + token;
+            Long size = stringRedisTemplate.opsForZSet().unionAndStore(dayKeys.get(0), dayKeys.subList(1, dayKeys.size()), tmp);
+            if (size == null || size == 0) {
+                stringRedisTemplate.delete(key(window));
+            } else {
+                stringRedisTemplate.rename(tmp, key(window));
+            }
+        }
+    }
+
+    // Full rebuild from the daily rollups: on first start and nightly to heal missed increments. One node
+    // rebuilds; increments are parked meanwhile and replayed after the swap. One that committed just before
+    // the rollup reads may be counted twice until the next rebuild, rather than dropped.
+    @Scheduled(cron = "${ranking.leaderboard.rebuild-cron:0 30 4 * * *}")
+    public void rebuild() {
+        String token = UUID.randomUUID().toString();
+        if (!Boolean.TRUE.equals(stringRedisTemplate.opsForValue().setIfAbsent(REBUILDING_KEY, token,
+                REBUILD_LOCK_TTL))) {
+            log.debug("Leaderboards are already being rebuilt");
+            return;
+        }
+        Long replayed;
+        try {
+            LocalDate today = today();
+            for (int i = 0; i < Window.MONTH.days; i++) {
+                LocalDate day = today.minusDays(i);
+                replace(dayKey(day), dayTotals(day), token);
+                stringRedisTemplate.expire(dayKey(day), DAY_KEY_TTL);
+            }
+            replace(key(Window.ALL), scoreRollupService.dailyTotalsByUser(null, null), token);
+            unionWindows(token);
+        } finally {
+            replayed = stringRedisTemplate.execute(FINISH_REBUILD_SCRIPT, List.of(REBUILDING_KEY, PENDING_KEY), token,
+                    String.valueOf(DAY_KEY_TTL.toSeconds()));
+        }
+        if (replayed != null && replayed < 0) {
+            log.warn("Lost the leaderboard rebuild lock; the newer rebuild finishes the job");
+            return;
+        }
+        stringRedisTemplate.opsForValue().set(BUILT_KEY, "1");
+        versionStampService.bump(VersionStampService.SCORES);
+        log.info("Rebuilt leaderboards from daily rollups, {} increments replayed", replayed);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfMissing() {
+        try {
+            if (!Boolean.TRUE.equals(stringRedisTemplate.hasKey(BUILT_KEY))) {
+                rebuild();
+            }
+        } catch (Exception e) {
+            log.error("Failed to build leaderboards", e);
+        }
+    }
+
+    // Days are activity.zone days (like heatmaps and streaks); the rollups are bucketed in stored time, so a
+    // day is read as the stored-time range it covers (whole days from the daily table, edges hourly)
+    private List<ScoreRollupService.UserScore> dayTotals(LocalDate day) {
+        java.time.LocalDateTime from = userActivityService.startOfDayStored(day);
+        java.time.LocalDateTime to = userActivityService.startOfDayStored(day.plusDays(1));
+        // rankUsers includes the hour of its end bound
+        return scoreRollupService.rankUsers(from, to.minusHours(1), null, null, 0, Integer.MAX_VALUE);
+    }
+
+    // The current leaderboard day in activity.zone
+    public LocalDate today() {
+        return userActivityService.today();
+    }
+
+    // The tmp key is per rebuild (owner token), so another node can't delete or rename it
+    private void replace(String key, List<ScoreRollupService.UserScore> scores, String token) {
+        if (scores.isEmpty()) {
+            stringRedisTemplate.delete(key);
+            return;
+        }
+        Set<ZSetOperations.TypedTuple<String>> tuples = scores.stream()
+                .map(s -> ZSetOperations.TypedTuple.of(String.valueOf(s.userId()), (double) s.totalScore()))
+                .collect(Collectors.toSet());
+        String tmp = key + ":tmp:" + token;
+        try {
+            stringRedisTemplate.opsForZSet().add(tmp, tuples);
+            stringRedisTemplate.rename(tmp, key);
+        } catch (RuntimeException e) {
+            stringRedisTemplate.delete(tmp);
+            throw e;
+        }
+    }
+
+    private List<UserRankResponse> toResponses(Set<ZSetOperations.TypedTuple<String>> entries, long firstRank) {
+        if (entries == null || entries.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, User> users = userRepository.findAllById(entries.stream()
+                .map(e -> Long.valueOf(e.getValue()))
+                .toList()).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        List<UserRankResponse> responses = new ArrayList<>();
+        long rank = firstRank;
+        for (ZSetOperations.TypedTuple<String> entry : entries) {
+            User user = users.get(Long.valueOf(entry.getValue()));
+            long currentRank = rank++;
+            if (user != null) {
+                responses.add(UserRankResponse.of(currentRank, user,
+                        entry.getScore() != null ? entry.getScore().longValue() : 0L));
+            }
+        }
+        return responses;
+    }
+
+    private String key(Window window) {
+        return KEY_PREFIX + window.name().toLowerCase();
+    }
+
+    private String dayKey(LocalDate day) {
+        return KEY_PREFIX + "day:" + day;
+    }
+}
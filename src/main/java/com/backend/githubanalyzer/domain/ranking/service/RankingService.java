@@ -1,7 +1,7 @@
 package com.backend.githubanalyzer.domain.ranking.service;
 
-import com.backend.githubanalyzer.domain.commit.entity.Commit;
 import com.backend.githubanalyzer.domain.commit.repository.CommitRepository;
+import com.backend.githubanalyzer.domain.commit.dto.CommitListItem;
 import com.backend.githubanalyzer.domain.ranking.dto.CommitRankResponse;
 import com.backend.githubanalyzer.domain.ranking.dto.UserRankResponse;
 import com.backend.githubanalyzer.domain.repository.repository.GithubRepositoryRepository;
@@ -10,6 +10,7 @@ import com.backend.githubanalyzer.domain.sprint.repository.SprintRepository;
 import com.backend.githubanalyzer.domain.team.repository.TeamRegisterSprintRepository;
 import com.backend.githubanalyzer.domain.team.repository.TeamRepository;
 import com.backend.githubanalyzer.domain.user.entity.User;
+import com.backend.githubanalyzer.domain.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -19,6 +20,8 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,6 +33,8 @@ public class RankingService {
     private final SprintRepository sprintRepository;
     private final com.backend.githubanalyzer.domain.team.repository.UserRegisterTeamRepository userRegisterTeamRepository;
     private final TeamRegisterSprintRepository teamRegisterSprintRepository;
+    private final UserRepository userRepository;
+    private final ScoreRollupService scoreRollupService;
 
     public enum Period {
         ALL, YEAR, MONTH, WEEK, DAY, HOUR, SPRINT
@@ -53,7 +58,7 @@ public class RankingService {
         }
 
         Pageable pageable = PageRequest.of(0, limit);
-        List<Commit> commits;
+        List<CommitListItem> commits;
 
         switch (scope.toLowerCase()) {
             case "global":
@@ -102,12 +107,11 @@ public class RankingService {
             end = now.isAfter(sprint.getEndDate()) ? sprint.getEndDate() : now;
         }
 
-        Pageable pageable = PageRequest.of(0, limit);
-        List<Object[]> results;
+        List<ScoreRollupService.UserScore> results;
 
         switch (scope.toLowerCase()) {
             case "global":
-                results = commitRepository.findUserRankingGlobal(start, end, pageable);
+                results = scoreRollupService.rankUsers(start, end, null, null, 0, limit);
                 break;
             case "sprint":
                 List<String> sprintRepoIds = teamRegisterSprintRepository.findAllBySprintId(id).stream()
@@ -115,7 +119,7 @@ public class RankingService {
                         .collect(Collectors.toList());
                 if (sprintRepoIds.isEmpty())
                     return Collections.emptyList();
-                results = commitRepository.findUserRankingByRepos(sprintRepoIds, start, end, pageable);
+                results = scoreRollupService.rankUsers(start, end, sprintRepoIds, null, 0, limit);
                 break;
             case "team":
                 List<Long> memberIds = userRegisterTeamRepository.findByTeamId(id).stream()
@@ -123,19 +127,21 @@ public class RankingService {
                         .collect(Collectors.toList());
                 if (memberIds.isEmpty())
                     return Collections.emptyList();
-                results = commitRepository.findUserRankingByAuthors(memberIds, start, end, pageable);
+                results = scoreRollupService.rankUsers(start, end, null, memberIds, 0, limit);
                 break;
             default:
                 throw new IllegalArgumentException("Invalid scope: " + scope);
         }
 
+        Map<Long, User> users = userRepository.findAllById(results.stream()
+                .map(ScoreRollupService.UserScore::userId)
+                .collect(Collectors.toList())).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
         long[] rank = { 1 };
         return results.stream()
-                .map(row -> {
-                    User user = (User) row[0];
-                    Long score = (Long) row[1];
-                    return UserRankResponse.of(rank[0]++, user, score != null ? score : 0);
-                })
+                .filter(row -> users.containsKey(row.userId()))
+                .map(row -> UserRankResponse.of(rank[0]++, users.get(row.userId()), row.totalScore()))
                 .collect(Collectors.toList());
     }
 
@@ -0,0 +1,153 @@
+package com.backend.githubanalyzer.domain.ranking.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
+
+// Hourly and daily score buckets per (user, repo). Period rankings sum whole days from the daily table
+// and the partial days at both edges from the hourly table, so cost follows the number of buckets
+// in the window rather than the number of commits.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ScoreRollupService {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private static final String UPSERT_SQL = "INSERT INTO %s (user_id, repo_id, bucket_start, score_sum, scored_count) " +
+            "VALUES (:userId, :repoId, :bucket, :scoreDelta, :countDelta) AS new " +
+            "ON DUPLICATE KEY UPDATE score_sum = score_sum + new.score_sum, scored_count = scored_count + new.scored_count";
+
+    // Overwrites each bucket in place with its recomputed value instead of DELETE + re-INSERT, so there is no
+    // window in which a concurrent delta lands in an emptied table and is then lost
+    private static final String REBUILD_SQL = "INSERT INTO %s (user_id, repo_id, bucket_start, score_sum, scored_count) " +
+            "SELECT * FROM (SELECT author_id, repo_id, %s AS bucket, SUM(total_score) AS total, COUNT(*) AS scored " +
+            "FROM commits WHERE analysis_status = 'COMPLETED' AND committed_at >= :from " +
+            "GROUP BY author_id, repo_id, bucket) agg " +
+            "ON DUPLICATE KEY UPDATE score_sum = agg.total, scored_count = agg.scored";
+
+    // Buckets with no completed commit left are zeroed (rankings skip them via HAVING SUM(scored_count) > 0)
+    private static final String CLEAR_STALE_SQL = "UPDATE %s r LEFT JOIN (" +
+            "SELECT DISTINCT author_id, repo_id, %s AS bucket FROM commits " +
+            "WHERE analysis_status = 'COMPLETED' AND committed_at >= :from) live " +
+            "ON live.author_id = r.user_id AND live.repo_id = r.repo_id AND live.bucket = r.bucket_start " +
+            "SET r.score_sum = 0, r.scored_count = 0 " +
+            "WHERE r.bucket_start >= :from AND live.author_id IS NULL AND r.scored_count <> 0";
+
+    private static final String HOUR_BUCKET = "TIMESTAMP(DATE_FORMAT(committed_at, '%Y-%m-%d %H:00:00'))";
+    private static final String DAY_BUCKET = "TIMESTAMP(DATE(committed_at))";
+
+    public record UserScore(long userId, long totalScore) {
+    }
+
+    // Called with the same deltas that move the user/repo counters, inside the same transaction
+    public void applyDelta(Long userId, String repoId, LocalDateTime committedAt, long scoreDelta, long countDelta) {
+        if (committedAt == null || (scoreDelta == 0 && countDelta == 0)) {
+            return;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("repoId", repoId)
+                .addValue("scoreDelta", scoreDelta)
+                .addValue("countDelta", countDelta);
+        jdbcTemplate.update(String.format(UPSERT_SQL, "score_rollup_hourly"),
+                params.addValue("bucket", committedAt.truncatedTo(ChronoUnit.HOURS)));
+        jdbcTemplate.update(String.format(UPSERT_SQL, "score_rollup_daily"),
+                params.addValue("bucket", committedAt.truncatedTo(ChronoUnit.DAYS)));
+    }
+
+    // Recomputes every bucket from `from` on (null = everything) from the commits table
+    @Transactional
+    public void rebuildSince(LocalDateTime from) {
+        // Whole days, so the daily buckets at the boundary are complete
+        LocalDateTime bucketFrom = from != null ? from.truncatedTo(ChronoUnit.DAYS) : LocalDateTime.of(1970, 1, 1, 0, 0);
+        MapSqlParameterSource params = new MapSqlParameterSource("from", bucketFrom);
+
+        jdbcTemplate.update(String.format(CLEAR_STALE_SQL, "score_rollup_hourly", HOUR_BUCKET), params);
+        jdbcTemplate.update(String.format(CLEAR_STALE_SQL, "score_rollup_daily", DAY_BUCKET), params);
+        int hourly = jdbcTemplate.update(String.format(REBUILD_SQL, "score_rollup_hourly", HOUR_BUCKET), params);
+        int daily = jdbcTemplate.update(String.format(REBUILD_SQL, "score_rollup_daily", DAY_BUCKET), params);
+        log.info("Rebuilt score rollups since {}: {} hourly, {} daily buckets", bucketFrom, hourly, daily);
+    }
+
+    // First start after the tables were introduced
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        try {
+            List<Integer> any = jdbcTemplate.queryForList("SELECT 1 FROM score_rollup_daily LIMIT 1",
+                    new MapSqlParameterSource(), Integer.class);
+            if (any.isEmpty()) {
+                rebuildSince(null);
+            }
+        } catch (Exception e) {
+            log.error("Failed to backfill score rollups", e);
+        }
+    }
+
+    // Per-user totals over whole days [fromDay, toDay) from the daily table; null bounds are open
+    public List<UserScore> dailyTotalsByUser(LocalDate fromDay, LocalDate toDay) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("from", fromDay != null ? fromDay.atStartOfDay() : LocalDateTime.of(1970, 1, 1, 0, 0))
+                .addValue("to", toDay != null ? toDay.atStartOfDay() : LocalDateTime.of(9999, 1, 1, 0, 0));
+        return jdbcTemplate.query("SELECT user_id, SUM(score_sum) FROM score_rollup_daily " +
+                "WHERE bucket_start >= :from AND bucket_start < :to GROUP BY user_id HAVING SUM(scored_count) > 0",
+                params, (rs, rowNum) -> new UserScore(rs.getLong(1), rs.getLong(2)));
+    }
+
+    // Users ranked by summed score in [start, end), optionally restricted to repos and/or users
+    public List<UserScore> rankUsers(LocalDateTime start, LocalDateTime end, Collection<String> repoIds,
+            Collection<Long> userIds, int offset, int limit) {
+        LocalDateTime hourFrom = start.truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime hourTo = end.truncatedTo(ChronoUnit.HOURS).plusHours(1);
+        LocalDateTime dayFrom = hourFrom.truncatedTo(ChronoUnit.DAYS);
+        if (dayFrom.isBefore(hourFrom)) {
+            dayFrom = dayFrom.plusDays(1);
+        }
+        LocalDateTime dayTo = hourTo.truncatedTo(ChronoUnit.DAYS);
+        if (!dayFrom.isBefore(dayTo)) {
+            // No whole day inside the window: hourly buckets only
+            dayFrom = hourTo;
+            dayTo = hourTo;
+        }
+
+        StringBuilder filter = new StringBuilder();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("hourFrom", hourFrom)
+                .addValue("hourTo", hourTo)
+                .addValue("dayFrom", dayFrom)
+                .addValue("dayTo", dayTo)
+                .addValue("offset", offset)
+                .addValue("limit", limit);
+        if (repoIds != null) {
+            filter.append(" AND repo_id IN (:repoIds)");
+            params.addValue("repoIds", repoIds);
+        }
+        if (userIds != null) {
+            filter.append(" AND user_id IN (:userIds)");
+            params.addValue("userIds", userIds);
+        }
+
+        String sql = "SELECT user_id, SUM(score_sum) AS total FROM (" +
+                "SELECT user_id, score_sum, scored_count FROM score_rollup_daily " +
+                "WHERE bucket_start >= :dayFrom AND bucket_start < :dayTo" + filter +
+                " UNION ALL " +
+                "SELECT user_id, score_sum, scored_count FROM score_rollup_hourly " +
+                "WHERE ((bucket_start >= :hourFrom AND bucket_start < :dayFrom) " +
+                "OR (bucket_start >= :dayTo AND bucket_start < :hourTo))" + filter +
+                ") b GROUP BY user_id HAVING SUM(scored_count) > 0 " +
+                "ORDER BY total DESC, user_id LIMIT :limit OFFSET :offset";
+
+        return jdbcTemplate.query(sql, params, (rs, rowNum) -> new UserScore(rs.getLong(1), rs.getLong(2)));
+    }
+}
@@ -5,10 +5,14 @@ import com.backend.githubanalyzer.domain.repository.dto.GithubRepositoryResponse
 import com.backend.githubanalyzer.domain.repository.dto.RepositoryMetricResponse;
 import com.backend.githubanalyzer.domain.sync.service.GithubPersistenceService;
 import com.backend.githubanalyzer.domain.sync.service.GithubSyncService;
+import com.backend.githubanalyzer.global.cache.VersionStampService;
 import com.backend.githubanalyzer.global.dto.ApiResponse;
+import com.backend.githubanalyzer.global.dto.PageResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -20,6 +24,7 @@ public class GithubRepositoryController {
 
     private final GithubPersistenceService githubPersistenceService;
     private final GithubSyncService githubSyncService;
+    private final VersionStampService versionStampService;
 
     @io.swagger.v3.oas.annotations.Operation(summary = "Get Repository Details (레포지토리 상세 조회)", description = "레포지토리의 기본 정보, 언어 통계, 설명 등을 조회합니다.")
     @GetMapping("/{repoId}")
@@ -33,18 +38,24 @@ public class GithubRepositoryController {
 
     @io.swagger.v3.oas.annotations.Operation(summary = "Get Repository Metrics (레포지토리 통계)", description = "커밋 수, 이슈 수, 스타 수 등 레포지토리의 주요 지표를 조회합니다.")
     @GetMapping("/{repoId}/metrics")
-    public ResponseEntity<ApiResponse<RepositoryMetricResponse>> getMetrics(@PathVariable String repoId) {
+    public ResponseEntity<ApiResponse<RepositoryMetricResponse>> getMetrics(@PathVariable String repoId,
+            WebRequest webRequest) {
+        if (webRequest.checkNotModified(versionStampService.etag("metrics", VersionStampService.repo(repoId)))) {
+            return null;
+        }
         RepositoryMetricResponse metrics = githubPersistenceService.getRepositoryMetrics(repoId);
         if (metrics == null) {
             return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.ok(ApiResponse.success(metrics));
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate()).body(ApiResponse.success(metrics));
     }
 
-    @io.swagger.v3.oas.annotations.Operation(summary = "Get Contributors (기여자 목록 조회)", description = "해당 레포지토리의 기여자 목록을 커밋 수/점수 기준으로 정렬하여 반환합니다.")
+    @io.swagger.v3.oas.annotations.Operation(summary = "Get Contributors (기여자 목록 조회)", description = "해당 레포지토리의 기여자 목록을 레포 내 점수 기준으로 정렬하여 페이지 단위로 반환합니다.")
     @GetMapping("/{repoId}/contributors")
-    public ResponseEntity<ApiResponse<List<ContributorResponse>>> getContributors(@PathVariable String repoId) {
-        List<ContributorResponse> contributors = githubPersistenceService.getContributors(repoId);
+    public ResponseEntity<ApiResponse<PageResponse<ContributorResponse>>> getContributors(@PathVariable String repoId,
+            @io.swagger.v3.oas.annotations.Parameter(description = "페이지 번호 (0부터)", example = "0") @RequestParam(defaultValue = "0") int page,
+            @io.swagger.v3.oas.annotations.Parameter(description = "페이지 크기", example = "20") @RequestParam(defaultValue = "" + GithubPersistenceService.CONTRIBUTORS_PAGE_SIZE) int size) {
+        PageResponse<ContributorResponse> contributors = githubPersistenceService.getContributors(repoId, page, size);
         return ResponseEntity.ok(ApiResponse.success(contributors));
     }
 
@@ -66,9 +77,11 @@ public class GithubRepositoryController {
 
     @io.swagger.v3.oas.annotations.Operation(summary = "Get Commits by Branch (브랜치별 커밋 조회)", description = "특정 브랜치의 커밋 목록을 최신순으로 조회합니다.")
     @GetMapping("/{repoId}/branches/{branchName}/commits")
-    public ResponseEntity<ApiResponse<List<com.backend.githubanalyzer.domain.commit.dto.CommitResponse>>> getValCommitsByBranch(
+    public ResponseEntity<ApiResponse<com.backend.githubanalyzer.global.dto.CursorPageResponse<com.backend.githubanalyzer.domain.commit.dto.CommitResponse>>> getValCommitsByBranch(
             @PathVariable String repoId,
-            @PathVariable String branchName) {
-        return ResponseEntity.ok(ApiResponse.success(githubSyncService.getCommitsByBranch(repoId, branchName)));
+            @PathVariable String branchName,
+            @io.swagger.v3.oas.annotations.Parameter(description = "이전 응답의 nextCursor (첫 페이지는 생략)") @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "30") int size) {
+        return ResponseEntity.ok(ApiResponse.success(githubSyncService.getCommitsByBranch(repoId, branchName, cursor, size)));
     }
 }
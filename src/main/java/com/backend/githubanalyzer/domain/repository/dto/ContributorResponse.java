@@ -3,9 +3,11 @@ package com.backend.githubanalyzer.domain.repository.dto;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 
 @Getter
 @Builder
+@NoArgsConstructor
 @AllArgsConstructor
 public class ContributorResponse {
     private String username;
@@ -1,13 +1,17 @@
 package com.backend.githubanalyzer.domain.repository.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Getter
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class GithubRepositoryResponse {
     private String id;
     private String reponame;
@@ -9,4 +9,5 @@ public class RepositoryBranchResponse {
     private String name;
     private String lastCommitSha;
     private Long commitCount;
+    private java.time.LocalDateTime lastCommittedAt;
 }
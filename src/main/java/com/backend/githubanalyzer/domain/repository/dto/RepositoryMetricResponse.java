@@ -3,9 +3,11 @@ package com.backend.githubanalyzer.domain.repository.dto;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 
 @Getter
 @Builder
+@NoArgsConstructor
 @AllArgsConstructor
 @io.swagger.v3.oas.annotations.media.Schema(description = "레포지토리 통계 응답")
 public class RepositoryMetricResponse {
@@ -57,14 +57,23 @@ public class GithubRepository {
     @Builder.Default
     private Long branchNum = 0L;
 
-    @Column(name = "commit_count", nullable = false)
+    // Counters owned by ScoreAggregationService; saving a repository loaded earlier must not write them back
+    @Column(name = "commit_count", nullable = false, updatable = false)
     @Builder.Default
     private Long commitCount = 0L;
 
-    @Column(name = "score", nullable = false)
+    @Column(name = "score", nullable = false, updatable = false)
     @Builder.Default
     private Long score = 0L;
 
+    @Column(name = "score_sum", nullable = false, updatable = false)
+    @Builder.Default
+    private Long scoreSum = 0L;
+
+    @Column(name = "scored_count", nullable = false, updatable = false)
+    @Builder.Default
+    private Long scoredCount = 0L;
+
     @Column(name = "sync_status")
     private String syncStatus; // PENDING, RUNNING, COMPLETED, FAILED
 
@@ -2,6 +2,9 @@ package com.backend.githubanalyzer.domain.repository.repository;
 
 import com.backend.githubanalyzer.domain.repository.entity.GithubRepository;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -14,7 +17,18 @@ public interface GithubRepositoryRepository extends JpaRepository<GithubReposito
 
     List<GithubRepository> findAllByOwnerId(Long ownerId);
 
-    List<GithubRepository> findAllByReponameContainingIgnoreCase(String reponame);
-
     long countBySyncStatus(String syncStatus);
+
+    // Incremental aggregates (MySQL evaluates single-table SET left to right, so score sees the new counters)
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE repositories SET score_sum = score_sum + :scoreDelta, scored_count = scored_count + :countDelta, " +
+            "commit_count = commit_count + :commitDelta, " +
+            "score = IF(scored_count > 0, score_sum DIV scored_count, 0) " +
+            "WHERE id = :repoId", nativeQuery = true)
+    int applyScoreDelta(@Param("repoId") String repoId, @Param("scoreDelta") long scoreDelta,
+            @Param("countDelta") long countDelta, @Param("commitDelta") long commitDelta);
+
+    // Keyset slice for the rotating reconciliation pass
+    @Query("SELECT r.id FROM GithubRepository r WHERE r.id > :after ORDER BY r.id")
+    List<String> findIdsAfter(@Param("after") String after, org.springframework.data.domain.Limit limit);
 }
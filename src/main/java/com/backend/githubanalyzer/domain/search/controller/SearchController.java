@@ -1,26 +1,50 @@
 package com.backend.githubanalyzer.domain.search.controller;
 
+import com.backend.githubanalyzer.domain.search.dto.TypeaheadSuggestion;
 import com.backend.githubanalyzer.domain.search.dto.UnifiedSearchResponse;
 import com.backend.githubanalyzer.domain.search.service.SearchService;
+import com.backend.githubanalyzer.domain.search.service.TypeaheadIndex;
 import com.backend.githubanalyzer.global.dto.ApiResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/search")
 @RequiredArgsConstructor
 @io.swagger.v3.oas.annotations.tags.Tag(name = "Search", description = "통합 검색 API")
 public class SearchController {
     private final SearchService searchService;
+    private final TypeaheadIndex typeaheadIndex;
+
+    @org.springframework.beans.factory.annotation.Value("${search.typeahead.max-limit:20}")
+    private int typeaheadMaxLimit;
 
     @io.swagger.v3.oas.annotations.Operation(summary = "Integrated Search (통합 검색)", description = "사용자, 레포지토리, 팀 등을 한번에 검색합니다.<br>"
             +
-            "**Type**: `ALL` (전체), `USER` (유저), `REPOSITORY` (레포), `TEAM` (팀)")
+            "**Type**: `ALL` (전체), `USER` (유저), `REPOSITORY` (레포), `TEAM` (팀), `SPRINT` (스프린트), `COMMIT` (커밋)<br>"
+            +
+            "결과는 관련도 순으로 정렬되며, 타입별로 `page`/`size` 단위 페이지와 `hasNext`를 반환합니다. 검색어는 2자 이상이어야 합니다.")
     @GetMapping
     public ResponseEntity<ApiResponse<UnifiedSearchResponse>> search(
             @RequestParam(required = false, defaultValue = "") String q,
-            @RequestParam(required = false, defaultValue = "ALL") String type) {
-        return ResponseEntity.ok(ApiResponse.success(searchService.search(q, type)));
+            @RequestParam(required = false, defaultValue = "ALL") String type,
+            @RequestParam(required = false, defaultValue = "0") int page,
+            @RequestParam(required = false, defaultValue = "10") int size) {
+        return ResponseEntity.ok(ApiResponse.success(searchService.search(q, type, page, size)));
+    }
+
+    @io.swagger.v3.oas.annotations.Operation(summary = "Typeahead (자동완성)", description = "입력한 접두어로 시작하는 유저, 레포지토리, 공개 팀/스프린트 이름을 반환합니다.<br>"
+            +
+            "키 입력마다 호출하는 용도이며, 통합 검색과 달리 DB를 조회하지 않습니다.")
+    @GetMapping("/typeahead")
+    public ResponseEntity<ApiResponse<List<TypeaheadSuggestion>>> typeahead(
+            @RequestParam(required = false, defaultValue = "") String q,
+            @RequestParam(required = false, defaultValue = "ALL") String type,
+            @RequestParam(required = false, defaultValue = "10") int limit) {
+        return ResponseEntity.ok(ApiResponse.success(
+                typeaheadIndex.suggest(q, type, Math.min(limit, typeaheadMaxLimit))));
     }
 }
@@ -0,0 +1,12 @@
+package com.backend.githubanalyzer.domain.search.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class TypeaheadSuggestion {
+    private String type; // USER, REPOSITORY, TEAM, SPRINT
+    private String id;
+    private String name;
+}
@@ -3,6 +3,7 @@ package com.backend.githubanalyzer.domain.search.dto;
 import lombok.Builder;
 import lombok.Getter;
 import java.util.List;
+import java.util.Map;
 
 @Getter
 @Builder
@@ -56,4 +57,7 @@ public class UnifiedSearchResponse {
     }
 
     private List<CommitSearchResult> commits;
+
+    // Per type (USER, REPOSITORY, TEAM, SPRINT, COMMIT): whether page + 1 has results
+    private Map<String, Boolean> hasNext;
 }
@@ -1,88 +1,141 @@
 package com.backend.githubanalyzer.domain.search.service;
 
 import com.backend.githubanalyzer.domain.search.dto.UnifiedSearchResponse;
-import com.backend.githubanalyzer.domain.user.repository.UserRepository;
-import com.backend.githubanalyzer.domain.repository.repository.GithubRepositoryRepository;
-import com.backend.githubanalyzer.domain.team.repository.TeamRepository;
-import com.backend.githubanalyzer.domain.sprint.repository.SprintRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.stream.Collectors;
+import java.sql.Timestamp;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
+// Relevance-ranked search over the FULLTEXT (ngram) indexes from db/migration/V1__search_fulltext_indexes.sql.
+// Each type returns its own top `size` hits for the requested page, plus whether more exist.
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class SearchService {
-        private final UserRepository userRepository;
-        private final GithubRepositoryRepository repoRepository;
-        private final TeamRepository teamRepository;
-        private final SprintRepository sprintRepository;
-        private final com.backend.githubanalyzer.domain.commit.repository.CommitRepository commitRepository;
+
+        // :q is bound as one quoted phrase, so +, -, *, (, ), ~, <, > and @ in user input are plain text
+        private static final String MATCH = "MATCH(%s) AGAINST (:q IN BOOLEAN MODE)";
+
+        private final NamedParameterJdbcTemplate jdbcTemplate;
+
+        @Value("${search.max-page-size:50}")
+        private int maxPageSize;
+
+        // Below the ngram token size nothing can match
+        @Value("${search.min-query-length:2}")
+        private int minQueryLength;
 
         @Transactional(readOnly = true)
-        public UnifiedSearchResponse search(String query, String type) {
+        public UnifiedSearchResponse search(String query, String type, int page, int size) {
                 UnifiedSearchResponse.UnifiedSearchResponseBuilder builder = UnifiedSearchResponse.builder();
+                Map<String, Boolean> hasNext = new LinkedHashMap<>();
+                // A '"' would close the phrase early; it's the only operator left inside one
+                String q = query != null ? query.replace("\"", " ").trim() : "";
+                if (q.length() < minQueryLength) {
+                        return builder.hasNext(hasNext).build();
+                }
 
-                System.out.println("[SearchService] Querying for: " + query + " (type: " + type + ")");
+                int pageSize = Math.max(1, Math.min(size, maxPageSize));
+                MapSqlParameterSource params = new MapSqlParameterSource()
+                                .addValue("q", "\"" + q + "\"")
+                                .addValue("limit", pageSize + 1)
+                                .addValue("offset", (long) Math.max(page, 0) * pageSize);
+                long started = System.currentTimeMillis();
 
                 if (type == null || type.equals("ALL") || type.equals("USER")) {
-                        var users = userRepository.findAllByUsernameContainingIgnoreCase(query);
-                        System.out.println("[SearchService] Found " + users.size() + " users");
-                        builder.users(users.stream()
-                                        .map(u -> UnifiedSearchResponse.UserSearchResult.builder()
-                                                        .id(u.getId())
-                                                        .username(u.getUsername())
-                                                        .profileUrl(u.getProfileUrl())
-                                                        .build())
-                                        .collect(Collectors.toList()));
+                        builder.users(topK("USER", hasNext, pageSize, params,
+                                        "SELECT id, username, profile_url FROM `user` WHERE " + match("username") +
+                                                        " ORDER BY " + match("username") + " DESC, id",
+                                        (rs, i) -> UnifiedSearchResponse.UserSearchResult.builder()
+                                                        .id(rs.getLong("id"))
+                                                        .username(rs.getString("username"))
+                                                        .profileUrl(rs.getString("profile_url"))
+                                                        .build()));
                 }
 
                 if (type == null || type.equals("ALL") || type.equals("REPO") || type.equals("REPOSITORY")) {
-                        var repos = repoRepository.findAllByReponameContainingIgnoreCase(query);
-                        System.out.println("[SearchService] Found " + repos.size() + " repositories");
-                        builder.repositories(repos.stream()
-                                        .map(r -> UnifiedSearchResponse.RepoSearchResult.builder()
-                                                        .id(r.getId())
-                                                        .reponame(r.getReponame())
-                                                        .description(r.getDescription())
-                                                        .build())
-                                        .collect(Collectors.toList()));
+                        builder.repositories(topK("REPOSITORY", hasNext, pageSize, params,
+                                        "SELECT id, reponame, description FROM repositories WHERE " +
+                                                        match("reponame, description") + " ORDER BY " +
+                                                        match("reponame, description") + " DESC, id",
+                                        (rs, i) -> UnifiedSearchResponse.RepoSearchResult.builder()
+                                                        .id(rs.getString("id"))
+                                                        .reponame(rs.getString("reponame"))
+                                                        .description(rs.getString("description"))
+                                                        .build()));
                 }
 
                 if (type == null || type.equals("ALL") || type.equals("TEAM")) {
-                        builder.teams(teamRepository.findAllByNameContainingIgnoreCase(query).stream()
-                                        .map(t -> UnifiedSearchResponse.TeamSearchResult.builder()
-                                                        .id(t.getId())
-                                                        .name(t.getName())
-                                                        .description(t.getDescription())
-                                                        .build())
-                                        .collect(Collectors.toList()));
+                        builder.teams(topK("TEAM", hasNext, pageSize, params,
+                                        "SELECT team_id, team_name, description FROM teams WHERE " +
+                                                        match("team_name, description") + " ORDER BY " +
+                                                        match("team_name, description") + " DESC, team_id",
+                                        (rs, i) -> UnifiedSearchResponse.TeamSearchResult.builder()
+                                                        .id(rs.getString("team_id"))
+                                                        .name(rs.getString("team_name"))
+                                                        .description(rs.getString("description"))
+                                                        .build()));
                 }
 
                 if (type == null || type.equals("ALL") || type.equals("SPRINT")) {
-                        builder.sprints(sprintRepository.findAllByNameContainingIgnoreCase(query).stream()
-                                        .map(s -> UnifiedSearchResponse.SprintSearchResult.builder()
-                                                        .id(s.getId())
-                                                        .name(s.getName())
-                                                        .description(s.getDescription())
-                                                        .build())
-                                        .collect(Collectors.toList()));
+                        builder.sprints(topK("SPRINT", hasNext, pageSize, params,
+                                        "SELECT sprint_id, sprint_name, description FROM sprints WHERE " +
+                                                        match("sprint_name, description") + " ORDER BY " +
+                                                        match("sprint_name, description") + " DESC, sprint_id",
+                                        (rs, i) -> UnifiedSearchResponse.SprintSearchResult.builder()
+                                                        .id(rs.getString("sprint_id"))
+                                                        .name(rs.getString("sprint_name"))
+                                                        .description(rs.getString("description"))
+                                                        .build()));
                 }
 
                 if (type == null || type.equals("ALL") || type.equals("COMMIT")) {
-                        builder.commits(commitRepository.findByMessageContainingIgnoreCase(query).stream()
-                                        .map(c -> UnifiedSearchResponse.CommitSearchResult.builder()
-                                                        .sha(c.getId().getCommitSha())
-                                                        .message(c.getMessage())
-                                                        .repoId(c.getRepository().getId())
-                                                        .repoName(c.getRepository().getReponame())
-                                                        .authorName(c.getAuthor().getUsername())
-                                                        .committedAt(c.getCommittedAt())
-                                                        .build())
-                                        .collect(Collectors.toList()));
+                        // Branch copies share a SHA: one hit per (repo, sha). The page is cut after the joins so a
+                        // hit whose repo or author row is gone doesn't shrink it
+                        builder.commits(topK("COMMIT", hasNext, pageSize, params,
+                                        "SELECT m.commit_sha, m.repo_id, r.reponame, u.username, m.message, m.committed_at FROM (" +
+                                                        "SELECT commit_sha, repo_id, ANY_VALUE(message) AS message, " +
+                                                        "ANY_VALUE(committed_at) AS committed_at, ANY_VALUE(author_id) AS author_id, " +
+                                                        "MAX(" + match("message") + ") AS relevance " +
+                                                        "FROM commits WHERE " + match("message") + " GROUP BY repo_id, commit_sha) m " +
+                                                        "JOIN repositories r ON r.id = m.repo_id JOIN `user` u ON u.id = m.author_id " +
+                                                        "ORDER BY m.relevance DESC, m.committed_at DESC, m.repo_id, m.commit_sha",
+                                        (rs, i) -> {
+                                                Timestamp committedAt = rs.getTimestamp("committed_at");
+                                                return UnifiedSearchResponse.CommitSearchResult.builder()
+                                                                .sha(rs.getString("commit_sha"))
+                                                                .message(rs.getString("message"))
+                                                                .repoId(rs.getString("repo_id"))
+                                                                .repoName(rs.getString("reponame"))
+                                                                .authorName(rs.getString("username"))
+                                                                .committedAt(committedAt != null ? committedAt.toLocalDateTime() : null)
+                                                                .build();
+                                        }));
                 }
 
-                return builder.build();
+                log.debug("Search '{}' (type: {}, page: {}) took {} ms", q, type, page,
+                                System.currentTimeMillis() - started);
+                return builder.hasNext(hasNext).build();
+        }
+
+        private String match(String columns) {
+                return String.format(MATCH, columns);
+        }
+
+        // The SQL fetches pageSize + 1 rows; the extra one only sets hasNext
+        private <T> List<T> topK(String type, Map<String, Boolean> hasNext, int pageSize, MapSqlParameterSource params,
+                        String sql, RowMapper<T> mapper) {
+                List<T> rows = jdbcTemplate.query(sql + " LIMIT :limit OFFSET :offset", params, mapper);
+                hasNext.put(type, rows.size() > pageSize);
+                return rows.size() > pageSize ? rows.subList(0, pageSize) : rows;
         }
 }
@@ -0,0 +1,117 @@
+package com.backend.githubanalyzer.domain.search.service;
+
+import com.backend.githubanalyzer.domain.repository.entity.GithubRepository;
+import com.backend.githubanalyzer.domain.sprint.entity.Sprint;
+import com.backend.githubanalyzer.domain.team.entity.Team;
+import com.backend.githubanalyzer.domain.user.entity.User;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+// Keeps TypeaheadIndex in step with creates, renames, visibility changes and deletes, after commit.
+// Updates re-put the current name; a team or sprint that became private is removed instead.
+@Component
+@RequiredArgsConstructor
+public class TypeaheadEntityListener implements PostCommitInsertEventListener,
+        PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private static final Set<Class<?>> TRACKED = Set.of(User.class, GithubRepository.class, Team.class,
+            Sprint.class);
+    private static final Set<String> INDEXED_PROPERTIES = Set.of("username", "reponame", "name", "isPublic",
+            "isPrivate");
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final TypeaheadIndex typeaheadIndex;
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getEventListenerRegistry();
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return TRACKED.contains(persister.getMappedClass());
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        put(event.getEntity());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        // Most updates are score/sync bookkeeping; only name or visibility changes touch the index
+        int[] dirty = event.getDirtyProperties();
+        if (dirty != null && event.getOldState() != null) {
+            String[] names = event.getPersister().getPropertyNames();
+            boolean relevant = false;
+            for (int i : dirty) {
+                if (INDEXED_PROPERTIES.contains(names[i])) {
+                    relevant = true;
+                    break;
+                }
+            }
+            if (!relevant) {
+                return;
+            }
+        }
+        put(event.getEntity());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        Object entity = event.getEntity();
+        if (entity instanceof User user) {
+            typeaheadIndex.remove(TypeaheadIndex.USER, String.valueOf(user.getId()));
+        } else if (entity instanceof GithubRepository repository) {
+            typeaheadIndex.remove(TypeaheadIndex.REPOSITORY, repository.getId());
+        } else if (entity instanceof Team team) {
+            typeaheadIndex.remove(TypeaheadIndex.TEAM, team.getId());
+        } else if (entity instanceof Sprint sprint) {
+            typeaheadIndex.remove(TypeaheadIndex.SPRINT, sprint.getId());
+        }
+    }
+
+    private void put(Object entity) {
+        if (entity instanceof User user) {
+            typeaheadIndex.put(TypeaheadIndex.USER, String.valueOf(user.getId()), user.getUsername());
+        } else if (entity instanceof GithubRepository repository) {
+            typeaheadIndex.put(TypeaheadIndex.REPOSITORY, repository.getId(), repository.getReponame());
+        } else if (entity instanceof Team team) {
+            if (Boolean.FALSE.equals(team.getIsPublic())) {
+                typeaheadIndex.remove(TypeaheadIndex.TEAM, team.getId());
+            } else {
+                typeaheadIndex.put(TypeaheadIndex.TEAM, team.getId(), team.getName());
+            }
+        } else if (entity instanceof Sprint sprint) {
+            if (Boolean.TRUE.equals(sprint.getIsPrivate())) {
+                typeaheadIndex.remove(TypeaheadIndex.SPRINT, sprint.getId());
+            } else {
+                typeaheadIndex.put(TypeaheadIndex.SPRINT, sprint.getId(), sprint.getName());
+            }
+        }
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+}
@@ -0,0 +1,212 @@
+package com.backend.githubanalyzer.domain.search.service;
+
+import com.backend.githubanalyzer.domain.search.dto.TypeaheadSuggestion;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+// Per-node prefix index for the search box. One sorted map per type, keyed by
+// "{lowercased name}\0{id}", so a prefix lookup is a subMap walk of at most `limit` entries.
+// Only visible names are held: private teams and sprints are never indexed.
+// Changes arrive from TypeaheadEntityListener after commit and are broadcast so every node applies them;
+// messages are "{nodeId}|{PUT|REMOVE}|{type}|{id}|{name}" (name last, it may contain '|').
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TypeaheadIndex {
+
+    public static final String USER = "USER";
+    public static final String REPOSITORY = "REPOSITORY";
+    public static final String TEAM = "TEAM";
+    public static final String SPRINT = "SPRINT";
+    private static final List<String> TYPES = List.of(USER, REPOSITORY, TEAM, SPRINT);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    @Value("${search.typeahead.channel:search:typeahead}")
+    private String channel;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private volatile Index current = new Index();
+    // Set while rebuild() loads; changes go to both so the swap can't drop them
+    private volatile Index pending;
+
+    private static class Index {
+        final Map<String, ConcurrentSkipListMap<String, TypeaheadSuggestion>> byType = new HashMap<>();
+        final Map<String, String> keys = new ConcurrentHashMap<>(); // "{type}:{id}" -> sorted-map key
+        final Set<String> touched = ConcurrentHashMap.newKeySet();
+
+        Index() {
+            TYPES.forEach(type -> byType.put(type, new ConcurrentSkipListMap<>()));
+        }
+
+        void put(String type, String id, String name) {
+            String ref = type + ":" + id;
+            String key = name.toLowerCase(Locale.ROOT) + '\0' + id;
+            String previous = keys.put(ref, key);
+            if (previous != null && !previous.equals(key)) {
+                byType.get(type).remove(previous);
+            }
+            byType.get(type).put(key, TypeaheadSuggestion.builder().type(type).id(id).name(name).build());
+        }
+
+        void remove(String type, String id) {
+            String previous = keys.remove(type + ":" + id);
+            if (previous != null) {
+                byType.get(type).remove(previous);
+            }
+        }
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(
+                (message, pattern) -> onMessage(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(channel));
+    }
+
+    public List<TypeaheadSuggestion> suggest(String prefix, String type, int limit) {
+        String p = prefix != null ? prefix.trim().toLowerCase(Locale.ROOT) : "";
+        if (p.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Index index = current;
+        List<TypeaheadSuggestion> result = new ArrayList<>();
+        if (type == null || type.equals("ALL")) {
+            // Top `limit` per type, then merged in name order
+            List<Map.Entry<String, TypeaheadSuggestion>> merged = new ArrayList<>();
+            for (String t : TYPES) {
+                merged.addAll(prefixRange(index, t, p, limit));
+            }
+            merged.sort(Map.Entry.comparingByKey());
+            merged.stream().limit(limit).forEach(e -> result.add(e.getValue()));
+        } else {
+            String t = type.equals("REPO") ? REPOSITORY : type;
+            if (!TYPES.contains(t)) {
+                throw new IllegalArgumentException("Unknown typeahead type: " + type);
+            }
+            prefixRange(index, t, p, limit).forEach(e -> result.add(e.getValue()));
+        }
+        return result;
+    }
+
+    private List<Map.Entry<String, TypeaheadSuggestion>> prefixRange(Index index, String type, String prefix,
+            int limit) {
+        List<Map.Entry<String, TypeaheadSuggestion>> hits = new ArrayList<>(limit);
+        for (Map.Entry<String, TypeaheadSuggestion> entry : index.byType.get(type)
+                .subMap(prefix, true, prefix + Character.MAX_VALUE, false).entrySet()) {
+            hits.add(entry);
+            if (hits.size() >= limit) {
+                break;
+            }
+        }
+        return hits;
+    }
+
+    // Called after commit on the node that made the change
+    public void put(String type, String id, String name) {
+        applyPut(type, id, name);
+        publish("PUT", type, id, name);
+    }
+
+    public void remove(String type, String id) {
+        applyRemove(type, id);
+        publish("REMOVE", type, id, "");
+    }
+
+    private void applyPut(String type, String id, String name) {
+        if (name == null || name.isBlank()) {
+            applyRemove(type, id);
+            return;
+        }
+        current.put(type, id, name);
+        Index building = pending;
+        if (building != null) {
+            building.touched.add(type + ":" + id);
+            building.put(type, id, name);
+        }
+    }
+
+    private void applyRemove(String type, String id) {
+        current.remove(type, id);
+        Index building = pending;
+        if (building != null) {
+            building.touched.add(type + ":" + id);
+            building.remove(type, id);
+        }
+    }
+
+    private void publish(String op, String type, String id, String name) {
+        try {
+            stringRedisTemplate.convertAndSend(channel, String.join("|", nodeId, op, type, id, name));
+        } catch (Exception e) {
+            // Other nodes catch up on their next rebuild
+            log.warn("Failed to publish typeahead {} for {} {}: {}", op, type, id, e.getMessage());
+        }
+    }
+
+    void onMessage(String message) {
+        String[] parts = message.split("\\|", 5);
+        if (parts.length < 5 || nodeId.equals(parts[0]) || !TYPES.contains(parts[2])) {
+            return;
+        }
+        if ("PUT".equals(parts[1])) {
+            applyPut(parts[2], parts[3], parts[4]);
+        } else if ("REMOVE".equals(parts[1])) {
+            applyRemove(parts[2], parts[3]);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        rebuild();
+    }
+
+    // Safety net for missed broadcasts; every node rebuilds its own copy
+    @Scheduled(fixedDelayString = "${search.typeahead.rebuild-interval-ms:3600000}", initialDelay = 3600000)
+    public synchronized void rebuild() {
+        long started = System.currentTimeMillis();
+        Index building = new Index();
+        pending = building;
+        try {
+            load(building, USER, "SELECT id, username FROM `user`");
+            load(building, REPOSITORY, "SELECT id, reponame FROM repositories");
+            load(building, TEAM, "SELECT team_id, team_name FROM teams WHERE is_public = TRUE");
+            load(building, SPRINT, "SELECT sprint_id, sprint_name FROM sprints WHERE is_private = FALSE");
+            current = building;
+            log.info("Typeahead index rebuilt with {} entries in {} ms", building.keys.size(),
+                    System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            log.error("Failed to rebuild typeahead index", e);
+        } finally {
+            pending = null;
+        }
+    }
+
+    private void load(Index building, String type, String sql) {
+        jdbcTemplate.query(sql, rs -> {
+            String id = rs.getString(1);
+            String name = rs.getString(2);
+            // A change that arrived during the load is newer than the row we just read
+            if (name != null && !building.touched.contains(type + ":" + id)) {
+                building.put(type, id, name);
+            }
+        });
+    }
+}
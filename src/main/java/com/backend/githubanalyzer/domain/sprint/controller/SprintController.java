@@ -7,10 +7,12 @@ import com.backend.githubanalyzer.domain.sprint.service.SprintService;
 
 import com.backend.githubanalyzer.domain.user.entity.User;
 import com.backend.githubanalyzer.domain.user.repository.UserRepository;
+import com.backend.githubanalyzer.global.cache.VersionStampService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -22,6 +24,7 @@ public class SprintController {
 
     private final SprintService sprintService;
     private final UserRepository userRepository;
+    private final VersionStampService versionStampService;
 
     @io.swagger.v3.oas.annotations.Operation(summary = "Create Sprint (스프린트 생성)", description = "새로운 스프린트를 생성합니다.")
     @PostMapping
@@ -54,16 +57,31 @@ public class SprintController {
     @GetMapping("/{sprintId}/ranking")
     public ResponseEntity<com.backend.githubanalyzer.global.dto.ApiResponse<List<?>>> getSprintRankings(
             @PathVariable String sprintId,
-            @io.swagger.v3.oas.annotations.Parameter(description = "랭킹 타입 (TEAM, INDIVIDUAL). Default: TEAM") @RequestParam(required = false, defaultValue = "TEAM") String type) {
+            @io.swagger.v3.oas.annotations.Parameter(description = "랭킹 타입 (TEAM, INDIVIDUAL). Default: TEAM") @RequestParam(required = false, defaultValue = "TEAM") String type,
+            WebRequest webRequest) {
 
+        if (webRequest.checkNotModified(versionStampService.etag("INDIVIDUAL".equalsIgnoreCase(type) ? "INDIVIDUAL" : "TEAM",
+                VersionStampService.sprint(sprintId)))) {
+            return null;
+        }
+        org.springframework.http.CacheControl cacheControl = org.springframework.http.CacheControl.noCache().cachePrivate();
         if ("INDIVIDUAL".equalsIgnoreCase(type)) {
-            return ResponseEntity.ok(com.backend.githubanalyzer.global.dto.ApiResponse
+            return ResponseEntity.ok().cacheControl(cacheControl).body(com.backend.githubanalyzer.global.dto.ApiResponse
                     .success(sprintService.getSprintIndividualRankings(sprintId)));
         }
-        return ResponseEntity.ok(
+        return ResponseEntity.ok().cacheControl(cacheControl).body(
                 com.backend.githubanalyzer.global.dto.ApiResponse.success(sprintService.getSprintRankings(sprintId)));
     }
 
+    @io.swagger.v3.oas.annotations.Operation(summary = "Rebuild Sprint Rankings (스프린트 랭킹 재계산)", description = "스프린트 랭킹을 DB 기준으로 다시 계산합니다. 매니저만 가능합니다.")
+    @PostMapping("/{sprintId}/ranking/rebuild")
+    public ResponseEntity<com.backend.githubanalyzer.global.dto.ApiResponse<Void>> rebuildSprintRankings(
+            @PathVariable String sprintId) {
+        User currentUser = getCurrentUser();
+        sprintService.rebuildStandings(sprintId, currentUser.getId());
+        return ResponseEntity.ok(com.backend.githubanalyzer.global.dto.ApiResponse.success(null));
+    }
+
     @io.swagger.v3.oas.annotations.Operation(summary = "Update Sprint (스프린트 수정)", description = "스프린트 정보를 수정합니다. 매니저만 가능합니다.")
     @PutMapping("/{sprintId}")
     public ResponseEntity<com.backend.githubanalyzer.global.dto.ApiResponse<com.backend.githubanalyzer.domain.sprint.dto.SprintResponse>> updateSprint(
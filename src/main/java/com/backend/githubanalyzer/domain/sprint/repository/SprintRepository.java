@@ -10,9 +10,10 @@ import java.util.List;
 public interface SprintRepository extends JpaRepository<Sprint, String> {
     List<Sprint> findByIsPrivateFalse();
 
-    List<Sprint> findAllByNameContainingIgnoreCase(String name);
-
     List<Sprint> findByManagerId(Long managerId);
 
     org.springframework.data.domain.Page<Sprint> findByIsPrivateFalse(org.springframework.data.domain.Pageable pageable);
+
+    // Sprints running at the given time (pass the same value twice)
+    List<Sprint> findByStartDateBeforeAndEndDateAfter(java.time.LocalDateTime start, java.time.LocalDateTime end);
 }
@@ -30,6 +30,8 @@ public class SprintService {
     private final com.backend.githubanalyzer.global.webhook.WebhookService webhookService;
     private final com.backend.githubanalyzer.domain.team.repository.TeamHasRepoRepository teamHasRepoRepository;
     private final com.backend.githubanalyzer.domain.notification.service.NotificationService notificationService;
+    private final SprintStandingsService sprintStandingsService;
+    private final com.backend.githubanalyzer.domain.dashboard.service.UserProfileCacheEvictor userProfileCacheEvictor;
     // Injecting TeamHasRepoId is not needed as we can instantiate it or use findBy match
 
     public java.util.List<com.backend.githubanalyzer.domain.sprint.dto.SprintTeamRankingResponse> getSprintRankings(
@@ -47,58 +49,16 @@ public class SprintService {
             return new java.util.ArrayList<>();
         }
 
-        java.util.List<com.backend.githubanalyzer.domain.team.entity.TeamRegisterSprint> registrations = teamRegisterSprintRepository
-                .findAllBySprintId(sprintId);
-
-        // Filter: Only APPROVED teams should be in ranking
-        registrations = registrations.stream()
-                .filter(reg -> "APPROVED".equals(reg.getStatus()))
-                .collect(java.util.stream.Collectors.toList());
-
-        // Req 9: Time-bounded scoring
-        java.time.LocalDateTime effectiveEnd = now.isAfter(sprint.getEndDate()) ? sprint.getEndDate() : now;
-
-        // Recalculate or use stored score? Req implies we need to calculate based on
-        // repo score.
-        // For performance, we might want to use stored `reg.getScore()`, but we need to
-        // ensure it's up to date.
-        // Let's assume `reg.getScore()` is updated via SyncService or we calculate on
-        // fly here for accuracy.
-        // Given implementations: let's use the stored score for now, assuming
-        // SyncService updates `TeamRegisterSprint.score`.
-
-        // Correct approach based on Req 9: "Score of Repo".
-        // If we want real-time accuracy:
-        for (com.backend.githubanalyzer.domain.team.entity.TeamRegisterSprint reg : registrations) {
-            // Logic: Update score from Repository entity or calculation
-            if (reg.getRepository() != null) {
-                // For now, mapping Repository Score to Sprint Score directly.
-                // Ideally this should be "Score gained DURING Sprint".
-                // But detailed commit analysis is complex here.
-                // Using Repository Total Score as proxy based on current architecture,
-                // OR if `commitRepository` has `sumScore...` between dates.
-                Long score = commitRepository.sumTotalScoreByRepo(reg.getRepository().getId(), sprint.getStartDate(),
-                        effectiveEnd);
-                reg.setScore(score != null ? score : 0L);
-                // Note: We are not saving here to avoid write overhead on read, but for ranking
-                // we use calculated value.
-            }
-        }
+        // Materialized in Redis; APPROVED registrations only, scored inside the sprint window
+        return sprintStandingsService.getTeamStandings(sprintId);
+    }
 
-        registrations.sort((a, b) -> Long.compare(b.getScore(), a.getScore()));
-
-        java.util.List<com.backend.githubanalyzer.domain.sprint.dto.SprintTeamRankingResponse> rankings = new java.util.ArrayList<>();
-        long rank = 1;
-        for (com.backend.githubanalyzer.domain.team.entity.TeamRegisterSprint reg : registrations) {
-            long memberCount = userRegisterTeamRepository.countByTeamId(reg.getTeam().getId());
-            rankings.add(new com.backend.githubanalyzer.domain.sprint.dto.SprintTeamRankingResponse(
-                    rank++,
-                    reg.getTeam().getName(),
-                    reg.getScore(),
-                    reg.getCommitNum(),
-                    memberCount));
+    public void rebuildStandings(String sprintId, Long userId) {
+        Sprint sprint = getSprint(sprintId);
+        if (!sprint.getManager().getId().equals(userId)) {
+            throw new AccessDeniedException("Only Sprint Manager can rebuild the ranking.");
         }
-        return rankings;
+        sprintStandingsService.rebuild(sprintId);
     }
 
     public java.util.List<com.backend.githubanalyzer.domain.sprint.dto.SprintIndividualRankingResponse> getSprintIndividualRankings(
@@ -110,59 +70,7 @@ public class SprintService {
             return new java.util.ArrayList<>();
         }
 
-        java.time.LocalDateTime end = now.isAfter(sprint.getEndDate()) ? sprint.getEndDate() : now;
-        java.time.LocalDateTime start = sprint.getStartDate();
-
-        java.util.List<com.backend.githubanalyzer.domain.team.entity.TeamRegisterSprint> registrations = teamRegisterSprintRepository
-                .findAllBySprintId(sprintId);
-
-        registrations = registrations.stream()
-                .filter(reg -> "APPROVED".equals(reg.getStatus()))
-                .collect(java.util.stream.Collectors.toList());
-
-        // List to hold all participants' dynamic stats
-        class ParticipantStats {
-            com.backend.githubanalyzer.domain.user.entity.User user;
-            long score;
-            long commits;
-
-            ParticipantStats(com.backend.githubanalyzer.domain.user.entity.User user, long score, long commits) {
-                this.user = user;
-                this.score = score;
-                this.commits = commits;
-            }
-        }
-        java.util.List<ParticipantStats> allStats = new java.util.ArrayList<>();
-
-        for (com.backend.githubanalyzer.domain.team.entity.TeamRegisterSprint reg : registrations) {
-            String repoId = reg.getRepository().getId();
-            java.util.List<com.backend.githubanalyzer.domain.team.entity.UserRegisterTeam> members = userRegisterTeamRepository
-                    .findByTeamId(reg.getTeam().getId());
-
-            for (com.backend.githubanalyzer.domain.team.entity.UserRegisterTeam member : members) {
-                long commits = commitRepository.countByRepoAndTimeAndAuthor(repoId, member.getUser().getId(), start,
-                        end);
-                Long scoreObj = commitRepository.sumTotalScoreByRepoAndTimeAndAuthor(repoId, member.getUser().getId(),
-                        start, end);
-                long score = (scoreObj != null) ? scoreObj : 0L;
-                allStats.add(new ParticipantStats(member.getUser(), score, commits));
-            }
-        }
-
-        allStats.sort((a, b) -> Long.compare(b.score, a.score));
-
-        java.util.List<com.backend.githubanalyzer.domain.sprint.dto.SprintIndividualRankingResponse> response = new java.util.ArrayList<>();
-        long rank = 1;
-        for (ParticipantStats p : allStats) {
-            response.add(new com.backend.githubanalyzer.domain.sprint.dto.SprintIndividualRankingResponse(
-                    rank++,
-                    p.user.getUsername(),
-                    p.user.getUsername(),
-                    p.user.getProfileUrl(),
-                    p.score,
-                    p.commits));
-        }
-        return response;
+        return sprintStandingsService.getIndividualStandings(sprintId);
     }
 
     @Transactional
@@ -185,6 +93,8 @@ public class SprintService {
                 .build();
 
         sprintRepository.save(sprint);
+        // The manager's profile lists managed sprints
+        userProfileCacheEvictor.evict(manager.getId());
         return com.backend.githubanalyzer.domain.sprint.dto.SprintResponse.from(sprint, 0L, 0L, "upcoming");
     }
 
@@ -229,6 +139,8 @@ public class SprintService {
         sprint.setIsOpen(request.isOpen());
 
         sprintRepository.save(sprint);
+        // Standings drop on commit, once the new window is visible
+        sprintStandingsService.invalidate(sprintId);
         return com.backend.githubanalyzer.domain.sprint.dto.SprintResponse.from(sprint, 0L, 0L,
                 determineStatus(sprint));
     }
@@ -302,6 +214,8 @@ public class SprintService {
                 .build();
 
         teamRegisterSprintRepository.save(registration);
+        sprintStandingsService.invalidate(sprintId);
+        evictMemberProfiles(teamId);
 
         // For Public Sprints (Auto-Approved), trigger Webhook immediately
         if ("APPROVED".equals(status)) {
@@ -332,6 +246,8 @@ public class SprintService {
 
         if (approve) {
             reg.setStatus("APPROVED");
+            sprintStandingsService.invalidate(sprintId);
+            evictMemberProfiles(teamId);
             // Trigger Webhook
             try {
                     // Notify all team members
@@ -360,6 +276,8 @@ public class SprintService {
             // Rejected -> Delete registration
             teamRegisterSprintRepository.delete(reg);
             reg.setStatus("REJECTED"); // Mark for response
+            sprintStandingsService.invalidate(sprintId);
+            evictMemberProfiles(teamId);
         }
 
         return com.backend.githubanalyzer.domain.sprint.dto.SprintRegistrationResponse.from(reg);
@@ -393,6 +311,13 @@ public class SprintService {
         return com.backend.githubanalyzer.global.dto.PageResponse.of(content, page.hasNext());
     }
 
+    // Member profiles list the sprints their teams are registered in
+    private void evictMemberProfiles(String teamId) {
+        userProfileCacheEvictor.evictAll(userRegisterTeamRepository.findByTeamId(teamId).stream()
+                .map(member -> member.getId().getUserId())
+                .toList());
+    }
+
     private String determineStatus(Sprint sprint) {
         java.time.LocalDateTime now = java.time.LocalDateTime.now();
         if (now.isAfter(sprint.getEndDate())) {
@@ -458,6 +383,8 @@ public class SprintService {
                 .orElseThrow(() -> new IllegalArgumentException("Registration not found"));
 
         reg.setStatus("BANNED");
+        sprintStandingsService.invalidate(sprintId);
+        evictMemberProfiles(teamId);
 
         // Notify all team members
         List<com.backend.githubanalyzer.domain.team.entity.UserRegisterTeam> members = userRegisterTeamRepository.findByTeamId(teamId);
@@ -0,0 +1,370 @@
+package com.backend.githubanalyzer.domain.sprint.service;
+
+import com.backend.githubanalyzer.domain.analysis.event.CommitScoreChangedEvent;
+import com.backend.githubanalyzer.domain.commit.repository.CommitRepository;
+import com.backend.githubanalyzer.domain.sprint.dto.SprintIndividualRankingResponse;
+import com.backend.githubanalyzer.domain.sprint.dto.SprintTeamRankingResponse;
+import com.backend.githubanalyzer.domain.sprint.entity.Sprint;
+import com.backend.githubanalyzer.domain.sprint.repository.SprintRepository;
+import com.backend.githubanalyzer.domain.team.entity.Team;
+import com.backend.githubanalyzer.domain.team.entity.TeamRegisterSprint;
+import com.backend.githubanalyzer.domain.team.entity.UserRegisterTeam;
+import com.backend.githubanalyzer.domain.team.repository.TeamRegisterSprintRepository;
+import com.backend.githubanalyzer.domain.team.repository.TeamRepository;
+import com.backend.githubanalyzer.domain.team.repository.UserRegisterTeamRepository;
+import com.backend.githubanalyzer.domain.user.entity.User;
+import com.backend.githubanalyzer.domain.user.repository.UserRepository;
+import com.backend.githubanalyzer.global.cache.VersionStampService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Materialized sprint standings in Redis:
+//   sprint:standings:{id}:teams         ZSET teamId -> score      sprint:standings:{id}:team-commits HASH
+//   sprint:standings:{id}:users         ZSET userId -> score      sprint:standings:{id}:user-commits HASH
+//   sprint:standings:{id}:built         marker; missing means the next read rebuilds from the DB
+//   sprint:standings:{id}:rebuilding    lock (owner token) while a rebuild runs; increments go to ...:pending
+// Score changes inside a sprint window are applied with ZINCRBY after the DB transaction commits.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SprintStandingsService {
+
+    private static final String KEY_PREFIX = "sprint:standings:";
+    private static final Duration REBUILD_MARKER_TTL = Duration.ofMinutes(10);
+
+    // KEYS: rebuilding, pending, zset, hash. ARGV: member, scoreDelta, commitDelta, pending entry, ttl.
+    // While a rebuild runs the increment is parked, since the swap would otherwise overwrite it.
+    static final DefaultRedisScript<Long> INCREMENT_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 1 then
+                redis.call('RPUSH', KEYS[2], ARGV[4])
+                redis.call('EXPIRE', KEYS[2], ARGV[5])
+                return 0
+            end
+            if ARGV[2] ~= '0' then redis.call('ZINCRBY', KEYS[3], ARGV[2], ARGV[1]) end
+            if ARGV[3] ~= '0' then redis.call('HINCRBY', KEYS[4], ARGV[1], ARGV[3]) end
+            return 1
+            """, Long.class);
+
+    // KEYS: rebuilding, pending, teams, team-commits, users, user-commits. ARGV: owner token.
+    // Replays the parked increments onto the swapped-in sets and ends the rebuild in one step, so no
+    // increment can be parked after the last replay. -1 when another rebuild owns the lock by now.
+    static final DefaultRedisScript<Long> FINISH_REBUILD_SCRIPT = new DefaultRedisScript<>("""
+            local owner = redis.call('GET', KEYS[1])
+            if owner and owner ~= ARGV[1] then return -1 end
+            local entries = redis.call('LRANGE', KEYS[2], 0, -1)
+            for _, entry in ipairs(entries) do
+                local kind, member, score, commits = string.match(entry, '^(%a)|([^|]*)|([^|]*)|([^|]*)$')
+                local offset = kind == 't' and 0 or 2
+                if score ~= '0' then redis.call('ZINCRBY', KEYS[3 + offset], score, member) end
+                if commits ~= '0' then redis.call('HINCRBY', KEYS[4 + offset], member, commits) end
+            end
+            redis.call('DEL', KEYS[1], KEYS[2])
+            return #entries
+            """, Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final SprintRepository sprintRepository;
+    private final TeamRegisterSprintRepository teamRegisterSprintRepository;
+    private final UserRegisterTeamRepository userRegisterTeamRepository;
+    private final TeamRepository teamRepository;
+    private final UserRepository userRepository;
+    private final CommitRepository commitRepository;
+    private final VersionStampService versionStampService;
+
+    // Standings are rebuilt from the DB at least this often, which also heals missed increments
+    @Value("${sprint.standings.rebuild-interval-hours:24}")
+    private long rebuildIntervalHours;
+
+    // How long a read waits for another node's first build before serving empty standings
+    @Value("${sprint.standings.rebuild-wait-ms:3000}")
+    private long rebuildWaitMs;
+
+    public List<SprintTeamRankingResponse> getTeamStandings(String sprintId) {
+        ensureBuilt(sprintId);
+        Set<ZSetOperations.TypedTuple<String>> entries = stringRedisTemplate.opsForZSet()
+                .reverseRangeWithScores(key(sprintId, "teams"), 0, -1);
+        if (entries == null || entries.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<String> teamIds = entries.stream().map(ZSetOperations.TypedTuple::getValue).toList();
+        List<Object> commits = stringRedisTemplate.opsForHash().multiGet(key(sprintId, "team-commits"),
+                new ArrayList<>(teamIds));
+        Map<String, Team> teams = teamRepository.findAllById(teamIds).stream()
+                .collect(Collectors.toMap(Team::getId, Function.identity()));
+        Map<String, Long> memberCounts = new HashMap<>();
+        for (Object[] row : userRegisterTeamRepository.countByTeamIds(teamIds)) {
+            memberCounts.put((String) row[0], ((Number) row[1]).longValue());
+        }
+
+        List<SprintTeamRankingResponse> rankings = new ArrayList<>();
+        long rank = 1;
+        int i = 0;
+        for (ZSetOperations.TypedTuple<String> entry : entries) {
+            Team team = teams.get(entry.getValue());
+            Object commitCount = commits.get(i++);
+            if (team == null) {
+                continue;
+            }
+            rankings.add(new SprintTeamRankingResponse(
+                    rank++,
+                    team.getName(),
+                    entry.getScore() != null ? entry.getScore().longValue() : 0L,
+                    commitCount != null ? Long.parseLong(commitCount.toString()) : 0L,
+                    memberCounts.getOrDefault(team.getId(), 0L)));
+        }
+        return rankings;
+    }
+
+    public List<SprintIndividualRankingResponse> getIndividualStandings(String sprintId) {
+        ensureBuilt(sprintId);
+        Set<ZSetOperations.TypedTuple<String>> entries = stringRedisTemplate.opsForZSet()
+                .reverseRangeWithScores(key(sprintId, "users"), 0, -1);
+        if (entries == null || entries.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<String> userIds = entries.stream().map(ZSetOperations.TypedTuple::getValue).toList();
+        List<Object> commits = stringRedisTemplate.opsForHash().multiGet(key(sprintId, "user-commits"),
+                new ArrayList<>(userIds));
+        Map<Long, User> users = userRepository.findAllById(userIds.stream().map(Long::valueOf).toList()).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        List<SprintIndividualRankingResponse> rankings = new ArrayList<>();
+        long rank = 1;
+        int i = 0;
+        for (ZSetOperations.TypedTuple<String> entry : entries) {
+            User user = users.get(Long.valueOf(entry.getValue()));
+            Object commitCount = commits.get(i++);
+            if (user == null) {
+                continue;
+            }
+            rankings.add(new SprintIndividualRankingResponse(
+                    rank++,
+                    user.getUsername(),
+                    user.getUsername(),
+                    user.getProfileUrl(),
+                    entry.getScore() != null ? entry.getScore().longValue() : 0L,
+                    commitCount != null ? Long.parseLong(commitCount.toString()) : 0L));
+        }
+        return rankings;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommitScoreChanged(CommitScoreChangedEvent event) {
+        if (event.committedAt() == null) {
+            return;
+        }
+        try {
+            for (Object[] row : teamRegisterSprintRepository.findActiveRegistrationKeys(event.repoId(),
+                    event.committedAt())) {
+                String sprintId = (String) row[0];
+                String teamId = (String) row[1];
+                versionStampService.bump(VersionStampService.sprint(sprintId));
+                // Not materialized and no rebuild running: the next rebuild will read this change from the DB
+                if (!Boolean.TRUE.equals(stringRedisTemplate.hasKey(key(sprintId, "built")))
+                        && !Boolean.TRUE.equals(stringRedisTemplate.hasKey(key(sprintId, "rebuilding")))) {
+                    continue;
+                }
+                applyIncrement(sprintId, "t", "teams", "team-commits", teamId, event);
+                if (userRegisterTeamRepository.existsByTeamIdAndUserId(teamId, event.userId())) {
+                    applyIncrement(sprintId, "u", "users", "user-commits", String.valueOf(event.userId()), event);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Failed to update sprint standings for repo {}: {}", event.repoId(), e.getMessage());
+        }
+    }
+
+    private void applyIncrement(String sprintId, String kind, String zsetName, String hashName, String member,
+            CommitScoreChangedEvent event) {
+        if (event.scoreDelta() == 0 && event.commitDelta() == 0) {
+            return;
+        }
+        stringRedisTemplate.execute(INCREMENT_SCRIPT,
+                List.of(key(sprintId, "rebuilding"), key(sprintId, "pending"), key(sprintId, zsetName),
+                        key(sprintId, hashName)),
+                member, String.valueOf(event.scoreDelta()), String.valueOf(event.commitDelta()),
+                kind + "|" + member + "|" + event.scoreDelta() + "|" + event.commitDelta(),
+                String.valueOf(REBUILD_MARKER_TTL.toSeconds()));
+    }
+
+    // Registration, membership or window changed: rebuild on next read. Deferred to after commit
+    // so a concurrent read can't rebuild from the old rows and re-mark it as built.
+    public void invalidate(String sprintId) {
+        versionStampService.bump(VersionStampService.sprint(sprintId), VersionStampService.SPRINTS);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    stringRedisTemplate.delete(key(sprintId, "built"));
+                }
+            });
+        } else {
+            stringRedisTemplate.delete(key(sprintId, "built"));
+        }
+    }
+
+    public void invalidateTeam(String teamId) {
+        for (TeamRegisterSprint reg : teamRegisterSprintRepository.findByTeamId(teamId)) {
+            invalidate(reg.getId().getSprintId());
+        }
+    }
+
+    // False when another rebuild of the sprint is already running; that one marks it built
+    public boolean rebuild(String sprintId) {
+        Sprint sprint = sprintRepository.findById(sprintId)
+                .orElseThrow(() -> new IllegalArgumentException("Sprint not found"));
+        LocalDateTime start = sprint.getStartDate();
+        LocalDateTime end = sprint.getEndDate();
+
+        // The marker is also the lock. From here on increments are parked and replayed after the swap. One
+        // that committed just before the DB reads below may be counted twice until the next rebuild;
+        // dropping it was the worse failure.
+        String token = UUID.randomUUID().toString();
+        if (!Boolean.TRUE.equals(stringRedisTemplate.opsForValue().setIfAbsent(key(sprintId, "rebuilding"), token,
+                REBUILD_MARKER_TTL))) {
+            log.debug("Standings for sprint {} are already being rebuilt", sprintId);
+            return false;
+        }
+
+        Map<String, Double> teamScores = new HashMap<>();
+        Map<String, String> teamCommits = new HashMap<>();
+        Map<String, Double> userScores = new HashMap<>();
+        Map<String, Long> userCommits = new HashMap<>();
+
+        // A failed rebuild still replays, onto whichever sets are in place, so parked increments aren't lost
+        Long replayed;
+        try {
+            for (TeamRegisterSprint reg : teamRegisterSprintRepository.findAllBySprintId(sprintId)) {
+                if (!"APPROVED".equals(reg.getStatus())) {
+                    continue;
+                }
+                String teamId = reg.getId().getTeamId();
+                Map<Long, long[]> byAuthor = new HashMap<>();
+                for (Object[] row : commitRepository.aggregateByRepoAndTimeGroupByAuthor(reg.getId().getRepoId(),
+                        start, end)) {
+                    byAuthor.put(((Number) row[0]).longValue(), new long[] {
+                            row[1] != null ? ((Number) row[1]).longValue() : 0L, ((Number) row[2]).longValue() });
+                }
+
+                long teamScore = 0L;
+                long commits = 0L;
+                for (long[] stats : byAuthor.values()) {
+                    teamScore += stats[0];
+                    commits += stats[1];
+                }
+                teamScores.put(teamId, (double) teamScore);
+                teamCommits.put(teamId, String.valueOf(commits));
+
+                // Every member is listed, with 0 when they have no commits in the window
+                for (UserRegisterTeam member : userRegisterTeamRepository.findByTeamId(teamId)) {
+                    String userId = String.valueOf(member.getUser().getId());
+                    long[] stats = byAuthor.getOrDefault(member.getUser().getId(), new long[2]);
+                    userScores.merge(userId, (double) stats[0], Double::sum);
+                    userCommits.merge(userId, stats[1], Long::sum);
+                }
+            }
+
+            // Build aside and swap in, so readers never see a half-built set
+            replace(sprintId, "teams", token, tmp -> teamScores.forEach((id, score) ->
+                    stringRedisTemplate.opsForZSet().add(tmp, id, score)), teamScores.isEmpty());
+            replace(sprintId, "team-commits", token, tmp -> stringRedisTemplate.opsForHash().putAll(tmp, teamCommits),
+                    teamCommits.isEmpty());
+            replace(sprintId, "users", token, tmp -> userScores.forEach((id, score) ->
+                    stringRedisTemplate.opsForZSet().add(tmp, id, score)), userScores.isEmpty());
+            Map<String, String> userCommitValues = userCommits.entrySet().stream()
+                    .collect(Collectors.toMap(Map.Entry::getKey, e -> String.valueOf(e.getValue())));
+            replace(sprintId, "user-commits", token, tmp -> stringRedisTemplate.opsForHash().putAll(tmp, userCommitValues),
+                    userCommitValues.isEmpty());
+        } finally {
+            replayed = stringRedisTemplate.execute(FINISH_REBUILD_SCRIPT,
+                    List.of(key(sprintId, "rebuilding"), key(sprintId, "pending"), key(sprintId, "teams"),
+                            key(sprintId, "team-commits"), key(sprintId, "users"), key(sprintId, "user-commits")),
+                    token);
+        }
+        if (replayed != null && replayed < 0) {
+            // Ran past the lock TTL and another rebuild took over; it replays and marks the sprint built
+            log.warn("Lost the standings rebuild lock for sprint {}", sprintId);
+            return false;
+        }
+
+        stringRedisTemplate.opsForValue().set(key(sprintId, "built"), "1", Duration.ofHours(rebuildIntervalHours));
+        versionStampService.bump(VersionStampService.sprint(sprintId));
+        log.info("Rebuilt standings for sprint {}: {} teams, {} participants, {} increments replayed", sprintId,
+                teamScores.size(), userScores.size(), replayed);
+        return true;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildActiveSprints() {
+        LocalDateTime now = LocalDateTime.now();
+        for (Sprint sprint : sprintRepository.findByStartDateBeforeAndEndDateAfter(now, now)) {
+            try {
+                rebuild(sprint.getId());
+            } catch (Exception e) {
+                log.error("Failed to rebuild standings for sprint {}", sprint.getId(), e);
+            }
+        }
+    }
+
+    // Another rebuild in progress: serve the current sets, or wait a little for them if there are none yet
+    private void ensureBuilt(String sprintId) {
+        if (isBuilt(sprintId) || rebuild(sprintId)) {
+            return;
+        }
+        if (Boolean.TRUE.equals(stringRedisTemplate.hasKey(key(sprintId, "teams")))
+                || Boolean.TRUE.equals(stringRedisTemplate.hasKey(key(sprintId, "users")))) {
+            return;
+        }
+        long deadline = System.currentTimeMillis() + rebuildWaitMs;
+        while (!isBuilt(sprintId) && System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private boolean isBuilt(String sprintId) {
+        return Boolean.TRUE.equals(stringRedisTemplate.hasKey(key(sprintId, "built")));
+    }
+
+    // The tmp key is per rebuild (owner token), so an overlapping rebuild can't delete or rename it
+    private void replace(String sprintId, String name, String token, java.util.function.Consumer<String> fill,
+            boolean empty) {
+        String target = key(sprintId, name);
+        if (empty) {
+            stringRedisTemplate.delete(target);
+            return;
+        }
+        String tmp = target + ":tmp:" + token;
+        try {
+            fill.accept(tmp);
+            stringRedisTemplate.rename(tmp, target);
+        } catch (RuntimeException e) {
+            stringRedisTemplate.delete(tmp);
+            throw e;
+        }
+    }
+
+    private String key(String sprintId, String name) {
+        return KEY_PREFIX + sprintId + ":" + name;
+    }
+}
@@ -5,12 +5,21 @@ import com.backend.githubanalyzer.domain.sync.service.GithubPersistenceService;
 import com.backend.githubanalyzer.domain.user.entity.User;
 import com.backend.githubanalyzer.domain.user.service.UserService;
 import com.backend.githubanalyzer.infra.github.GithubApiService;
-import com.backend.githubanalyzer.infra.github.dto.GithubCommitResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @Slf4j
 @Component
@@ -21,55 +30,120 @@ public class CommitSyncQueueWorker {
     private final GithubApiService githubApiService;
     private final GithubPersistenceService githubPersistenceService;
     private final UserService userService;
+    private final com.backend.githubanalyzer.domain.analysis.service.AnalysisBatchTracker analysisBatchTracker;
 
     private static final String SYNC_QUEUE_KEY = "github:sync:commit_queue";
 
-    @Scheduled(fixedDelay = 900) // ~4000 jobs per hour
+    // batch-size / poll-interval-ms is the GitHub request rate (defaults keep ~4000 jobs per hour)
+    @Value("${commit.ingest.batch-size:10}")
+    private int batchSize;
+
+    @Value("${commit.ingest.fetch-concurrency:4}")
+    private int fetchConcurrency;
+
+    private record Fetched(CommitSyncJobRequest job, GithubPersistenceService.IncomingCommit commit) {
+    }
+
+    @Scheduled(fixedDelayString = "${commit.ingest.poll-interval-ms:9000}")
     public void processSyncJobs() {
         try {
-            Object popped = redisTemplate.opsForList().leftPop(SYNC_QUEUE_KEY);
-            if (popped == null)
+            List<Object> popped = redisTemplate.opsForList().leftPop(SYNC_QUEUE_KEY, batchSize);
+            if (popped == null || popped.isEmpty())
                 return;
 
-            CommitSyncJobRequest job = convertToRequest(popped);
-            if (job == null)
-                return;
-
-            processJob(job);
+            List<CommitSyncJobRequest> jobs = new ArrayList<>();
+            for (Object item : popped) {
+                CommitSyncJobRequest job = convertToRequest(item);
+                if (job != null) {
+                    jobs.add(job);
+                }
+            }
+            processJobs(jobs);
         } catch (Exception e) {
             log.error("Error in commit sync queue worker loop", e);
         }
     }
 
-    private void processJob(CommitSyncJobRequest job) {
-        try {
-            User user = userService.findById(job.getUserId());
+    private void processJobs(List<CommitSyncJobRequest> jobs) {
+        // Lookups shared by the chunk; most jobs of a tick belong to the same sync
+        Map<Long, Optional<User>> users = new HashMap<>();
+        Map<String, Optional<GithubRepository>> repositories = new HashMap<>();
+        List<CommitSyncJobRequest> runnable = new ArrayList<>();
+        for (CommitSyncJobRequest job : jobs) {
+            User user = users.computeIfAbsent(job.getUserId(),
+                    id -> Optional.ofNullable(userService.findById(id))).orElse(null);
             if (user == null) {
                 log.error("User not found for sync job: {}", job.getUserId());
-                return;
+                analysisBatchTracker.recordResult(job.getBatchId(), false, 0L);
+                continue;
             }
-
-            GithubRepository repository = githubPersistenceService.findById(job.getRepositoryId());
+            GithubRepository repository = repositories.computeIfAbsent(job.getRepositoryId(),
+                    id -> Optional.ofNullable(githubPersistenceService.findById(id))).orElse(null);
             if (repository == null) {
                 log.error("Repository not found: {}", job.getRepositoryId());
-                return;
+                analysisBatchTracker.recordResult(job.getBatchId(), false, 0L);
+                continue;
             }
-
-            String token = job.getAccessToken();
-            if (token == null) {
+            if (job.getAccessToken() == null) {
                 log.warn("No token provided for commit sync job: {}", job.getSha());
-                return;
+                analysisBatchTracker.recordResult(job.getBatchId(), false, 0L);
+                continue;
             }
+            runnable.add(job);
+        }
 
-            log.info("Executing queued sync job for commit: {} in repo: {}", job.getSha(), job.getRepoName());
-            GithubCommitResponse detailedDto = githubApiService.fetchCommitDetail(
-                    job.getOwner(), job.getRepoName(), job.getSha(), token).block();
+        // Commits that never reach the analysis queue still count as processed, so the batch can complete
+        List<Fetched> fetched = Flux.fromIterable(runnable)
+                .flatMap(job -> {
+                    log.info("Executing queued sync job for commit: {} in repo: {}", job.getSha(), job.getRepoName());
+                    return githubApiService.fetchCommitDetail(job.getOwner(), job.getRepoName(), job.getSha(),
+                                    job.getAccessToken())
+                            .map(detail -> new Fetched(job, new GithubPersistenceService.IncomingCommit(
+                                    job.getBranchName(), detail, job.getBatchId())))
+                            .switchIfEmpty(Mono.fromRunnable(
+                                    () -> analysisBatchTracker.recordResult(job.getBatchId(), false, 0L)))
+                            .onErrorResume(e -> {
+                                log.error("Failed to fetch commit detail for queued sync job {}", job.getSha(), e);
+                                analysisBatchTracker.recordResult(job.getBatchId(), false, 0L);
+                                return Mono.empty();
+                            });
+                }, fetchConcurrency)
+                .collectList()
+                .block();
+        if (fetched == null || fetched.isEmpty())
+            return;
 
-            if (detailedDto != null) {
-                githubPersistenceService.saveCommit(repository, user, job.getBranchName(), detailedDto, job.getBatchId());
-            }
+        // One transaction per (repository, syncing user): the user is the fallback author
+        Map<String, List<Fetched>> groups = new LinkedHashMap<>();
+        for (Fetched f : fetched) {
+            groups.computeIfAbsent(f.job().getRepositoryId() + ":" + f.job().getUserId(), k -> new ArrayList<>())
+                    .add(f);
+        }
+        for (List<Fetched> group : groups.values()) {
+            CommitSyncJobRequest first = group.get(0).job();
+            saveGroup(repositories.get(first.getRepositoryId()).get(), users.get(first.getUserId()).get(), group);
+        }
+    }
+
+    // saveCommits records batch results only once its transaction commits, so a rolled back chunk has
+    // counted nothing and the one-by-one retry can't count a commit twice
+    private void saveGroup(GithubRepository repository, User user, List<Fetched> group) {
+        try {
+            githubPersistenceService.saveCommits(repository, user,
+                    group.stream().map(Fetched::commit).toList());
         } catch (Exception e) {
-            log.error("Failed to execute queued sync job for commit {}", job.getSha(), e);
+            // A bad row rolls back the whole chunk; retry one by one so it doesn't take the others down
+            log.warn("Chunk of {} commits for repo {} failed, retrying individually: {}", group.size(),
+                    repository.getReponame(), e.getMessage());
+            for (Fetched f : group) {
+                try {
+                    githubPersistenceService.saveCommits(repository, user, List.of(f.commit()));
+                } catch (Exception single) {
+                    log.error("Failed to execute queued sync job for commit {}", f.job().getSha(), single);
+                    // Never reaches the analysis queue; count it so the batch can complete
+                    analysisBatchTracker.recordResult(f.job().getBatchId(), false, 0L);
+                }
+            }
         }
     }
 
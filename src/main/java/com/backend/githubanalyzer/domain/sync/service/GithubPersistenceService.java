@@ -4,6 +4,7 @@ import com.backend.githubanalyzer.domain.repository.dto.ContributorResponse;
 import com.backend.githubanalyzer.domain.repository.dto.GithubRepositoryResponse;
 import com.backend.githubanalyzer.domain.repository.dto.RepositoryMetricResponse;
 import com.backend.githubanalyzer.domain.commit.entity.AnalysisStatus;
+import com.backend.githubanalyzer.domain.commit.entity.ChangedFile;
 import com.backend.githubanalyzer.domain.commit.entity.Commit;
 import com.backend.githubanalyzer.domain.commit.entity.CommitId;
 import com.backend.githubanalyzer.domain.commit.repository.CommitRepository;
@@ -21,10 +22,17 @@ import com.backend.githubanalyzer.infra.github.dto.GithubRepoResponse;
 import com.backend.githubanalyzer.domain.analysis.dto.AnalysisJobRequest;
 import com.backend.githubanalyzer.domain.analysis.queue.AnalysisQueueProducer;
 import com.backend.githubanalyzer.domain.analysis.service.ScoreAggregationService;
+import com.backend.githubanalyzer.domain.analysis.event.CommitScoreChangedEvent;
+import com.backend.githubanalyzer.global.cache.VersionStampService;
+import com.backend.githubanalyzer.global.dto.PageResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -41,6 +49,40 @@ public class GithubPersistenceService {
     private final TeamService teamService;
     private final AnalysisQueueProducer analysisQueueProducer;
     private final ScoreAggregationService scoreAggregationService;
+    private final com.backend.githubanalyzer.domain.analysis.service.AnalysisBatchTracker analysisBatchTracker;
+    private final CacheManager cacheManager;
+    private final VersionStampService versionStampService;
+    private final org.springframework.jdbc.core.JdbcTemplate jdbcTemplate;
+
+    // Repo page read models; two-level (Caffeine + Redis), see RedisConfig
+    public static final String REPOSITORY_CACHE = "repository";
+    public static final String REPOSITORY_METRICS_CACHE = "repositoryMetrics";
+    public static final String REPOSITORY_CONTRIBUTORS_CACHE = "repositoryContributorPages";
+    public static final int CONTRIBUTORS_PAGE_SIZE = 20;
+
+    @org.springframework.beans.factory.annotation.Value("${contribution.page.max-size:100}")
+    private int contributorsMaxPageSize;
+
+    // Same event that moves the repo/user counters; VersionStampService bumps the repo stamp for it itself
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommitScoreChanged(CommitScoreChangedEvent event) {
+        evictCaches(event.repoId(), REPOSITORY_METRICS_CACHE, REPOSITORY_CONTRIBUTORS_CACHE);
+    }
+
+    // A repo read model changed: drop its cached copies and move its ETag stamp (after commit)
+    private void evictRepositoryCaches(String repoId, String... cacheNames) {
+        versionStampService.bump(VersionStampService.repo(repoId));
+        evictCaches(repoId, cacheNames);
+    }
+
+    private void evictCaches(String repoId, String... cacheNames) {
+        for (String cacheName : cacheNames) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                cache.evict(repoId);
+            }
+        }
+    }
 
     @Transactional(readOnly = true)
     public GithubRepository findById(String id) {
@@ -48,6 +90,7 @@ public class GithubPersistenceService {
     }
 
     @Transactional(readOnly = true)
+    @Cacheable(value = REPOSITORY_CACHE, key = "#id", unless = "#result == null")
     public GithubRepositoryResponse getRepositoryResponse(String id) {
         return repositoryRepository.findById(id)
                 .map(this::toDto)
@@ -89,6 +132,7 @@ public class GithubPersistenceService {
     }
 
     @Transactional(readOnly = true)
+    @Cacheable(value = REPOSITORY_METRICS_CACHE, key = "#repoId", unless = "#result == null")
     public RepositoryMetricResponse getRepositoryMetrics(String repoId) {
         GithubRepository repo = repositoryRepository.findById(repoId).orElse(null);
         if (repo == null) {
@@ -111,53 +155,25 @@ public class GithubPersistenceService {
                 .build();
     }
 
+    // Only the default first page is cached, under the repo id the evictions use
     @Transactional(readOnly = true)
-    public List<ContributorResponse> getContributors(String repoId) {
-        // 1. Fetch all known contributors (for roles)
-        List<Contribution> contributions = contributionRepository.findAllByRepositoryIdOrderByRankAsc(repoId);
-        
-        // 2. Fetch actual scores from commits in this repo
-        List<Object[]> scoreResults = commitRepository.findContributorsWithScore(repoId);
-        
-        // Map: UserId -> Score
-        java.util.Map<Long, Long> scoreMap = scoreResults.stream()
-            .collect(Collectors.toMap(
-                row -> ((User) row[0]).getId(),
-                row -> (Long) row[1]
-            ));
-
-        // 3. Merge and Build Response List
-        List<ContributorResponse> responseList = contributions.stream()
-            .map(c -> {
-                Long userId = c.getUser().getId();
-                Long score = scoreMap.getOrDefault(userId, 0L);
-                return ContributorResponse.builder()
-                        .username(c.getUser().getUsername())
-                        .profileUrl(c.getUser().getProfileUrl())
-                        .role(c.getContributionType().name())
-                        .score(score) // Use local repo score, not global user score
-                        .build();
-            })
-            .collect(Collectors.toList());
-
-        // 4. Sort by Score DESC, then Username
-        responseList.sort(java.util.Comparator.comparing(ContributorResponse::getScore, java.util.Comparator.reverseOrder())
-                .thenComparing(ContributorResponse::getUsername));
-
-        // 5. Assign Ranks
-        long rank = 1;
-        List<ContributorResponse> rankedList = new java.util.ArrayList<>();
-        for (ContributorResponse resp : responseList) {
-            rankedList.add(new ContributorResponse(
-                resp.getUsername(),
-                resp.getProfileUrl(),
-                resp.getRole(),
-                rank++,
-                resp.getScore()
-            ));
-        }
-
-        return rankedList;
+    @Cacheable(value = REPOSITORY_CONTRIBUTORS_CACHE, key = "#repoId",
+            condition = "#page == 0 && #size == " + CONTRIBUTORS_PAGE_SIZE)
+    public PageResponse<ContributorResponse> getContributors(String repoId, int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, contributorsMaxPageSize));
+        // One extra row tells us whether there is a next page
+        List<ContributorResponse> content = contributionRepository
+                .findRankedContributors(repoId, pageSize + 1, (long) Math.max(page, 0) * pageSize).stream()
+                .map(row -> ContributorResponse.builder()
+                        .username((String) row[0])
+                        .profileUrl((String) row[1])
+                        .role((String) row[2])
+                        .rank(((Number) row[3]).longValue())
+                        .score(((Number) row[4]).longValue()) // Local repo score, not global user score
+                        .build())
+                .collect(Collectors.toList());
+        boolean hasNext = content.size() > pageSize;
+        return PageResponse.of(hasNext ? new java.util.ArrayList<>(content.subList(0, pageSize)) : content, hasNext);
     }
 
     @Transactional
@@ -178,6 +194,7 @@ public class GithubPersistenceService {
 
         GithubRepository saved = repositoryRepository.save(repository);
         saveContribution(user, saved, ContributionType.OWNER);
+        evictRepositoryCaches(saved.getId(), REPOSITORY_CACHE, REPOSITORY_CONTRIBUTORS_CACHE);
         return saved;
     }
 
@@ -194,40 +211,93 @@ public class GithubPersistenceService {
                     .contributionType(type)
                     .build();
             contributionRepository.save(contribution);
-        } else if (contribution.getContributionType() != ContributionType.OWNER) {
+            evictRepositoryCaches(repository.getId(), REPOSITORY_CONTRIBUTORS_CACHE);
+        } else if (contribution.getContributionType() != ContributionType.OWNER
+                && contribution.getContributionType() != type) {
             contribution.setContributionType(type);
             contributionRepository.save(contribution);
+            evictRepositoryCaches(repository.getId(), REPOSITORY_CONTRIBUTORS_CACHE);
         }
         teamService.handleContributorAdded(user, repository);
     }
 
+    // One queued commit of an ingestion chunk: the branch it was listed on and its detail from GitHub
+    public record IncomingCommit(String branchName, GithubCommitResponse detail, String batchId) {
+    }
+
+    private static final String INSERT_COMMIT_SQL = "INSERT INTO commits (commit_sha, repo_id, branch_name, " +
+            "author_id, message, diff, before_commit_id, committed_at, additions, deletions, changed_files, " +
+            "analysis_status, commit_message_quality, code_quality, change_appropriateness, necessity, " +
+            "correctness_and_risk, testing_and_verification, total_score) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 'PENDING', 0, 0, 0, 0, 0, 0, 0)";
+    // Only still-PENDING rows: a re-queued commit that was analyzed meanwhile keeps its result
+    private static final String MARK_UNQUEUED_SQL = "UPDATE commits SET analysis_status = 'FAILED', " +
+            "analysis_reason = 'Analysis queue unavailable' " +
+            "WHERE commit_sha = ? AND repo_id = ? AND analysis_status = 'PENDING'";
+
+    // One transaction per chunk of commits of a repository: authors resolved in one lookup, new commits
+    // written in one JDBC batch, counters applied per user/repo, analysis jobs pushed in one RPUSH after commit.
     @Transactional
-    public void saveCommit(GithubRepository repository, User repositoryOwner, String branchName,
-            GithubCommitResponse detailedDto, String batchId) {
-        CommitId commitId = new CommitId(detailedDto.getSha(), repository.getId(), branchName);
-        Commit existingCommit = commitRepository.findById(commitId).orElse(null);
-
-        User author;
-        if (detailedDto.getAuthor() != null) {
-            author = userService.getOrCreateGhostUser(
-                    String.valueOf(detailedDto.getAuthor().getId()),
-                    detailedDto.getAuthor().getLogin(),
-                    detailedDto.getAuthor().getAvatarUrl());
-        } else {
-            author = repositoryOwner;
+    public void saveCommits(GithubRepository repository, User repositoryOwner, List<IncomingCommit> incoming) {
+        String repoId = repository.getId();
+        // A SHA queued twice for the same branch is written once, with the latest detail
+        java.util.Map<CommitId, IncomingCommit> byId = new java.util.LinkedHashMap<>();
+        for (IncomingCommit item : incoming) {
+            byId.put(new CommitId(item.detail().getSha(), repoId, item.branchName()), item);
+        }
+        if (byId.isEmpty()) {
+            return;
         }
 
-        StringBuilder diffBuilder = new StringBuilder();
-        if (detailedDto.getFiles() != null) {
-            for (GithubCommitResponse.GithubFileResponse file : detailedDto.getFiles()) {
-                if (file.getPatch() != null) {
-                    diffBuilder.append("--- ").append(file.getFilename()).append("\n");
-                    diffBuilder.append(file.getPatch()).append("\n\n");
-                }
+        java.util.Map<String, User> authors = userService.resolveGhostUsers(byId.values().stream()
+                .map(item -> item.detail().getAuthor())
+                .filter(java.util.Objects::nonNull)
+                .toList());
+        java.util.Set<String> shas = byId.keySet().stream().map(CommitId::getCommitSha)
+                .collect(Collectors.toSet());
+        java.util.Set<String> branches = byId.keySet().stream().map(CommitId::getBranchName)
+                .collect(Collectors.toSet());
+        java.util.Set<String> knownShas = new java.util.HashSet<>(commitRepository.findExistingShas(repoId, shas));
+        java.util.Map<CommitId, Commit> existing = new java.util.HashMap<>();
+        if (!knownShas.isEmpty()) {
+            for (Commit commit : commitRepository.findAllForResync(repoId, knownShas, branches)) {
+                existing.put(commit.getId(), commit);
             }
         }
 
-        if (existingCommit == null) {
+        List<Object[]> inserts = new java.util.ArrayList<>();
+        List<ScoreAggregationService.AddedCommit> added = new java.util.ArrayList<>();
+        List<AnalysisJobRequest> jobs = new java.util.ArrayList<>();
+        java.util.Map<Long, User> committers = new java.util.LinkedHashMap<>();
+        boolean authorsChanged = false;
+
+        for (java.util.Map.Entry<CommitId, IncomingCommit> entry : byId.entrySet()) {
+            CommitId commitId = entry.getKey();
+            GithubCommitResponse detailedDto = entry.getValue().detail();
+            String batchId = entry.getValue().batchId();
+            User author = detailedDto.getAuthor() != null
+                    ? authors.get(String.valueOf(detailedDto.getAuthor().getId()))
+                    : repositoryOwner;
+            committers.putIfAbsent(author.getId(), author);
+
+            StringBuilder diffBuilder = new StringBuilder();
+            List<ChangedFile> changedFiles = new java.util.ArrayList<>();
+            int additions = 0;
+            int deletions = 0;
+            if (detailedDto.getFiles() != null) {
+                for (GithubCommitResponse.GithubFileResponse file : detailedDto.getFiles()) {
+                    if (file.getPatch() != null) {
+                        diffBuilder.append("--- ").append(file.getFilename()).append("\n");
+                        diffBuilder.append(file.getPatch()).append("\n\n");
+                    }
+                    int fileAdditions = file.getAdditions() != null ? file.getAdditions() : 0;
+                    int fileDeletions = file.getDeletions() != null ? file.getDeletions() : 0;
+                    changedFiles.add(new ChangedFile(file.getStatus() != null ? file.getStatus() : "modified",
+                            fileAdditions, fileDeletions, file.getFilename()));
+                    additions += fileAdditions;
+                    deletions += fileDeletions;
+                }
+            }
             String parentsStr = null;
             if (detailedDto.getParents() != null && !detailedDto.getParents().isEmpty()) {
                 parentsStr = String.join(",", detailedDto.getParents().stream()
@@ -235,72 +305,131 @@ public class GithubPersistenceService {
                         .toList());
             }
 
-            Commit commit = Commit.builder()
-                    .id(commitId)
-                    .repository(repository)
-                    .author(author)
-                    .message(detailedDto.getCommit().getMessage())
-                    .diff(diffBuilder.toString())
-                    .beforeCommitId(parentsStr) // Populate beforeCommitId
-                    .committedAt(detailedDto.getCommit().getAuthor().getDate())
-                    .build();
-            commitRepository.save(commit);
-
-            // Push to AI Analysis Queue
-            analysisQueueProducer.pushJob(AnalysisJobRequest.builder()
-                    .commitSha(commit.getId().getCommitSha())
-                    .repositoryId(repository.getId())
-                    .batchId(batchId)
-                    .build());
-        } else {
-            existingCommit.setDiff(diffBuilder.toString());
-            existingCommit.setAuthor(author);
-            // Update parents if needed (usually SHA is immutable, but for completeness)
-            if (detailedDto.getParents() != null && !detailedDto.getParents().isEmpty()) {
-                String parentsStr = String.join(",", detailedDto.getParents().stream()
-                        .map(GithubCommitResponse.ParentInfo::getSha)
-                        .toList());
-                existingCommit.setBeforeCommitId(parentsStr);
-            }
-
-            // Re-trigger analysis if score is 0 AND summary is missing (implies incomplete
-            // analysis)
-            // OR if status is FAILED (Retry logic)
-            if ((existingCommit.getTotalScore() == 0L && existingCommit.getSummary() == null)
-                    || existingCommit.getAnalysisStatus() == AnalysisStatus.FAILED) {
-                log.info("Re-queueing existing commit {} for analysis (Missing Analysis Data)",
-                        existingCommit.getId().getCommitSha());
-                analysisQueueProducer.pushJob(AnalysisJobRequest.builder()
-                        .commitSha(existingCommit.getId().getCommitSha())
-                        .repositoryId(repository.getId())
+            Commit existingCommit = existing.get(commitId);
+            if (existingCommit == null) {
+                Commit commit = Commit.builder()
+                        .id(commitId)
+                        .repository(repository)
+                        .author(author)
+                        .message(detailedDto.getCommit().getMessage())
+                        .diff(diffBuilder.toString())
+                        .additions(additions)
+                        .deletions(deletions)
+                        .changedFiles(ChangedFile.format(changedFiles))
+                        .beforeCommitId(parentsStr) // Populate beforeCommitId
+                        .committedAt(detailedDto.getCommit().getAuthor().getDate())
+                        .build();
+                inserts.add(new Object[] { commitId.getCommitSha(), repoId, commitId.getBranchName(),
+                        author.getId(), commit.getMessage(), commit.getDiff(), commit.getBeforeCommitId(),
+                        commit.getCommittedAt(), additions, deletions, commit.getChangedFiles() });
+                // Repo commit counts are distinct SHAs: only the first copy seen, in the table or this chunk
+                added.add(new ScoreAggregationService.AddedCommit(commit, knownShas.add(commitId.getCommitSha())));
+                jobs.add(AnalysisJobRequest.builder()
+                        .commitSha(commitId.getCommitSha())
+                        .repositoryId(repoId)
+                        .batchId(batchId)
                         .build());
+            } else {
+                existingCommit.setDiff(diffBuilder.toString());
+                existingCommit.setAdditions(additions);
+                existingCommit.setDeletions(deletions);
+                existingCommit.setChangedFiles(ChangedFile.format(changedFiles));
+                if (!existingCommit.getAuthor().getId().equals(author.getId())) {
+                    // Reassigned author: counters of both users are rebuilt by the aggregation worker
+                    scoreAggregationService.markUserDirty(existingCommit.getAuthor().getId());
+                    scoreAggregationService.markUserDirty(author.getId());
+                    authorsChanged = true;
+                }
+                existingCommit.setAuthor(author);
+                // Update parents if needed (usually SHA is immutable, but for completeness)
+                if (parentsStr != null) {
+                    existingCommit.setBeforeCommitId(parentsStr);
+                }
+
+                // Re-trigger analysis if score is 0 AND summary is missing (implies incomplete
+                // analysis)
+                // OR if status is FAILED (Retry logic)
+                if ((existingCommit.getTotalScore() == 0L && existingCommit.getSummary() == null)
+                        || existingCommit.getAnalysisStatus() == AnalysisStatus.FAILED) {
+                    log.info("Re-queueing existing commit {} for analysis (Missing Analysis Data)",
+                            existingCommit.getId().getCommitSha());
+                    jobs.add(AnalysisJobRequest.builder()
+                            .commitSha(existingCommit.getId().getCommitSha())
+                            .repositoryId(repoId)
+                            .batchId(batchId)
+                            .build());
+                } else {
+                    // Nothing to analyze, but the batch still expects a result for this commit
+                    analysisBatchTracker.recordResultAfterCommit(batchId, false, 0L);
+                }
             }
+        }
 
-            commitRepository.save(existingCommit);
+        if (authorsChanged) {
+            scoreAggregationService.markTeamDirty(repoId);
+            evictRepositoryCaches(repoId, REPOSITORY_CONTRIBUTORS_CACHE);
         }
+        // Re-synced commits are managed entities: flushed with the transaction
+        jdbcTemplate.batchUpdate(INSERT_COMMIT_SQL, inserts);
+        scoreAggregationService.applyCommitsAdded(added);
+        for (User committer : committers.values()) {
+            saveContribution(committer, repository, ContributionType.COMMITTER);
+        }
+        pushJobsAfterCommit(jobs);
+        log.info("Saved {} commits ({} new) for repo {}", byId.size(), inserts.size(), repository.getReponame());
+    }
 
-        // Lazy Aggregation (Performance Boost)
-        scoreAggregationService.markUserDirty(author.getId());
-        scoreAggregationService.markTeamDirty(repository.getId());
+    // The analysis worker reads the commit row, so the jobs must not be visible before it is committed
+    private void pushJobsAfterCommit(List<AnalysisJobRequest> jobs) {
+        if (jobs.isEmpty()) {
+            return;
+        }
+        org.springframework.transaction.support.TransactionSynchronizationManager.registerSynchronization(
+                new org.springframework.transaction.support.TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        if (status == STATUS_COMMITTED) {
+                            pushJobsOrReleaseBatch(jobs);
+                        }
+                    }
+                });
+    }
 
-        saveContribution(author, repository, ContributionType.COMMITTER);
+    // The commits are already committed, so a failed push can't roll anything back. Retry once for a
+    // transient Redis error; after that, mark the commits FAILED (re-queued when a sync sees them again)
+    // and count them as failed results so the batch still completes.
+    void pushJobsOrReleaseBatch(List<AnalysisJobRequest> jobs) {
+        for (int attempt = 1; attempt <= 2; attempt++) {
+            try {
+                analysisQueueProducer.pushJobs(jobs);
+                return;
+            } catch (Exception e) {
+                log.warn("Failed to push {} analysis jobs (attempt {}): {}", jobs.size(), attempt, e.getMessage());
+            }
+        }
+        log.error("Dropped {} analysis jobs, marking commits FAILED: {}", jobs.size(),
+                jobs.stream().map(AnalysisJobRequest::getCommitSha).toList());
+        try {
+            jdbcTemplate.batchUpdate(MARK_UNQUEUED_SQL, jobs.stream()
+                    .map(job -> new Object[] { job.getCommitSha(), job.getRepositoryId() })
+                    .toList());
+        } catch (Exception e) {
+            log.error("Failed to mark unqueued commits FAILED", e);
+        }
+        for (AnalysisJobRequest job : jobs) {
+            analysisBatchTracker.recordResult(job.getBatchId(), false, 0L);
+        }
     }
 
+    // commit_count and score are maintained by ScoreAggregationService; only the branch count is refreshed here
     @Transactional
     public void refreshRepoStats(GithubRepository repository) {
-        long commitCount = commitRepository.countUniqueCommitsByRepositoryId(repository.getId());
         long branchCount = commitRepository.countUniqueBranchesByRepositoryId(repository.getId());
-
-        repository.setCommitCount(commitCount);
         repository.setBranchNum(branchCount);
 
-        // Simple Score calculation logic
-        long score = (commitCount * 10L) + (branchCount * 20L) + (repository.getStars() * 50L);
-        repository.setScore(score);
-
         repositoryRepository.save(repository);
-        log.info("Refreshed stats for repo {}: {} branches, {} commits, score: {}",
-                repository.getReponame(), branchCount, commitCount, score);
+        evictRepositoryCaches(repository.getId(), REPOSITORY_CACHE, REPOSITORY_METRICS_CACHE);
+        log.info("Refreshed stats for repo {}: {} branches", repository.getReponame(), branchCount);
     }
 
     @Transactional
@@ -308,13 +437,20 @@ public class GithubPersistenceService {
         GithubRepository repo = repositoryRepository.findById(repositoryId).orElse(null);
         if (repo != null) {
             log.info("Deleting repository: {}/{}", repo.getOwner().getUsername(), repo.getReponame());
+            // Authors lose these commits from their counters; recompute them once the rows are gone
+            for (User author : commitRepository.findDistinctAuthorByRepositoryId(repositoryId)) {
+                scoreAggregationService.markUserDirty(author.getId());
+            }
             // Due to cascade or manual cleanup
             repositoryRepository.delete(repo);
+            evictRepositoryCaches(repositoryId, REPOSITORY_CACHE, REPOSITORY_METRICS_CACHE,
+                    REPOSITORY_CONTRIBUTORS_CACHE);
         }
     }
 
     @Transactional
     public GithubRepository save(GithubRepository repository) {
+        evictRepositoryCaches(repository.getId(), REPOSITORY_CACHE, REPOSITORY_METRICS_CACHE);
         return repositoryRepository.save(repository);
     }
 }
@@ -29,7 +29,8 @@ public class GithubSyncService {
     private final GithubAppService githubAppService;
     private final com.backend.githubanalyzer.domain.sync.queue.CommitSyncQueueProducer syncQueueProducer;
     private final com.backend.githubanalyzer.domain.commit.repository.CommitRepository commitRepository;
-    private final org.springframework.data.redis.core.RedisTemplate<String, Object> redisTemplate;
+    private final com.backend.githubanalyzer.domain.commit.service.CommitService commitService;
+    private final com.backend.githubanalyzer.domain.analysis.service.AnalysisBatchTracker analysisBatchTracker;
 
     public User findUserByGithubId(String githubId) {
         return userService.findByGithubId(githubId);
@@ -310,12 +311,8 @@ public class GithubSyncService {
         }
 
         // --- BATCH CONTEXT START ---
-        String batchId = java.util.UUID.randomUUID().toString();
-        // Set Total to -1 (Pending) so AnalysisService doesn't trigger early
-        redisTemplate.opsForValue().set("analysis:batch:" + batchId + ":total", -1);
-        redisTemplate.opsForValue().set("analysis:batch:" + batchId + ":processed", 0);
-        redisTemplate.opsForValue().set("analysis:batch:" + batchId + ":success", 0);
-        redisTemplate.opsForValue().set("analysis:batch:" + batchId + ":score_sum", 0);
+        // total stays -1 until every job is queued, so the batch can't complete early
+        String batchId = analysisBatchTracker.open(repositoryOwner.getId());
         // Track unique commits found in this sync to avoid double counting across branches
         java.util.Set<String> thisBatchCommits = new java.util.HashSet<>();
         // ---------------------------
@@ -359,42 +356,16 @@ public class GithubSyncService {
                     syncQueueProducer.pushJob(syncJob);
                 } catch (Exception e) {
                     log.error("Failed to queue sync job for commit {}: {}", sha, e.getMessage());
+                    thisBatchCommits.remove(sha); // never queued, so it must not count towards total
                 }
             }
         }
         
         // --- BATCH CONTEXT END ---
+        // Jobs that already finished are counted too; whichever of seal/last result comes second completes it
         int totalQueued = thisBatchCommits.size();
-        redisTemplate.opsForValue().set("analysis:batch:" + batchId + ":total", totalQueued);
+        analysisBatchTracker.seal(batchId, totalQueued);
         log.info("Batch {} created with {} commits queued.", batchId, totalQueued);
-        
-        // If 0 queued, we might want to clean up or just leave it (it will expire if we set TTL, but for now manual cleanup logic in AnalysisService handles done batches)
-        // If jobs finished FAST, we need to check if we should trigger summary now
-        if (totalQueued > 0) {
-             Object processedObj = redisTemplate.opsForValue().get("analysis:batch:" + batchId + ":processed");
-             if (processedObj != null && Integer.parseInt(processedObj.toString()) == totalQueued) {
-                 // Trigger summary technically handled by AnalysisService, but if it raced, AnalysisService saw -1
-                 // Implementation detail: AnalysisService can check again or we trigger it?
-                 // Simpler: Let AnalysisService polling or re-check happen? 
-                 // Actually the easiest is: AnalysisService checks processed==total. If match, it sends.
-                 // If processing finished when total=-1, it didn't send.
-                 // So WE must check here.
-                 // Ideally we'd call a method in AnalysisService to 'tryCompleteBatch(batchId)'
-                 // But for now, let's leave as is, and ensure AnalysisService handles the verification robustly
-                 // Or we can publish a "BatchReady" event. 
-                 // For MVP: We will simply rely on the fact that AnalysisService checks this. 
-                 // BUT to be safe, if we implement the check in AnalysisService, we need to ensure it runs AFTER total is set.
-                 // We can simply call:
-                 // analysisService.checkBatchCompletion(batchId); if we had access.
-                 // Unreachable cross-domain call currently without injecting Service (cyclic dependency risk if SyncService depends on AnalysisService).
-             }
-        } else {
-             // Cleanup empty batch
-             redisTemplate.delete("analysis:batch:" + batchId + ":total");
-             redisTemplate.delete("analysis:batch:" + batchId + ":processed");
-             redisTemplate.delete("analysis:batch:" + batchId + ":success");
-             redisTemplate.delete("analysis:batch:" + batchId + ":score_sum");
-        }
     }
 
     // --- Branch API Implementation ---
@@ -405,57 +376,37 @@ public class GithubSyncService {
             throw new IllegalArgumentException("Repository not found: " + repoId);
         }
 
-        // Fetch distinct branches from DB
-        List<String> branches = commitRepository.findDistinctBranchNamesByRepositoryId(repoId);
+        // One grouped query: head commit and count for every branch
+        List<Object[]> branches = commitRepository.findBranchSummaries(repoId);
         log.info("Found {} branches in DB for repo {}", branches.size(), repository.getReponame());
 
         return branches.stream()
-                .map(branchName -> {
-                    long count = commitRepository.countById_RepoIdAndId_BranchName(repoId, branchName);
-                    com.backend.githubanalyzer.domain.commit.entity.Commit latestCommit = 
-                            commitRepository.findFirstById_RepoIdAndId_BranchNameOrderByCommittedAtDesc(repoId, branchName);
-                    
-                    return com.backend.githubanalyzer.domain.repository.dto.RepositoryBranchResponse.builder()
-                            .name(branchName)
-                            .lastCommitSha(latestCommit != null ? latestCommit.getId().getCommitSha() : null)
-                            .commitCount(count)
-                            .build();
-                })
+                .map(row -> com.backend.githubanalyzer.domain.repository.dto.RepositoryBranchResponse.builder()
+                        .name((String) row[0])
+                        .lastCommitSha((String) row[1])
+                        .lastCommittedAt(toLocalDateTime(row[2]))
+                        .commitCount(((Number) row[3]).longValue())
+                        .build())
                 .collect(Collectors.toList());
     }
 
-    public List<com.backend.githubanalyzer.domain.commit.dto.CommitResponse> getCommitsByBranch(String repoId, String branchName) {
+    // Native temporal results are LocalDateTime unless the JDBC types are preferred
+    private java.time.LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof java.sql.Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return (java.time.LocalDateTime) value;
+    }
+
+    public com.backend.githubanalyzer.global.dto.CursorPageResponse<com.backend.githubanalyzer.domain.commit.dto.CommitResponse> getCommitsByBranch(
+            String repoId, String branchName, String cursor, int size) {
         GithubRepository repository = githubPersistenceService.findById(repoId);
         if (repository == null) {
             throw new IllegalArgumentException("Repository not found: " + repoId);
         }
 
-        // Fetch commits directly from DB, sorted by latest first
-        log.info("Fetching commits from DB for repo {} branch {}", repoId, branchName);
-        List<com.backend.githubanalyzer.domain.commit.entity.Commit> commits = 
-                commitRepository.findAllByRepositoryIdAndId_BranchNameOrderByCommittedAtDesc(repoId, branchName);
-
-        if (commits.isEmpty()) {
-            // Optional: If DB is empty, maybe trigger a sync? 
-            // For now, trusting the user's intent to rely on DB.
-            return java.util.Collections.emptyList();
-        }
-
-        return commits.stream()
-                .map(this::toCommitResponse)
-                .collect(Collectors.toList());
-    }
-
-    private com.backend.githubanalyzer.domain.commit.dto.CommitResponse toCommitResponse(com.backend.githubanalyzer.domain.commit.entity.Commit commit) {
-        return com.backend.githubanalyzer.domain.commit.dto.CommitResponse.builder()
-                .sha(commit.getId().getCommitSha())
-                .message(commit.getMessage())
-                .committedAt(commit.getCommittedAt())
-                .authorName(commit.getAuthor().getUsername())
-                .authorProfileUrl(commit.getAuthor().getProfileUrl())
-                .analysisStatus(commit.getAnalysisStatus())
-                .totalScore(commit.getTotalScore())
-                .build();
+        // Fetch commits directly from DB, one keyset page at a time, latest first
+        return commitService.getCommitsByBranch(repoId, branchName, cursor, size);
     }
 
     private String getAccessTokenForUser(User user) {
@@ -37,14 +37,23 @@ public class TeamRegisterSprint {
     @Column(name = "sprint_rank")
     private Long sprintRank;
 
-    @Column(name = "score", nullable = false)
+    // Counters owned by ScoreAggregationService; entity saves never write them
+    @Column(name = "score", nullable = false, updatable = false)
     @Builder.Default
     private Long score = 0L;
 
-    @Column(name = "commit_num", nullable = false)
+    @Column(name = "commit_num", nullable = false, updatable = false)
     @Builder.Default
     private Long commitNum = 0L;
 
+    @Column(name = "score_sum", nullable = false, updatable = false)
+    @Builder.Default
+    private Long scoreSum = 0L;
+
+    @Column(name = "scored_count", nullable = false, updatable = false)
+    @Builder.Default
+    private Long scoredCount = 0L;
+
     @Column(name = "status", nullable = false)
     @Builder.Default
     private String status = "APPROVED"; // PENDING, APPROVED, REJECTED, BANNED
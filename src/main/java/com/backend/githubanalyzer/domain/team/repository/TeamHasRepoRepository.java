@@ -12,4 +12,7 @@ public interface TeamHasRepoRepository extends JpaRepository<TeamHasRepo, TeamHa
     List<TeamHasRepo> findByRepositoryId(String repoId);
 
     List<TeamHasRepo> findByTeamId(String teamId);
+
+    @org.springframework.data.jpa.repository.Query("SELECT thr.team.id FROM TeamHasRepo thr WHERE thr.repository.id = :repoId")
+    List<String> findTeamIdsByRepositoryId(@org.springframework.data.repository.query.Param("repoId") String repoId);
 }
@@ -27,4 +27,30 @@ public interface TeamRegisterSprintRepository extends JpaRepository<TeamRegister
             @org.springframework.data.repository.query.Param("userId") Long userId);
 
     java.util.List<TeamRegisterSprint> findAllByTeamId(String teamId);
+
+    // Adjusts every registration of the repo whose sprint window contains the commit
+    @org.springframework.data.jpa.repository.Modifying(flushAutomatically = true)
+    @org.springframework.data.jpa.repository.Query(value = "UPDATE team_register_sprint SET score_sum = score_sum + :scoreDelta, " +
+            "scored_count = scored_count + :countDelta, commit_num = commit_num + :commitDelta, " +
+            "score = IF(scored_count > 0, score_sum DIV scored_count, 0) " +
+            "WHERE repo_id = :repoId AND sprint_id IN " +
+            "(SELECT s.sprint_id FROM sprints s WHERE :committedAt BETWEEN s.start_date AND s.end_date)", nativeQuery = true)
+    int applyScoreDelta(@org.springframework.data.repository.query.Param("repoId") String repoId,
+            @org.springframework.data.repository.query.Param("committedAt") java.time.LocalDateTime committedAt,
+            @org.springframework.data.repository.query.Param("scoreDelta") long scoreDelta,
+            @org.springframework.data.repository.query.Param("countDelta") long countDelta,
+            @org.springframework.data.repository.query.Param("commitDelta") long commitDelta);
+
+    @org.springframework.data.jpa.repository.Query("SELECT DISTINCT trs.id.sprintId FROM TeamRegisterSprint trs " +
+            "WHERE trs.id.repoId IN :repoIds")
+    java.util.List<String> findSprintIdsByRepoIds(
+            @org.springframework.data.repository.query.Param("repoIds") java.util.Collection<String> repoIds);
+
+    // Approved registrations of the repo whose sprint window contains the time. Rows: [sprintId, teamId]
+    @org.springframework.data.jpa.repository.Query("SELECT trs.id.sprintId, trs.id.teamId FROM TeamRegisterSprint trs " +
+            "WHERE trs.id.repoId = :repoId AND trs.status = 'APPROVED' " +
+            "AND :at BETWEEN trs.sprint.startDate AND trs.sprint.endDate")
+    java.util.List<Object[]> findActiveRegistrationKeys(
+            @org.springframework.data.repository.query.Param("repoId") String repoId,
+            @org.springframework.data.repository.query.Param("at") java.time.LocalDateTime at);
 }
@@ -6,8 +6,6 @@ import java.util.Optional;
 
 public interface TeamRepository extends JpaRepository<Team, String> {
 
-    java.util.List<Team> findAllByNameContainingIgnoreCase(String name);
-
     boolean existsByName(String name);
 
     Optional<Team> findByName(String name);
@@ -16,4 +16,10 @@ public interface UserRegisterTeamRepository extends JpaRepository<UserRegisterTe
     List<UserRegisterTeam> findByUserId(Long userId);
 
     long countByTeamId(String teamId);
+
+    boolean existsByTeamIdAndUserId(String teamId, Long userId);
+
+    // Rows: [teamId, memberCount]
+    @org.springframework.data.jpa.repository.Query("SELECT urt.team.id, COUNT(urt) FROM UserRegisterTeam urt WHERE urt.team.id IN :teamIds GROUP BY urt.team.id")
+    List<Object[]> countByTeamIds(@org.springframework.data.repository.query.Param("teamIds") java.util.Collection<String> teamIds);
 }
@@ -2,7 +2,6 @@ package com.backend.githubanalyzer.domain.team.service;
 
 import com.backend.githubanalyzer.domain.repository.entity.GithubRepository;
 import com.backend.githubanalyzer.domain.repository.repository.GithubRepositoryRepository;
-import com.backend.githubanalyzer.domain.commit.repository.CommitRepository;
 import com.backend.githubanalyzer.domain.sprint.entity.Sprint;
 import com.backend.githubanalyzer.domain.sprint.service.SprintService;
 import com.backend.githubanalyzer.domain.team.entity.Team;
@@ -24,9 +23,10 @@ public class SprintRegistrationService {
 
         private final SprintService sprintService;
         private final TeamRegisterSprintRepository teamRegisterSprintRepository;
+        private final com.backend.githubanalyzer.domain.analysis.service.ScoreAggregationService scoreAggregationService;
+        private final com.backend.githubanalyzer.domain.sprint.service.SprintStandingsService sprintStandingsService;
         private final TeamRepository teamRepository;
         private final GithubRepositoryRepository githubRepositoryRepository;
-        private final CommitRepository commitRepository;
 
         @Transactional
         public TeamRegisterSprint registerTeamToSprint(String teamId, String sprintId, String repoId, Long rank,
@@ -66,21 +66,16 @@ public class SprintRegistrationService {
                                 .build();
 
                 TeamRegisterSprint saved = teamRegisterSprintRepository.save(registration);
+                // Counters start at zero; the aggregation worker seeds them from the sprint window
+                scoreAggregationService.markTeamDirty(repoId);
+                sprintStandingsService.invalidate(sprintId);
                 log.info("Successfully registered Team {} to Sprint {}", teamId, sprintId);
                 return saved;
         }
 
+        // Counters are written by ScoreAggregationService only; recompute every registration of the repo
         @Transactional
         public void refreshTeamSprintStats(TeamRegisterSprint registration) {
-                String repoId = registration.getRepository().getId();
-                java.time.LocalDateTime start = registration.getSprint().getStartDate();
-                java.time.LocalDateTime end = registration.getSprint().getEndDate();
-
-                Long totalScore = commitRepository.sumTotalScoreByRepoAndTime(repoId, start, end);
-                long commitCount = commitRepository.countByRepoAndTime(repoId, start, end);
-
-                registration.setScore(totalScore != null ? totalScore : 0L);
-                registration.setCommitNum(commitCount);
-                teamRegisterSprintRepository.save(registration);
+                scoreAggregationService.recomputeSprintRegistrations(java.util.List.of(registration.getRepository().getId()));
         }
 }
@@ -7,9 +7,16 @@ import com.backend.githubanalyzer.domain.team.repository.TeamRepository;
 import com.backend.githubanalyzer.domain.team.repository.UserRegisterTeamRepository;
 import com.backend.githubanalyzer.domain.user.entity.User;
 import lombok.RequiredArgsConstructor;
+import com.backend.githubanalyzer.domain.analysis.event.CommitScoreChangedEvent;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import org.springframework.security.access.AccessDeniedException;
 
@@ -32,6 +39,40 @@ public class TeamService {
     private final com.backend.githubanalyzer.domain.team.repository.TeamRegisterSprintRepository teamRegisterSprintRepository;
     private final com.backend.githubanalyzer.domain.repository.repository.GithubRepositoryRepository githubRepositoryRepository;
     private final com.backend.githubanalyzer.domain.notification.service.NotificationService notificationService;
+    private final com.backend.githubanalyzer.domain.sprint.service.SprintStandingsService sprintStandingsService;
+    private final CacheManager cacheManager;
+    private final com.backend.githubanalyzer.domain.dashboard.service.UserProfileCacheEvictor userProfileCacheEvictor;
+
+    public static final String TEAM_MEMBERS_CACHE = "teamMembers";
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommitScoreChanged(CommitScoreChangedEvent event) {
+        for (String teamId : teamHasRepoRepository.findTeamIdsByRepositoryId(event.repoId())) {
+            evictMemberStats(teamId);
+        }
+    }
+
+    // Deferred to after commit when called from a write: evicting earlier lets a concurrent read cache the
+    // old membership again before the change is visible. afterCompletion, so it also runs when registered
+    // from the after-commit event listener above.
+    private void evictMemberStats(String teamId) {
+        Cache cache = cacheManager.getCache(TEAM_MEMBERS_CACHE);
+        if (cache == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        cache.evict(teamId);
+                    }
+                }
+            });
+        } else {
+            cache.evict(teamId);
+        }
+    }
 
     @Transactional
     public void addMemberToTeam(Team team, User user, String role) {
@@ -47,6 +88,9 @@ public class TeamService {
                     .status("APPROVED") // Auto-added from contribution is pre-approved
                     .build();
             userRegisterTeamRepository.save(membership);
+            sprintStandingsService.invalidateTeam(team.getId());
+            evictMemberStats(team.getId());
+            userProfileCacheEvictor.evict(user.getId());
             log.info("Automatically added user {} to team {} as {}", user.getUsername(), team.getName(), role);
         } else {
             // Role Upgrade Logic: MEMBER -> CONTRIBUTOR
@@ -54,6 +98,9 @@ public class TeamService {
                 membership.setRole("CONTRIBUTOR");
                 membership.setStatus("APPROVED"); // Ensure they are approved if they contribute
                 userRegisterTeamRepository.save(membership);
+                sprintStandingsService.invalidateTeam(team.getId());
+                evictMemberStats(team.getId());
+                userProfileCacheEvictor.evict(user.getId());
                 log.info("Upgraded user {} in team {} to CONTRIBUTOR", user.getUsername(), team.getName());
             }
         }
@@ -79,6 +126,7 @@ public class TeamService {
                     .repository(repo)
                     .build();
             teamHasRepoRepository.save(mapping);
+            evictMemberStats(team.getId());
             log.info("Added repository {} to team {}", repo.getReponame(), team.getName());
 
             List<User> contributors = commitRepository.findDistinctAuthorByRepositoryId(repo.getId());
@@ -245,6 +293,9 @@ public class TeamService {
                 .inTeamRank(0L)
                 .build();
         UserRegisterTeam saved = userRegisterTeamRepository.save(request);
+        sprintStandingsService.invalidateTeam(teamId);
+        evictMemberStats(teamId);
+        userProfileCacheEvictor.evict(user.getId());
 
         return new com.backend.githubanalyzer.domain.team.dto.TeamMemberResponse(
                 saved.getUser().getId(),
@@ -270,6 +321,8 @@ public class TeamService {
 
         membership.setStatus("APPROVED");
         UserRegisterTeam saved = userRegisterTeamRepository.save(membership);
+        evictMemberStats(teamId);
+        userProfileCacheEvictor.evict(userId);
 
         // Send Notification
         notificationService.send(saved.getUser().getId(),
@@ -309,6 +362,9 @@ public class TeamService {
                 .orElseThrow(() -> new IllegalArgumentException("User is not in the team."));
 
         userRegisterTeamRepository.delete(membership);
+        sprintStandingsService.invalidateTeam(teamId);
+        evictMemberStats(teamId);
+        userProfileCacheEvictor.evict(userId);
 
         // Send Notification
         notificationService.send(userId,
@@ -317,7 +373,9 @@ public class TeamService {
     }
 
     // 2. 팀 멤버 조회 (DTO 반환)
+    // Cached briefly; evicted when membership, team repos or their commit scores change
     @Transactional(readOnly = true)
+    @Cacheable(value = TEAM_MEMBERS_CACHE, key = "#teamId")
     public List<TeamMemberResponse> getTeamMembers(String teamId) {
         // 1. Get all Repo IDs linked to this Team
         List<String> teamRepoIds = teamHasRepoRepository.findByTeamId(teamId).stream()
@@ -327,7 +385,7 @@ public class TeamService {
         // 2. Fetch all members
         List<UserRegisterTeam> members = userRegisterTeamRepository.findByTeamId(teamId);
 
-        // 3. Calculate stats for each member
+        // 3. Calculate stats for all members in one grouped query
         // Temporary DTO to hold data for sorting
         class MemberStats {
             UserRegisterTeam member;
@@ -341,16 +399,18 @@ public class TeamService {
             }
         }
 
-        List<MemberStats> statsList = members.stream().map(member -> {
-            long commitCount = 0;
-            long score = 0;
-            if (!teamRepoIds.isEmpty()) {
-                commitCount = commitRepository.countByRepositoryIdInAndAuthorId(teamRepoIds, member.getUser().getId());
-                Long scoreObj = commitRepository.sumTotalScoreByRepositoryIdInAndAuthorId(teamRepoIds,
-                        member.getUser().getId());
-                score = (scoreObj != null) ? scoreObj : 0L;
+        java.util.Map<Long, long[]> statsByUser = new java.util.HashMap<>();
+        if (!teamRepoIds.isEmpty() && !members.isEmpty()) {
+            List<Long> memberIds = members.stream().map(m -> m.getUser().getId()).collect(Collectors.toList());
+            for (Object[] row : commitRepository.aggregateByRepositoryIdInAndAuthorIdIn(teamRepoIds, memberIds)) {
+                statsByUser.put(((Number) row[0]).longValue(), new long[] {
+                        ((Number) row[1]).longValue(), row[2] != null ? ((Number) row[2]).longValue() : 0L });
             }
-            return new MemberStats(member, commitCount, score);
+        }
+
+        List<MemberStats> statsList = members.stream().map(member -> {
+            long[] stats = statsByUser.getOrDefault(member.getUser().getId(), new long[2]);
+            return new MemberStats(member, stats[0], stats[1]);
         }).collect(Collectors.toList());
 
         // 4. Sort by Commit Count Descending (Contributor Rank)
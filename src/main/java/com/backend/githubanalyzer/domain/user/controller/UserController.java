@@ -22,6 +22,8 @@ public class UserController {
     private final com.backend.githubanalyzer.domain.commit.service.CommitService commitService;
     private final com.backend.githubanalyzer.domain.dashboard.service.DashboardService dashboardService;
     private final com.backend.githubanalyzer.domain.user.repository.UserRepository userRepository;
+    private final com.backend.githubanalyzer.global.cache.VersionStampService versionStampService;
+    private final com.backend.githubanalyzer.domain.user.service.UserActivityService userActivityService;
 
 
     @io.swagger.v3.oas.annotations.Operation(summary = "Get My Profile (내 정보 조회)", description = "로그인한 유저의 상세 정보를 조회합니다.")
@@ -49,9 +51,11 @@ public class UserController {
 
     @io.swagger.v3.oas.annotations.Operation(summary = "My Heatmap (내 커밋 히트맵)", description = "로그인한 유저의 커밋 히트맵 데이터를 조회합니다.")
     @GetMapping("/me/activities/heatmap")
-    public ResponseEntity<ApiResponse<List<CommitHeatmapResponse>>> heatmap() {
+    public ResponseEntity<ApiResponse<List<CommitHeatmapResponse>>> heatmap(
+            @RequestParam(required = false) @org.springframework.format.annotation.DateTimeFormat(iso = org.springframework.format.annotation.DateTimeFormat.ISO.DATE) java.time.LocalDate from,
+            @RequestParam(required = false) @org.springframework.format.annotation.DateTimeFormat(iso = org.springframework.format.annotation.DateTimeFormat.ISO.DATE) java.time.LocalDate to) {
         String username = JwtUtil.getCurrentUsername();
-        return ResponseEntity.ok(ApiResponse.success(userService.getUserHeatmap(username)));
+        return ResponseEntity.ok(ApiResponse.success(userService.getUserHeatmap(username, from, to)));
     }
 
     @io.swagger.v3.oas.annotations.Operation(summary = "My Repositories (내 레포지토리 목록)", description = "로그인한 유저의 연동된 레포지토리 목록을 조회합니다.")
@@ -63,24 +67,36 @@ public class UserController {
 
     @io.swagger.v3.oas.annotations.Operation(summary = "My Recent Commits (내 최근 커밋)", description = "로그인한 유저의 최근 커밋 내역을 조회합니다.")
     @GetMapping("/me/commits/recent")
-    public ResponseEntity<ApiResponse<List<com.backend.githubanalyzer.domain.commit.dto.CommitResponse>>> recentCommits() {
+    public ResponseEntity<ApiResponse<com.backend.githubanalyzer.global.dto.CursorPageResponse<com.backend.githubanalyzer.domain.commit.dto.CommitResponse>>> recentCommits(
+            @io.swagger.v3.oas.annotations.Parameter(description = "이전 응답의 nextCursor (첫 페이지는 생략)") @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "30") int size) {
         String username = JwtUtil.getCurrentUsername();
-        return ResponseEntity.ok(ApiResponse.success(commitService.getUserRecentCommits(username)));
+        return ResponseEntity.ok(ApiResponse.success(commitService.getUserRecentCommits(username, cursor, size)));
     }
 
     @io.swagger.v3.oas.annotations.Operation(summary = "User Repo Commits (특정 유저/레포 커밋 조회)", description = "특정 유저와 레포지토리의 커밋 목록을 조회합니다.")
     @GetMapping("/{userId}/repositories/{repoId}/commits")
-    public ResponseEntity<ApiResponse<List<com.backend.githubanalyzer.domain.commit.dto.CommitResponse>>> userRepoCommits(
+    public ResponseEntity<ApiResponse<com.backend.githubanalyzer.global.dto.CursorPageResponse<com.backend.githubanalyzer.domain.commit.dto.CommitResponse>>> userRepoCommits(
             @PathVariable Long userId,
-            @PathVariable String repoId) {
-        return ResponseEntity.ok(ApiResponse.success(commitService.getUserCommitsInRepo(userId, repoId)));
+            @PathVariable String repoId,
+            @io.swagger.v3.oas.annotations.Parameter(description = "이전 응답의 nextCursor (첫 페이지는 생략)") @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "30") int size) {
+        return ResponseEntity.ok(ApiResponse.success(commitService.getUserCommitsInRepo(userId, repoId, cursor, size)));
     }
 
     @io.swagger.v3.oas.annotations.Operation(summary = "My Dashboard (내 대시보드 조회)", description = "로그인한 사용자의 개인 통계(Streak, 총 커밋 수, 최근 활동 등)를 조회합니다.")
     @GetMapping("/me/dashboard")
-    public ResponseEntity<ApiResponse<com.backend.githubanalyzer.domain.dashboard.dto.DashboardStatsResponse>> getMyDashboard() {
+    public ResponseEntity<ApiResponse<com.backend.githubanalyzer.domain.dashboard.dto.DashboardStatsResponse>> getMyDashboard(
+            org.springframework.web.context.request.WebRequest webRequest) {
         com.backend.githubanalyzer.domain.user.entity.User currentUser = getCurrentUser();
-        return ResponseEntity.ok(ApiResponse.success(dashboardService.getDashboardStats(currentUser.getId())));
+        // The streak depends on today in the activity zone, active sprints on any sprint change
+        if (webRequest.checkNotModified(versionStampService.etag(userActivityService.today().toString(),
+                com.backend.githubanalyzer.global.cache.VersionStampService.user(currentUser.getId()),
+                com.backend.githubanalyzer.global.cache.VersionStampService.SPRINTS))) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(org.springframework.http.CacheControl.noCache().cachePrivate())
+                .body(ApiResponse.success(dashboardService.getDashboardStats(currentUser.getId())));
     }
 
     @io.swagger.v3.oas.annotations.Operation(summary = "User Profile (유저 공개 프로필 조회)", description = "특정 유저의 공개 프로필 정보(뱃지, 티어, 기본 정보)를 조회합니다.")
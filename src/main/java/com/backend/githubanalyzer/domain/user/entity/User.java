@@ -50,18 +50,29 @@ public class User {
 
     private String reposEtag;
 
-    @Column(nullable = false)
+    // Counters below are owned by ScoreAggregationService (delta UPDATEs and recomputes); entity saves of a
+    // user loaded earlier must not write them back
+    @Column(nullable = false, updatable = false)
     @Builder.Default
     private Long commitCount = 0L;
 
-    @Column(nullable = false)
+    @Column(nullable = false, updatable = false)
     @Builder.Default
     private Long score = 0L; // Average Score
 
-    @Column(nullable = false)
+    @Column(nullable = false, updatable = false)
     @Builder.Default
     private Long totalScore = 0L; // Accumulated Score (Sum of all commit scores)
 
+    // Running counters over COMPLETED commits; score/totalScore are derived from these
+    @Column(nullable = false, updatable = false)
+    @Builder.Default
+    private Long scoreSum = 0L;
+
+    @Column(nullable = false, updatable = false)
+    @Builder.Default
+    private Long scoredCount = 0L;
+
     private String installationId;
 
     private LocalDateTime createdAt;
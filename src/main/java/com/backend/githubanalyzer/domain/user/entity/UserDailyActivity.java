@@ -0,0 +1,19 @@
+package com.backend.githubanalyzer.domain.user.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// Commit rows per (user, local day). Maintained by UserActivityService at commit ingest.
+@Entity
+@Table(name = "user_daily_activity")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+public class UserDailyActivity {
+
+    @EmbeddedId
+    private UserDailyActivityId id;
+
+    @Column(name = "commit_count", nullable = false)
+    private Long commitCount;
+}
@@ -0,0 +1,22 @@
+package com.backend.githubanalyzer.domain.user.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Embeddable
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@EqualsAndHashCode
+public class UserDailyActivityId implements Serializable {
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "activity_date")
+    private LocalDate activityDate; // Calendar day in activity.zone, not the stored commit zone
+}
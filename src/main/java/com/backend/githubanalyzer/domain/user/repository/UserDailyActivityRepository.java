@@ -0,0 +1,22 @@
+package com.backend.githubanalyzer.domain.user.repository;
+
+import com.backend.githubanalyzer.domain.user.entity.UserDailyActivity;
+import com.backend.githubanalyzer.domain.user.entity.UserDailyActivityId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface UserDailyActivityRepository extends JpaRepository<UserDailyActivity, UserDailyActivityId> {
+
+    // PK range scan on (user_id, activity_date)
+    @Query("SELECT a FROM UserDailyActivity a WHERE a.id.userId = :userId " +
+            "AND a.id.activityDate BETWEEN :from AND :to AND a.commitCount > 0 ORDER BY a.id.activityDate")
+    List<UserDailyActivity> findRange(@Param("userId") Long userId, @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+
+    @Query("SELECT a.id.activityDate FROM UserDailyActivity a WHERE a.id.userId = :userId AND a.commitCount > 0")
+    List<LocalDate> findActiveDates(@Param("userId") Long userId);
+}
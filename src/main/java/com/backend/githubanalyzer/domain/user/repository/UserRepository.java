@@ -2,6 +2,9 @@ package com.backend.githubanalyzer.domain.user.repository;
 
 import com.backend.githubanalyzer.domain.user.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -13,7 +16,7 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByGithubId(String githubId);
 
-    List<User> findAllByUsernameContainingIgnoreCase(String username);
+    List<User> findAllByGithubIdIn(java.util.Collection<String> githubIds);
 
     // 1. Batch Notification Finders
     List<User> findAllByNotifyWeeklyTrue();
@@ -30,4 +33,17 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     // 4. Counts
     long countByIsGhostTrue();
+
+    // 5. Incremental aggregates (MySQL evaluates single-table SET left to right, so score sees the new counters)
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE `user` SET score_sum = score_sum + :scoreDelta, scored_count = scored_count + :countDelta, " +
+            "commit_count = commit_count + :commitDelta, " +
+            "score = IF(scored_count > 0, score_sum DIV scored_count, 0), total_score = commit_count * score " +
+            "WHERE id = :userId", nativeQuery = true)
+    int applyScoreDelta(@Param("userId") Long userId, @Param("scoreDelta") long scoreDelta,
+            @Param("countDelta") long countDelta, @Param("commitDelta") long commitDelta);
+
+    // Keyset slice for the rotating reconciliation pass
+    @Query("SELECT u.id FROM User u WHERE u.id > :after ORDER BY u.id")
+    List<Long> findIdsAfter(@Param("after") Long after, org.springframework.data.domain.Limit limit);
 }
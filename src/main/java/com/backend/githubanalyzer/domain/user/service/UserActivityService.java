@@ -0,0 +1,277 @@
+package com.backend.githubanalyzer.domain.user.service;
+
+import com.backend.githubanalyzer.domain.analysis.event.CommitScoreChangedEvent;
+import com.backend.githubanalyzer.domain.commit.dto.CommitHeatmapResponse;
+import com.backend.githubanalyzer.domain.user.repository.UserDailyActivityRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.BitFieldSubCommands;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+// Per-user daily activity index. committed_at is stored naive in activity.stored-zone (GitHub gives UTC);
+// days are bucketed in activity.zone, which is what users see.
+//   user_daily_activity            (user_id, activity_date) -> commit rows, source of truth for heatmaps
+//   activity:days:{userId}         Redis bitmap, bit = epoch day, for streaks
+//   activity:days:{userId}:built   set once the bitmap has been seeded from the table
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserActivityService {
+
+    private static final String KEY_PREFIX = "activity:days:";
+    // BITFIELD reads at most 63 bits unsigned
+    private static final int CHUNK_BITS = 63;
+    private static final int CHUNKS_PER_READ = 6;
+    private static final int SCAN_BATCH = 500;
+    private static final String BACKFILL_LOCK_KEY = "activity:backfill:lock";
+
+    private final UserDailyActivityRepository activityRepository;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${activity.zone:Asia/Seoul}")
+    private String zone;
+
+    @Value("${activity.stored-zone:UTC}")
+    private String storedZone;
+
+    public LocalDate toLocalDay(LocalDateTime committedAt) {
+        return committedAt.atZone(ZoneId.of(storedZone)).withZoneSameInstant(ZoneId.of(zone)).toLocalDate();
+    }
+
+    // Inverse of toLocalDay: where the given activity.zone day starts in stored committed_at time
+    public LocalDateTime startOfDayStored(LocalDate day) {
+        return day.atStartOfDay(ZoneId.of(zone)).withZoneSameInstant(ZoneId.of(storedZone)).toLocalDateTime();
+    }
+
+    public LocalDate today() {
+        return LocalDate.now(ZoneId.of(zone));
+    }
+
+    // Inside the ingest transaction, alongside the other counters
+    public void applyDelta(Long userId, LocalDateTime committedAt, long commitDelta) {
+        if (committedAt == null || commitDelta == 0) {
+            return;
+        }
+        jdbcTemplate.update("INSERT INTO user_daily_activity (user_id, activity_date, commit_count) " +
+                "VALUES (:userId, :day, :delta) AS new ON DUPLICATE KEY UPDATE commit_count = commit_count + new.commit_count",
+                new MapSqlParameterSource()
+                        .addValue("userId", userId)
+                        .addValue("day", toLocalDay(committedAt))
+                        .addValue("delta", commitDelta));
+    }
+
+    // Batched applyDelta for an ingestion chunk: one upsert per (user, day) in a single JDBC batch
+    public void applyCommitsAdded(java.util.Collection<com.backend.githubanalyzer.domain.commit.entity.Commit> commits) {
+        java.util.Map<Long, java.util.Map<LocalDate, Long>> counts = new java.util.HashMap<>();
+        for (com.backend.githubanalyzer.domain.commit.entity.Commit commit : commits) {
+            if (commit.getCommittedAt() != null) {
+                counts.computeIfAbsent(commit.getAuthor().getId(), k -> new java.util.HashMap<>())
+                        .merge(toLocalDay(commit.getCommittedAt()), 1L, Long::sum);
+            }
+        }
+        List<MapSqlParameterSource> rows = new java.util.ArrayList<>();
+        counts.forEach((userId, days) -> days.forEach((day, delta) -> rows.add(new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("day", day)
+                .addValue("delta", delta))));
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO user_daily_activity (user_id, activity_date, commit_count) " +
+                "VALUES (:userId, :day, :delta) AS new ON DUPLICATE KEY UPDATE commit_count = commit_count + new.commit_count",
+                rows.toArray(new MapSqlParameterSource[0]));
+    }
+
+    // Bitmap only ever gains bits; a day whose commits were all removed stays set until the next rebuild
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommitScoreChanged(CommitScoreChangedEvent event) {
+        if (event.commitDelta() <= 0 || event.committedAt() == null) {
+            return;
+        }
+        try {
+            stringRedisTemplate.opsForValue().setBit(key(event.userId()),
+                    toLocalDay(event.committedAt()).toEpochDay(), true);
+        } catch (Exception e) {
+            log.warn("Failed to update activity bitmap for user {}: {}", event.userId(), e.getMessage());
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<CommitHeatmapResponse> getHeatmap(Long userId, LocalDate from, LocalDate to) {
+        return activityRepository.findRange(userId,
+                from != null ? from : LocalDate.EPOCH,
+                to != null ? to : today()).stream()
+                .map(a -> CommitHeatmapResponse.builder()
+                        .date(a.getId().getActivityDate().toString())
+                        .count(a.getCommitCount())
+                        .build())
+                .toList();
+    }
+
+    // Consecutive active days ending today, or yesterday if today has nothing yet
+    public int getCurrentStreak(Long userId) {
+        try {
+            String key = ensureBitmap(userId);
+            long today = today().toEpochDay();
+            int streak = runEndingAt(key, today);
+            return streak > 0 ? streak : runEndingAt(key, today - 1);
+        } catch (Exception e) {
+            log.warn("Activity bitmap unavailable for user {}, falling back to table: {}", userId, e.getMessage());
+            return streakFromTable(userId);
+        }
+    }
+
+    // Reads the bitmap backwards in 63-day words; the run length is the trailing ones of each word
+    private int runEndingAt(String key, long endDay) {
+        int run = 0;
+        long end = endDay;
+        while (end >= 0) {
+            BitFieldSubCommands commands = BitFieldSubCommands.create();
+            int chunks = 0;
+            for (long start = end - CHUNK_BITS + 1; start >= 0 && chunks < CHUNKS_PER_READ; start -= CHUNK_BITS) {
+                commands = commands.get(BitFieldSubCommands.BitFieldType.unsigned(CHUNK_BITS)).valueAt(start);
+                chunks++;
+            }
+            if (chunks == 0) {
+                return run;
+            }
+            List<Long> words = stringRedisTemplate.opsForValue().bitField(key, commands);
+            if (words == null || words.isEmpty()) {
+                return run;
+            }
+            for (Long word : words) {
+                // Bit 63 of ~word is always set, so this is at most 63
+                int ones = Long.numberOfTrailingZeros(~(word != null ? word : 0L));
+                run += ones;
+                if (ones < CHUNK_BITS) {
+                    return run;
+                }
+            }
+            end -= (long) words.size() * CHUNK_BITS;
+        }
+        return run;
+    }
+
+    private String ensureBitmap(Long userId) {
+        String key = key(userId);
+        if (Boolean.TRUE.equals(stringRedisTemplate.hasKey(key + ":built"))) {
+            return key;
+        }
+        // Live SETBITs may already have created the key; seeding only adds bits so ordering doesn't matter
+        List<LocalDate> days = activityRepository.findActiveDates(userId);
+        stringRedisTemplate.executePipelined((org.springframework.data.redis.core.RedisCallback<Object>) connection -> {
+            byte[] rawKey = key.getBytes(java.nio.charset.StandardCharsets.UTF_8);
+            for (LocalDate day : days) {
+                connection.stringCommands().setBit(rawKey, day.toEpochDay(), true);
+            }
+            return null;
+        });
+        stringRedisTemplate.opsForValue().set(key + ":built", "1");
+        return key;
+    }
+
+    private int streakFromTable(Long userId) {
+        java.util.Set<LocalDate> days = new java.util.HashSet<>(activityRepository.findActiveDates(userId));
+        LocalDate day = today();
+        if (!days.contains(day)) {
+            day = day.minusDays(1);
+        }
+        int streak = 0;
+        while (days.contains(day)) {
+            streak++;
+            day = day.minusDays(1);
+        }
+        return streak;
+    }
+
+    // Rebuilds the table from commits and drops the bitmaps so they are re-seeded on next read.
+    // DELETE + INSERT share one transaction (a template, so self-invocation can't skip it): readers see the
+    // old rows until the new ones commit, and a failed insert leaves the old ones in place.
+    public void rebuild() {
+        // Fixed offset between the two zones as of now; Asia/Seoul has no DST
+        Instant now = Instant.now();
+        int offsetSeconds = ZoneId.of(zone).getRules().getOffset(now).getTotalSeconds()
+                - ZoneId.of(storedZone).getRules().getOffset(now).getTotalSeconds();
+        MapSqlParameterSource params = new MapSqlParameterSource("offset", offsetSeconds);
+
+        Integer rows = transactionTemplate.execute(status -> {
+            jdbcTemplate.update("DELETE FROM user_daily_activity", params);
+            return jdbcTemplate.update("INSERT INTO user_daily_activity (user_id, activity_date, commit_count) " +
+                    "SELECT author_id, DATE(DATE_ADD(committed_at, INTERVAL :offset SECOND)), COUNT(*) FROM commits " +
+                    "WHERE author_id IS NOT NULL AND committed_at IS NOT NULL GROUP BY author_id, 2", params);
+        });
+
+        long dropped = dropBitmaps();
+        log.info("Rebuilt user daily activity: {} user-days, {} bitmap keys dropped", rows, dropped);
+    }
+
+    // SCAN rather than KEYS, so a large keyspace never blocks Redis; deleted in batches as we go
+    private long dropBitmaps() {
+        long dropped = 0;
+        List<String> batch = new java.util.ArrayList<>();
+        ScanOptions options = ScanOptions.scanOptions().match(KEY_PREFIX + "*").count(SCAN_BATCH).build();
+        try (Cursor<String> cursor = stringRedisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() >= SCAN_BATCH) {
+                    dropped += deleteAll(batch);
+                }
+            }
+        }
+        return dropped + deleteAll(batch);
+    }
+
+    private long deleteAll(List<String> keys) {
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        Long deleted = stringRedisTemplate.delete(keys);
+        keys.clear();
+        return deleted != null ? deleted : 0;
+    }
+
+    // First start after the table was introduced; one node does it
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        try {
+            if (activityRepository.count() > 0 || !Boolean.TRUE.equals(stringRedisTemplate.opsForValue()
+                    .setIfAbsent(BACKFILL_LOCK_KEY, "1", Duration.ofMinutes(30)))) {
+                return;
+            }
+            try {
+                // Another node may have finished between the count and the lock
+                if (activityRepository.count() == 0) {
+                    rebuild();
+                }
+            } finally {
+                stringRedisTemplate.delete(BACKFILL_LOCK_KEY);
+            }
+        } catch (Exception e) {
+            log.error("Failed to backfill user daily activity", e);
+        }
+    }
+
+    private String key(Long userId) {
+        return KEY_PREFIX + userId;
+    }
+}
@@ -4,7 +4,6 @@ import com.backend.githubanalyzer.domain.user.dto.UserResponse;
 import com.backend.githubanalyzer.domain.user.dto.UserUpdateRequest;
 import com.backend.githubanalyzer.domain.user.entity.User;
 import com.backend.githubanalyzer.domain.user.repository.UserRepository;
-import com.backend.githubanalyzer.domain.commit.repository.CommitRepository;
 import com.backend.githubanalyzer.domain.commit.dto.CommitHeatmapResponse;
 import com.backend.githubanalyzer.domain.contribution.repository.ContributionRepository;
 import com.backend.githubanalyzer.domain.repository.dto.GithubRepositoryResponse;
@@ -22,8 +21,10 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class UserService {
         private final UserRepository userRepository;
-        private final CommitRepository commitRepository;
         private final ContributionRepository contributionRepository;
+        private final UserActivityService userActivityService;
+        private final com.backend.githubanalyzer.domain.analysis.service.ScoreAggregationService scoreAggregationService;
+        private final com.backend.githubanalyzer.domain.dashboard.service.UserProfileCacheEvictor userProfileCacheEvictor;
 
         @Transactional(readOnly = true)
         public UserResponse getMe(String username) {
@@ -64,6 +65,7 @@ public class UserService {
                         user.setNotifyWeekly(request.getNotifyWeekly());
 
                 userRepository.save(user);
+                userProfileCacheEvictor.evict(user.getId());
                 return getMe(username);
         }
 
@@ -96,7 +98,10 @@ public class UserService {
                                                 .build();
                         }
                 }
-                return userRepository.save(user);
+                User saved = userRepository.save(user);
+                // Username and avatar are on the public profile
+                userProfileCacheEvictor.evict(saved.getId());
+                return saved;
         }
 
         public User findByGithubId(String githubId) {
@@ -127,6 +132,49 @@ public class UserService {
                                 });
         }
 
+        // Bulk getOrCreateGhostUser for an ingestion chunk: one lookup, inserts only for unseen authors
+        @Transactional
+        public java.util.Map<String, User> resolveGhostUsers(
+                        java.util.Collection<com.backend.githubanalyzer.infra.github.dto.GithubCommitResponse.GithubUser> authors) {
+                java.util.Map<String, com.backend.githubanalyzer.infra.github.dto.GithubCommitResponse.GithubUser> byGithubId =
+                                new java.util.LinkedHashMap<>();
+                for (var author : authors) {
+                        byGithubId.putIfAbsent(String.valueOf(author.getId()), author);
+                }
+                if (byGithubId.isEmpty()) {
+                        return new java.util.HashMap<>();
+                }
+
+                java.util.Map<String, User> resolved = new java.util.HashMap<>();
+                List<User> changed = new java.util.ArrayList<>();
+                for (User user : userRepository.findAllByGithubIdIn(byGithubId.keySet())) {
+                        String avatarUrl = byGithubId.get(user.getGithubId()).getAvatarUrl();
+                        if (user.getIsGhost() && avatarUrl != null && user.getProfileUrl() == null) {
+                                user.setProfileUrl(avatarUrl);
+                                changed.add(user);
+                        }
+                        resolved.put(user.getGithubId(), user);
+                }
+                userRepository.saveAll(changed);
+
+                List<User> ghosts = byGithubId.entrySet().stream()
+                                .filter(e -> !resolved.containsKey(e.getKey()))
+                                .map(e -> User.builder()
+                                                .githubId(e.getKey())
+                                                .username(e.getValue().getLogin())
+                                                .email(null)
+                                                .profileUrl(e.getValue().getAvatarUrl())
+                                                .isGhost(true)
+                                                .notifySprint(false)
+                                                .notifyWeekly(false)
+                                                .build())
+                                .collect(Collectors.toList());
+                for (User ghost : userRepository.saveAll(ghosts)) {
+                        resolved.put(ghost.getGithubId(), ghost);
+                }
+                return resolved;
+        }
+
         public User findById(Long id) {
                 return userRepository.findById(id).orElse(null);
         }
@@ -152,21 +200,10 @@ public class UserService {
                 user.setPublicRepos(publicRepos);
         }
 
+        // Full recompute of the user's counters (score_sum/scored_count included), same path as reconciliation
         @Transactional
         public void refreshUserStats(User user) {
-                userRepository.findById(user.getId()).ifPresent(u -> {
-                        long totalCount = commitRepository.countByAuthorId(user.getId());
-                        long completedCount = commitRepository.countCompletedByAuthorId(user.getId());
-                        Long totalCompletedScore = commitRepository.sumCompletedScoreByAuthorId(user.getId());
-
-                        long avgScore = (completedCount > 0) ? (totalCompletedScore / completedCount) : 0L;
-
-                        u.setCommitCount(totalCount);
-                        u.setScore(avgScore);
-                        // Formula: commit count * average score
-                        u.setTotalScore(totalCount * avgScore);
-                        userRepository.save(u);
-                });
+                scoreAggregationService.recomputeUsers(List.of(user.getId()));
         }
 
         @Transactional
@@ -179,18 +216,14 @@ public class UserService {
         }
 
         @Transactional(readOnly = true)
-        public List<CommitHeatmapResponse> getUserHeatmap(String username) {
+        public List<CommitHeatmapResponse> getUserHeatmap(String username, java.time.LocalDate from,
+                        java.time.LocalDate to) {
                 User user = userRepository.findByUsername(username)
                                 .orElseThrow(() -> new IllegalArgumentException(
                                                 "User not found with username: " + username));
 
-                List<Object[]> results = commitRepository.countCommitsByDayForUser_Native(user.getId());
-                return results.stream()
-                                .map(row -> CommitHeatmapResponse.builder()
-                                                .date(row[0].toString())
-                                                .count(((Number) row[1]).longValue())
-                                                .build())
-                                .collect(Collectors.toList());
+                // Range read from the daily activity index (days in activity.zone)
+                return userActivityService.getHeatmap(user.getId(), from, to);
         }
 
         @Transactional(readOnly = true)
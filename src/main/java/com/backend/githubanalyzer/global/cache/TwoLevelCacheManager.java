@@ -0,0 +1,89 @@
+package com.backend.githubanalyzer.global.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Wraps the RedisCacheManager. Caches named in twoLevelCaches get a per-node Caffeine L1;
+// everything else is served by Redis alone, as before.
+// Invalidation messages on the channel are "{nodeId}|{cacheName}|{key}", with an empty key for clear().
+@Slf4j
+public class TwoLevelCacheManager implements CacheManager {
+
+    private final CacheManager remote;
+    private final Set<String> twoLevelCaches;
+    private final Duration localTtl;
+    private final long localMaxSize;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final String channel;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+    private final Map<String, Cache> decorated = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(CacheManager remote, Set<String> twoLevelCaches, Duration localTtl,
+            long localMaxSize, StringRedisTemplate stringRedisTemplate, MeterRegistry meterRegistry, String channel) {
+        this.remote = remote;
+        this.twoLevelCaches = twoLevelCaches;
+        this.localTtl = localTtl;
+        this.localMaxSize = localMaxSize;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.channel = channel;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        if (!twoLevelCaches.contains(name)) {
+            return remote.getCache(name);
+        }
+        // Puts and evictions inside a transaction wait for the commit, so readers can't re-cache the old row
+        return decorated.computeIfAbsent(name, n -> new TransactionAwareCacheDecorator(
+                caches.computeIfAbsent(n, key -> new TwoLevelCache(key,
+                        Caffeine.newBuilder()
+                                .expireAfterWrite(localTtl)
+                                .maximumSize(localMaxSize)
+                                .build(),
+                        remote.getCache(key), this, meterRegistry))));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        Set<String> names = new LinkedHashSet<>(remote.getCacheNames());
+        names.addAll(twoLevelCaches);
+        return Collections.unmodifiableSet(names);
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    void publishEviction(String cacheName, String key) {
+        try {
+            stringRedisTemplate.convertAndSend(channel, nodeId + "|" + cacheName + "|" + (key != null ? key : ""));
+        } catch (Exception e) {
+            // Other nodes fall back to the L1 TTL
+            log.warn("Failed to publish eviction for cache {}: {}", cacheName, e.getMessage());
+        }
+    }
+
+    public void onInvalidation(String message) {
+        String[] parts = message.split("\\|", 3);
+        if (parts.length < 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+        TwoLevelCache cache = caches.get(parts[1]);
+        if (cache != null) {
+            cache.evictLocal(parts[2].isEmpty() ? null : parts[2]);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.backend.githubanalyzer.global.cache;
+
+import com.backend.githubanalyzer.domain.analysis.event.CommitScoreChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+// Version counters behind the ETags of the aggregate read endpoints, in one Redis hash:
+//   versions  scores -> n, sprints -> n, user:{id} -> n, repo:{id} -> n, sprint:{id} -> n, _epoch -> random
+// A version only moves after the change is committed, so a tag never labels a body built from old rows.
+// The epoch is part of every tag: if the hash is lost, counters restart at 0 without reviving old tags.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VersionStampService {
+
+    private static final String KEY = "versions";
+    private static final String EPOCH = "_epoch";
+
+    // Any score or commit count; rankings and leaderboards
+    public static final String SCORES = "scores";
+    // Any sprint registration, membership or window change; sprint-scoped rankings and dashboards
+    public static final String SPRINTS = "sprints";
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    public static String user(Long userId) {
+        return "user:" + userId;
+    }
+
+    public static String repo(String repoId) {
+        return "repo:" + repoId;
+    }
+
+    public static String sprint(String sprintId) {
+        return "sprint:" + sprintId;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommitScoreChanged(CommitScoreChangedEvent event) {
+        bump(SCORES, user(event.userId()), repo(event.repoId()));
+    }
+
+    // Deferred to after commit when called inside a transaction. afterCompletion rather than afterCommit,
+    // so a bump registered from another afterCommit callback still runs.
+    public void bump(String... refs) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        increment(List.of(refs));
+                    }
+                }
+            });
+        } else {
+            increment(List.of(refs));
+        }
+    }
+
+    public void bumpAll(Collection<String> refs) {
+        bump(refs.toArray(String[]::new));
+    }
+
+    private void increment(Collection<String> refs) {
+        try {
+            byte[] key = KEY.getBytes(StandardCharsets.UTF_8);
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (String ref : refs) {
+                    connection.hashCommands().hIncrBy(key, ref.getBytes(StandardCharsets.UTF_8), 1L);
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            // Clients keep a stale tag until the next bump; the bodies themselves are unaffected
+            log.warn("Failed to bump versions {}: {}", refs, e.getMessage());
+        }
+    }
+
+    // Strong tag over the given versions plus a caller variant (e.g. the current day for rolling windows).
+    // Format: "{epoch}:{variant}:{ref}={version},..."
+    public String etag(String variant, String... refs) {
+        List<String> fields = new ArrayList<>(refs.length + 1);
+        fields.add(EPOCH);
+        fields.addAll(List.of(refs));
+        List<Object> values = stringRedisTemplate.opsForHash().multiGet(KEY, new ArrayList<>(fields));
+        Object epoch = values.get(0);
+        if (epoch == null) {
+            stringRedisTemplate.opsForHash().putIfAbsent(KEY, EPOCH, UUID.randomUUID().toString().substring(0, 8));
+            epoch = stringRedisTemplate.opsForHash().get(KEY, EPOCH);
+        }
+        StringBuilder tag = new StringBuilder("\"").append(epoch).append(':').append(variant);
+        for (int i = 0; i < refs.length; i++) {
+            Object version = values.get(i + 1);
+            tag.append(i == 0 ? ':' : ',').append(refs[i]).append('=').append(version != null ? version : "0");
+        }
+        return tag.append('"').toString();
+    }
+}
@@ -1,8 +1,11 @@
 package com.backend.githubanalyzer.global.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
 import java.util.concurrent.Executor;
 
@@ -30,4 +33,25 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    // Bounds how many aggregation chunks hit the DB at once
+    @Bean(name = "statsAggregationExecutor")
+    public Executor statsAggregationExecutor(@Value("${aggregation.parallelism:4}") int parallelism) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setQueueCapacity(Integer.MAX_VALUE);
+        executor.setThreadNamePrefix("StatsAggregation-");
+        executor.initialize();
+        return executor;
+    }
+
+    // Blocking JDBC steps of the reactive analysis pipeline run here, so LLM calls in flight
+    // don't hold threads. Keep the cap below the Hikari pool size.
+    @Bean(name = "analysisDbScheduler", destroyMethod = "dispose")
+    public Scheduler analysisDbScheduler(
+            @Value("${analysis.pipeline.db-threads:10}") int dbThreads,
+            @Value("${analysis.pipeline.db-queue-capacity:10000}") int dbQueueCapacity) {
+        return Schedulers.newBoundedElastic(dbThreads, dbQueueCapacity, "AnalysisDb");
+    }
 }
@@ -0,0 +1,28 @@
+package com.backend.githubanalyzer.global.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import java.util.List;
+
+@Getter
+@Builder
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Schema(description = "Cursor-Paginated Response Wrapper")
+public class CursorPageResponse<T> {
+
+    @Schema(description = "Current page content")
+    private final List<T> content;
+
+    @Schema(description = "Opaque cursor for the next page, null on the last page")
+    private final String nextCursor;
+
+    @Schema(description = "Whether there is a next page", example = "true")
+    private final boolean hasNext;
+
+    public static <T> CursorPageResponse<T> of(List<T> content, String nextCursor) {
+        return new CursorPageResponse<>(content, nextCursor, nextCursor != null);
+    }
+}
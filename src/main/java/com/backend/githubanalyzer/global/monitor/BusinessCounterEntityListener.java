@@ -0,0 +1,115 @@
+package com.backend.githubanalyzer.global.monitor;
+
+import com.backend.githubanalyzer.domain.repository.entity.GithubRepository;
+import com.backend.githubanalyzer.domain.sprint.entity.Sprint;
+import com.backend.githubanalyzer.domain.team.entity.Team;
+import com.backend.githubanalyzer.domain.user.entity.User;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.Set;
+
+// Moves the business counters after a transaction commits, so rolled-back inserts never count.
+// Updates only matter for the two tracked transitions (ghost -> registered, repo sync COMPLETED).
+@Component
+@RequiredArgsConstructor
+public class BusinessCounterEntityListener implements PostCommitInsertEventListener,
+        PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private static final Set<Class<?>> TRACKED = Set.of(User.class, GithubRepository.class, Team.class,
+            Sprint.class);
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final BusinessCounterService businessCounterService;
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getEventListenerRegistry();
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return TRACKED.contains(persister.getMappedClass());
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        count(event.getEntity(), 1);
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        count(event.getEntity(), -1);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getOldState() == null) {
+            return;
+        }
+        if (event.getEntity() instanceof User) {
+            boolean wasGhost = Boolean.TRUE.equals(property(event, event.getOldState(), "isGhost"));
+            boolean isGhost = Boolean.TRUE.equals(property(event, event.getState(), "isGhost"));
+            if (wasGhost != isGhost) {
+                businessCounterService.increment(BusinessCounterService.GHOST_USERS, isGhost ? 1 : -1);
+            }
+        } else if (event.getEntity() instanceof GithubRepository) {
+            boolean wasCompleted = "COMPLETED".equals(property(event, event.getOldState(), "syncStatus"));
+            boolean isCompleted = "COMPLETED".equals(property(event, event.getState(), "syncStatus"));
+            if (wasCompleted != isCompleted) {
+                businessCounterService.increment(BusinessCounterService.COMPLETED_REPOS, isCompleted ? 1 : -1);
+            }
+        }
+    }
+
+    private void count(Object entity, int delta) {
+        if (entity instanceof User user) {
+            businessCounterService.increment(BusinessCounterService.USERS, delta);
+            if (Boolean.TRUE.equals(user.getIsGhost())) {
+                businessCounterService.increment(BusinessCounterService.GHOST_USERS, delta);
+            }
+        } else if (entity instanceof GithubRepository repository) {
+            businessCounterService.increment(BusinessCounterService.REPOS, delta);
+            if ("COMPLETED".equals(repository.getSyncStatus())) {
+                businessCounterService.increment(BusinessCounterService.COMPLETED_REPOS, delta);
+            }
+        } else if (entity instanceof Team) {
+            businessCounterService.increment(BusinessCounterService.TEAMS, delta);
+        } else if (entity instanceof Sprint) {
+            businessCounterService.increment(BusinessCounterService.SPRINTS, delta);
+        }
+    }
+
+    private Object property(PostUpdateEvent event, Object[] state, String name) {
+        String[] names = event.getPersister().getPropertyNames();
+        for (int i = 0; i < names.length; i++) {
+            if (Objects.equals(names[i], name)) {
+                return state[i];
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+}
@@ -0,0 +1,111 @@
+package com.backend.githubanalyzer.global.monitor;
+
+import com.backend.githubanalyzer.domain.analysis.event.CommitScoreChangedEvent;
+import com.backend.githubanalyzer.domain.commit.entity.AnalysisStatus;
+import com.backend.githubanalyzer.domain.commit.repository.CommitRepository;
+import com.backend.githubanalyzer.domain.repository.repository.GithubRepositoryRepository;
+import com.backend.githubanalyzer.domain.sprint.repository.SprintRepository;
+import com.backend.githubanalyzer.domain.team.repository.TeamRepository;
+import com.backend.githubanalyzer.domain.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+// Cluster-wide business counters in one Redis hash, moved by events so the metrics scrape is a single HGETALL.
+// Commits follow CommitScoreChangedEvent; users, repos, teams and sprints follow Hibernate post-commit
+// entity events (BusinessCounterEntityListener). A low-frequency job on one node resets them from COUNT(*).
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BusinessCounterService {
+
+    public static final String USERS = "users";
+    public static final String GHOST_USERS = "users.ghost";
+    public static final String TEAMS = "teams";
+    public static final String SPRINTS = "sprints";
+    public static final String REPOS = "repos";
+    public static final String COMPLETED_REPOS = "repos.completed";
+    public static final String COMMITS = "commits";
+    public static final String COMPLETED_COMMITS = "commits.completed";
+
+    private static final String COUNTERS_KEY = "metrics:business";
+    private static final String RECONCILE_LOCK_KEY = "metrics:business:reconcile:lock";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final UserRepository userRepository;
+    private final TeamRepository teamRepository;
+    private final SprintRepository sprintRepository;
+    private final GithubRepositoryRepository githubRepositoryRepository;
+    private final CommitRepository commitRepository;
+
+    @Value("${metrics.business.reconcile-interval-ms:21600000}")
+    private long reconcileIntervalMs;
+
+    public void increment(String counter, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        try {
+            stringRedisTemplate.opsForHash().increment(COUNTERS_KEY, counter, delta);
+        } catch (Exception e) {
+            // Drift is corrected by the next reconciliation
+            log.warn("Failed to update business counter {}: {}", counter, e.getMessage());
+        }
+    }
+
+    // countDelta moves with COMPLETED status, commitDelta with inserted commit rows
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommitScoreChanged(CommitScoreChangedEvent event) {
+        increment(COMMITS, event.commitDelta());
+        increment(COMPLETED_COMMITS, event.countDelta());
+    }
+
+    // Empty until the first reconciliation has seeded the hash
+    public Map<String, Long> getCounters() {
+        Map<Object, Object> raw = stringRedisTemplate.opsForHash().entries(COUNTERS_KEY);
+        Map<String, Long> counters = new HashMap<>();
+        raw.forEach((k, v) -> counters.put(k.toString(), Long.parseLong(v.toString())));
+        return counters;
+    }
+
+    @Scheduled(fixedDelayString = "${metrics.business.reconcile-interval-ms:21600000}", initialDelay = 30000)
+    public void reconcile() {
+        // One node per interval; seeds the hash on first start
+        Boolean acquired = stringRedisTemplate.opsForValue().setIfAbsent(RECONCILE_LOCK_KEY, "1",
+                Duration.ofMillis(reconcileIntervalMs / 2));
+        if (!Boolean.TRUE.equals(acquired)) {
+            return;
+        }
+        try {
+            Map<String, String> counters = new HashMap<>();
+            counters.put(USERS, String.valueOf(userRepository.count()));
+            counters.put(GHOST_USERS, String.valueOf(userRepository.countByIsGhostTrue()));
+            counters.put(TEAMS, String.valueOf(teamRepository.count()));
+            counters.put(SPRINTS, String.valueOf(sprintRepository.count()));
+            counters.put(REPOS, String.valueOf(githubRepositoryRepository.count()));
+            counters.put(COMPLETED_REPOS, String.valueOf(githubRepositoryRepository.countBySyncStatus("COMPLETED")));
+            counters.put(COMMITS, String.valueOf(commitRepository.count()));
+            counters.put(COMPLETED_COMMITS,
+                    String.valueOf(commitRepository.countByAnalysisStatus(AnalysisStatus.COMPLETED)));
+
+            Map<String, Long> before = getCounters();
+            stringRedisTemplate.opsForHash().putAll(COUNTERS_KEY, counters);
+            counters.forEach((name, value) -> {
+                Long previous = before.get(name);
+                if (previous != null && previous != Long.parseLong(value)) {
+                    log.info("Business counter {} drifted: {} -> {}", name, previous, value);
+                }
+            });
+        } catch (Exception e) {
+            log.error("Business counter reconciliation failed", e);
+        }
+    }
+}
@@ -1,11 +1,5 @@
 package com.backend.githubanalyzer.global.monitor;
 
-import com.backend.githubanalyzer.domain.commit.entity.AnalysisStatus;
-import com.backend.githubanalyzer.domain.commit.repository.CommitRepository;
-import com.backend.githubanalyzer.domain.repository.repository.GithubRepositoryRepository;
-import com.backend.githubanalyzer.domain.sprint.repository.SprintRepository;
-import com.backend.githubanalyzer.domain.team.repository.TeamRepository;
-import com.backend.githubanalyzer.domain.user.repository.UserRepository;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tags;
 import lombok.RequiredArgsConstructor;
@@ -13,6 +7,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -22,11 +17,7 @@ import java.util.concurrent.atomic.AtomicReference;
 public class MetricsService {
 
     private final MeterRegistry meterRegistry;
-    private final UserRepository userRepository;
-    private final TeamRepository teamRepository;
-    private final SprintRepository sprintRepository;
-    private final GithubRepositoryRepository githubRepositoryRepository;
-    private final CommitRepository commitRepository;
+    private final BusinessCounterService businessCounterService;
     private final org.springframework.data.redis.core.RedisTemplate<String, Object> redisTemplate;
 
     // Gauges (AtomicLongs to hold value)
@@ -84,6 +75,14 @@ public class MetricsService {
         meterRegistry.counter("external.api.requests", "target", target).increment();
     }
 
+    public void incrementAnalysisFastPath(String rule) {
+        meterRegistry.counter("analysis.fastpath", "rule", rule).increment();
+    }
+
+    public void recordChatTimeToFirstToken(java.time.Duration duration) {
+        meterRegistry.timer("chat.stream.ttft").record(duration);
+    }
+
     public void updateGithubRateLimits(long limit, long remaining) {
         githubRateLimit.set(limit);
         githubRateRemaining.set(remaining);
@@ -94,33 +93,46 @@ public class MetricsService {
         meterRegistry.timer("job.execution.time", "job", jobName).record(task);
     }
 
+    // For async jobs where the work doesn't fit in a Runnable
+    public void recordJobDuration(String jobName, java.time.Duration duration) {
+        meterRegistry.timer("job.execution.time", "job", jobName).record(duration);
+    }
+
+    public <T extends Number> T registerGauge(String name, T number) {
+        return meterRegistry.gauge(name, number);
+    }
+
     // Scheduled task to update business metrics
     @Scheduled(fixedRate = 60000) // Update every minute
     public void updateBusinessMetrics() {
         try {
-            long total = userRepository.count();
-            long ghosts = userRepository.countByIsGhostTrue();
-
-            totalUsers.set(total);
-            ghostUsers.set(ghosts);
-            activeUsers.set(total - ghosts);
-
-            totalTeams.set(teamRepository.count());
-            totalSprints.set(sprintRepository.count());
-
-            // Repo Stats
-            long repoCount = githubRepositoryRepository.count();
-            long repoAnalyzedCount = githubRepositoryRepository.countBySyncStatus("COMPLETED");
-            totalRepos.set(repoCount);
-            analyzedRepos.set(repoAnalyzedCount);
-            repoAnalysisPercent.set(repoCount > 0 ? (double) repoAnalyzedCount / repoCount * 100.0 : 0.0);
-
-            // Commit Stats
-            long commitCount = commitRepository.count();
-            long commitAnalyzedCount = commitRepository.countByAnalysisStatus(AnalysisStatus.COMPLETED);
-            totalCommits.set(commitCount);
-            analyzedCommits.set(commitAnalyzedCount);
-            commitAnalysisPercent.set(commitCount > 0 ? (double) commitAnalyzedCount / commitCount * 100.0 : 0.0);
+            // Event-maintained counters (BusinessCounterService), no table scans on the scrape path
+            Map<String, Long> counters = businessCounterService.getCounters();
+            if (!counters.isEmpty()) {
+                long total = counters.getOrDefault(BusinessCounterService.USERS, 0L);
+                long ghosts = counters.getOrDefault(BusinessCounterService.GHOST_USERS, 0L);
+
+                totalUsers.set(total);
+                ghostUsers.set(ghosts);
+                activeUsers.set(total - ghosts);
+
+                totalTeams.set(counters.getOrDefault(BusinessCounterService.TEAMS, 0L));
+                totalSprints.set(counters.getOrDefault(BusinessCounterService.SPRINTS, 0L));
+
+                // Repo Stats
+                long repoCount = counters.getOrDefault(BusinessCounterService.REPOS, 0L);
+                long repoAnalyzedCount = counters.getOrDefault(BusinessCounterService.COMPLETED_REPOS, 0L);
+                totalRepos.set(repoCount);
+                analyzedRepos.set(repoAnalyzedCount);
+                repoAnalysisPercent.set(repoCount > 0 ? (double) repoAnalyzedCount / repoCount * 100.0 : 0.0);
+
+                // Commit Stats
+                long commitCount = counters.getOrDefault(BusinessCounterService.COMMITS, 0L);
+                long commitAnalyzedCount = counters.getOrDefault(BusinessCounterService.COMPLETED_COMMITS, 0L);
+                totalCommits.set(commitCount);
+                analyzedCommits.set(commitAnalyzedCount);
+                commitAnalysisPercent.set(commitCount > 0 ? (double) commitAnalyzedCount / commitCount * 100.0 : 0.0);
+            }
 
             // Queue Sizes
             Long syncSize = redisTemplate.opsForList().size("github:sync:commit_queue");
@@ -53,5 +53,8 @@ public class GithubCommitResponse {
     public static class GithubFileResponse {
         private String filename;
         private String patch;
+        private String status; // added, removed, modified, renamed, copied, changed, unchanged
+        private Integer additions;
+        private Integer deletions;
     }
 }
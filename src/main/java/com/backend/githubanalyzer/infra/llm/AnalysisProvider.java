@@ -0,0 +1,21 @@
+package com.backend.githubanalyzer.infra.llm;
+
+import com.backend.githubanalyzer.infra.openai.dto.OpenAiAnalysisResponse;
+import reactor.core.publisher.Mono;
+
+// Selected with analysis.provider (openai | local)
+public interface AnalysisProvider {
+
+    Mono<OpenAiAnalysisResponse> analyze(AnalysisRequest request);
+
+    // Metric tag for external request counters
+    String name();
+
+    // Stored on the commit as analysisModel
+    String modelName();
+
+    // False while the provider is known to be down; the queue worker stops admitting jobs
+    default boolean isAvailable() {
+        return true;
+    }
+}
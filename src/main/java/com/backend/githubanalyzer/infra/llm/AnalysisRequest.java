@@ -0,0 +1,5 @@
+package com.backend.githubanalyzer.infra.llm;
+
+// Prompts for LLM-backed providers plus the raw commit data for providers that score it directly
+public record AnalysisRequest(String commitSha, String systemPrompt, String userPrompt, String message, String diff) {
+}
@@ -0,0 +1,150 @@
+package com.backend.githubanalyzer.infra.llm;
+
+import com.backend.githubanalyzer.infra.openai.dto.OpenAiAnalysisResponse;
+import com.backend.githubanalyzer.infra.openai.dto.OpenAiAnalysisResponse.RiskResult;
+import com.backend.githubanalyzer.infra.openai.dto.OpenAiAnalysisResponse.ScoreResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+// Offline provider for load tests and CI: no network, same commit -> same scores, latency and failures.
+// Scores are heuristics over diff stats, good enough to exercise normalization and aggregation.
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "analysis.provider", havingValue = "local")
+public class LocalAnalysisProvider implements AnalysisProvider {
+
+    private static final Pattern CONVENTIONAL_PREFIX = Pattern
+            .compile("^(feat|fix|refactor|perf|docs|test|chore|build|ci|style|revert)(\\(.+\\))?!?: .+");
+
+    @Value("${analysis.local.latency-ms:1500}")
+    private long latencyMs;
+
+    @Value("${analysis.local.latency-jitter-ms:1000}")
+    private long latencyJitterMs;
+
+    @Value("${analysis.local.error-rate:0.0}")
+    private double errorRate;
+
+    @Override
+    public Mono<OpenAiAnalysisResponse> analyze(AnalysisRequest request) {
+        long seed = seed(request);
+        long delay = latencyMs + (latencyJitterMs > 0 ? Math.floorMod(seed, latencyJitterMs + 1) : 0);
+        boolean fail = errorRate > 0 && Math.floorMod(seed >>> 16, 10_000) < errorRate * 10_000;
+
+        return Mono.delay(Duration.ofMillis(delay))
+                .flatMap(tick -> fail
+                        ? Mono.error(new IllegalStateException("Injected local analysis failure for " + request.commitSha()))
+                        : Mono.just(score(request, seed)));
+    }
+
+    @Override
+    public String name() {
+        return "local";
+    }
+
+    @Override
+    public String modelName() {
+        return "local-heuristic";
+    }
+
+    private OpenAiAnalysisResponse score(AnalysisRequest request, long seed) {
+        DiffStats stats = DiffStats.of(request.diff());
+        String message = request.message() != null ? request.message().trim() : "";
+        String subject = message.lines().findFirst().orElse("");
+        long churn = stats.additions() + stats.deletions();
+
+        long messageScore = 40;
+        if (subject.length() >= 10 && subject.length() <= 72)
+            messageScore += 20;
+        if (subject.length() < 10)
+            messageScore -= 20;
+        if (message.contains("\n\n"))
+            messageScore += 15; // has a body
+        if (CONVENTIONAL_PREFIX.matcher(subject).matches())
+            messageScore += 10;
+
+        long sizePenalty = churn > 1000 ? 35 : churn > 400 ? 20 : churn > 150 ? 8 : 0;
+        long codeScore = 65 - sizePenalty;
+
+        long scopeScore = stats.files() <= 5 ? 75 : stats.files() <= 15 ? 60 : 40;
+        long necessityScore = churn == 0 ? 20 : 60;
+        long correctnessScore = 70 - sizePenalty;
+        long testingScore = stats.testFiles() > 0 ? 70 : 30;
+
+        String riskLevel = churn > 800 || stats.files() > 20 ? "HIGH" : churn > 200 ? "MED" : "LOW";
+
+        List<String> strengths = new ArrayList<>();
+        List<String> issues = new ArrayList<>();
+        if (stats.testFiles() > 0)
+            strengths.add("Touches test files");
+        else
+            issues.add("No test changes");
+        if (stats.files() <= 5)
+            strengths.add("Focused change set");
+        if (churn > 400)
+            issues.add("Large diff (" + churn + " changed lines)");
+
+        return OpenAiAnalysisResponse.builder()
+                .commitMessageQuality(new ScoreResult(jitter(messageScore, seed, 0), "Subject length " + subject.length()))
+                .codeQuality(new ScoreResult(jitter(codeScore, seed, 1), "Derived from diff size"))
+                .changeAppropriateness(new ScoreResult(jitter(scopeScore, seed, 2), stats.files() + " files changed"))
+                .necessity(new ScoreResult(jitter(necessityScore, seed, 3), churn + " changed lines"))
+                .correctnessAndRisk(new RiskResult(jitter(correctnessScore, seed, 4), "Derived from diff size", riskLevel))
+                .testingAndVerification(new ScoreResult(jitter(testingScore, seed, 5), stats.testFiles() + " test files"))
+                .summary(String.format("Local analysis: %d files changed (+%d/-%d)", stats.files(), stats.additions(),
+                        stats.deletions()))
+                .strengths(strengths)
+                .issues(issues)
+                .suggestedNextCommit(List.of())
+                .build();
+    }
+
+    // +-5 per metric, stable for a given commit
+    private long jitter(long score, long seed, int metric) {
+        long offset = Math.floorMod(Long.rotateLeft(seed, metric * 7), 11) - 5;
+        return Math.max(0, Math.min(100, score + offset));
+    }
+
+    private long seed(AnalysisRequest request) {
+        String key = request.commitSha() != null ? request.commitSha() : String.valueOf(request.message());
+        long h = 1125899906842597L;
+        for (int i = 0; i < key.length(); i++) {
+            h = 31 * h + key.charAt(i);
+        }
+        return h;
+    }
+
+    // Diff is stored as "--- <filename>\n<patch>\n\n" blocks (see GithubPersistenceService.saveCommits)
+    private record DiffStats(int files, int testFiles, long additions, long deletions) {
+
+        static DiffStats of(String diff) {
+            if (diff == null || diff.isEmpty()) {
+                return new DiffStats(0, 0, 0, 0);
+            }
+            int files = 0;
+            int testFiles = 0;
+            long additions = 0;
+            long deletions = 0;
+            for (String line : diff.split("\n")) {
+                if (line.startsWith("--- ")) {
+                    files++;
+                    if (line.toLowerCase().contains("test"))
+                        testFiles++;
+                } else if (line.startsWith("+")) {
+                    additions++;
+                } else if (line.startsWith("-")) {
+                    deletions++;
+                }
+            }
+            return new DiffStats(files, testFiles, additions, deletions);
+        }
+    }
+}
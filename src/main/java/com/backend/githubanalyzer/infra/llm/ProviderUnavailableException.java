@@ -0,0 +1,9 @@
+package com.backend.githubanalyzer.infra.llm;
+
+// The provider refused the call without trying (circuit open, bulkhead full). Safe to retry later.
+public class ProviderUnavailableException extends RuntimeException {
+
+    public ProviderUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
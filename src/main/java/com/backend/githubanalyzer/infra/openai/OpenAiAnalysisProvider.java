@@ -0,0 +1,41 @@
+package com.backend.githubanalyzer.infra.openai;
+
+import com.backend.githubanalyzer.infra.llm.AnalysisProvider;
+import com.backend.githubanalyzer.infra.llm.AnalysisRequest;
+import com.backend.githubanalyzer.infra.openai.dto.OpenAiAnalysisResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "analysis.provider", havingValue = "openai", matchIfMissing = true)
+public class OpenAiAnalysisProvider implements AnalysisProvider {
+
+    private final OpenAiClient openAiClient;
+
+    @Value("${openai.model:gpt-4o-mini}")
+    private String model;
+
+    @Override
+    public Mono<OpenAiAnalysisResponse> analyze(AnalysisRequest request) {
+        return openAiClient.analyzeCommit(request.systemPrompt(), request.userPrompt());
+    }
+
+    @Override
+    public String name() {
+        return "openai";
+    }
+
+    @Override
+    public String modelName() {
+        return model;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return openAiClient.isAvailable();
+    }
+}
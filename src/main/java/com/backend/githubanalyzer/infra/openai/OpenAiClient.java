@@ -1,23 +1,52 @@
 package com.backend.githubanalyzer.infra.openai;
 
+import com.backend.githubanalyzer.infra.llm.ProviderUnavailableException;
 import com.backend.githubanalyzer.infra.openai.dto.OpenAiAnalysisResponse;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class OpenAiClient {
 
-    private final WebClient webClient;
+    private static final String COMPLETIONS_URL = "https://api.openai.com/v1/chat/completions";
+
+    // Analysis and chat get their own connection pools and bulkheads so a backlog of analysis
+    // jobs can't starve interactive chat, and neither touches the shared WebClient used for GitHub.
+    private final WebClient analysisWebClient;
+    private final WebClient chatWebClient;
+    // Separate breakers as well: slow or failing chat must not pause commit analysis
+    private final CircuitBreaker analysisCircuitBreaker;
+    private final CircuitBreaker chatCircuitBreaker;
+    private final Bulkhead analysisBulkhead;
+    private final Bulkhead chatBulkhead;
     private final ObjectMapper objectMapper;
     private final com.backend.githubanalyzer.global.monitor.MetricsService metricsService;
 
@@ -27,6 +56,100 @@ public class OpenAiClient {
     @Value("${openai.model:gpt-4o-mini}")
     private String model;
 
+    // Per attempt
+    @Value("${openai.analysis.timeout-ms:60000}")
+    private long analysisTimeoutMs;
+
+    // Whole call including retries
+    @Value("${openai.analysis.deadline-ms:150000}")
+    private long analysisDeadlineMs;
+
+    @Value("${openai.chat.timeout-ms:60000}")
+    private long chatTimeoutMs;
+
+    public OpenAiClient(WebClient.Builder webClientBuilder,
+            ObjectMapper objectMapper,
+            com.backend.githubanalyzer.global.monitor.MetricsService metricsService,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            BulkheadRegistry bulkheadRegistry,
+            @Value("${openai.connect-timeout-ms:5000}") int connectTimeoutMs,
+            @Value("${openai.analysis.max-connections:200}") int analysisMaxConnections,
+            @Value("${openai.analysis.max-concurrent-calls:200}") int analysisMaxConcurrentCalls,
+            @Value("${openai.chat.max-connections:50}") int chatMaxConnections,
+            @Value("${openai.chat.max-concurrent-calls:50}") int chatMaxConcurrentCalls,
+            @Value("${openai.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+            @Value("${openai.circuit-breaker.slow-call-duration-ms:30000}") long slowCallDurationMs,
+            @Value("${openai.circuit-breaker.slow-call-rate-threshold:80}") float slowCallRateThreshold,
+            @Value("${openai.circuit-breaker.sliding-window-size:50}") int slidingWindowSize,
+            @Value("${openai.circuit-breaker.minimum-calls:20}") int minimumCalls,
+            @Value("${openai.circuit-breaker.wait-in-open-ms:30000}") long waitInOpenMs,
+            @Value("${openai.circuit-breaker.half-open-calls:5}") int halfOpenCalls) {
+        this.objectMapper = objectMapper;
+        this.metricsService = metricsService;
+
+        this.analysisWebClient = buildWebClient(webClientBuilder, "openai-analysis", analysisMaxConnections,
+                connectTimeoutMs);
+        this.chatWebClient = buildWebClient(webClientBuilder, "openai-chat", chatMaxConnections, connectTimeoutMs);
+
+        // Only upstream trouble counts towards opening: 5xx, 429, timeouts, connection errors. Our own 4xx don't.
+        CircuitBreakerConfig breakerConfig = CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(Duration.ofMillis(slowCallDurationMs))
+                .slowCallRateThreshold(slowCallRateThreshold)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumCalls)
+                .waitDurationInOpenState(Duration.ofMillis(waitInOpenMs))
+                .permittedNumberOfCallsInHalfOpenState(halfOpenCalls)
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .recordException(OpenAiClient::isUpstreamFailure)
+                .build();
+        this.analysisCircuitBreaker = circuitBreakerRegistry.circuitBreaker("openai-analysis", breakerConfig);
+        this.chatCircuitBreaker = circuitBreakerRegistry.circuitBreaker("openai-chat", breakerConfig);
+        for (CircuitBreaker breaker : List.of(analysisCircuitBreaker, chatCircuitBreaker)) {
+            breaker.getEventPublisher().onStateTransition(event -> log.warn("OpenAI circuit breaker {}: {}",
+                    breaker.getName(), event.getStateTransition()));
+        }
+
+        this.analysisBulkhead = bulkheadRegistry.bulkhead("openai-analysis", BulkheadConfig.custom()
+                .maxConcurrentCalls(analysisMaxConcurrentCalls)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        this.chatBulkhead = bulkheadRegistry.bulkhead("openai-chat", BulkheadConfig.custom()
+                .maxConcurrentCalls(chatMaxConcurrentCalls)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+    }
+
+    private static WebClient buildWebClient(WebClient.Builder builder, String poolName, int maxConnections,
+            int connectTimeoutMs) {
+        ConnectionProvider provider = ConnectionProvider.builder(poolName)
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(Duration.ofSeconds(10))
+                .maxIdleTime(Duration.ofSeconds(30))
+                .build();
+        HttpClient httpClient = HttpClient.create(provider)
+                .option(io.netty.channel.ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs);
+        return builder.clone()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+
+    private static boolean isUpstreamFailure(Throwable throwable) {
+        if (throwable instanceof WebClientResponseException) {
+            WebClientResponseException e = (WebClientResponseException) throwable;
+            return e.getStatusCode().is5xxServerError() || e.getStatusCode().value() == 429;
+        }
+        return throwable instanceof java.util.concurrent.TimeoutException
+                || throwable instanceof WebClientRequestException
+                || throwable instanceof java.io.IOException;
+    }
+
+    // Closed or half-open. The analysis worker pauses consumption while this is false.
+    public boolean isAvailable() {
+        CircuitBreaker.State state = analysisCircuitBreaker.getState();
+        return state != CircuitBreaker.State.OPEN && state != CircuitBreaker.State.FORCED_OPEN;
+    }
+
     public Mono<OpenAiAnalysisResponse> analyzeCommit(String systemPrompt, String userPrompt) {
         if (apiKey == null || apiKey.isEmpty()) {
             return Mono.error(new IllegalStateException("OpenAI API Key is not configured."));
@@ -39,12 +162,15 @@ public class OpenAiClient {
                         Map.of("role", "user", "content", userPrompt)),
                 "response_format", Map.of("type", "json_object"));
 
-        return webClient.post()
-                .uri("https://api.openai.com/v1/chat/completions")
+        return analysisWebClient.post()
+                .uri(COMPLETIONS_URL)
                 .header("Authorization", "Bearer " + apiKey)
                 .bodyValue(requestBody)
                 .retrieve()
                 .bodyToMono(Map.class)
+                .timeout(Duration.ofMillis(analysisTimeoutMs))
+                // Breaker per attempt: once it opens, the remaining retries fail fast instead of adding load
+                .transformDeferred(CircuitBreakerOperator.of(analysisCircuitBreaker))
                 .doOnSuccess(v -> metricsService.incrementExternalRequest("openai_success"))
                 .doOnError(e -> metricsService.incrementExternalRequest("openai_error"))
                 .map(response -> {
@@ -58,19 +184,15 @@ public class OpenAiClient {
                     }
                 })
                 .retryWhen(reactor.util.retry.Retry.backoff(3, java.time.Duration.ofSeconds(2))
-                        .filter(throwable -> {
-                            // Retry on WebClientResponseException (5xx) or Timeout
-                            if (throwable instanceof org.springframework.web.reactive.function.client.WebClientResponseException) {
-                                return ((org.springframework.web.reactive.function.client.WebClientResponseException) throwable)
-                                        .getStatusCode().is5xxServerError();
-                            }
-                            return throwable instanceof java.util.concurrent.TimeoutException ||
-                                    throwable instanceof java.io.IOException;
-                        })
+                        .filter(OpenAiClient::isUpstreamFailure)
                         .onRetryExhaustedThrow((retryBackoffSpec, retrySignal) -> {
                             log.error("OpenAI API retry exhausted after {} attempts", retrySignal.totalRetries());
                             return retrySignal.failure();
-                        }));
+                        }))
+                .timeout(Duration.ofMillis(analysisDeadlineMs))
+                .transformDeferred(BulkheadOperator.of(analysisBulkhead))
+                .onErrorMap(OpenAiClient::isRejection,
+                        e -> new ProviderUnavailableException("OpenAI analysis call rejected: " + e.getMessage(), e));
     }
 
     public Mono<String> chat(List<Map<String, String>> messages) {
@@ -82,14 +204,19 @@ public class OpenAiClient {
                 "model", model,
                 "messages", messages);
 
-        return webClient.post()
-                .uri("https://api.openai.com/v1/chat/completions")
+        return chatWebClient.post()
+                .uri(COMPLETIONS_URL)
                 .header("Authorization", "Bearer " + apiKey)
                 .bodyValue(requestBody)
                 .retrieve()
                 .bodyToMono(Map.class)
+                .timeout(Duration.ofMillis(chatTimeoutMs))
+                .transformDeferred(CircuitBreakerOperator.of(chatCircuitBreaker))
+                .transformDeferred(BulkheadOperator.of(chatBulkhead))
                 .doOnSuccess(v -> metricsService.incrementExternalRequest("openai_chat_success"))
                 .doOnError(e -> metricsService.incrementExternalRequest("openai_chat_error"))
+                .onErrorMap(OpenAiClient::isRejection,
+                        e -> new ProviderUnavailableException("OpenAI chat call rejected: " + e.getMessage(), e))
                 .map(response -> {
                     try {
                         List<Map<String, Object>> choices = (List<Map<String, Object>>) response.get("choices");
@@ -100,4 +227,89 @@ public class OpenAiClient {
                     }
                 });
     }
+
+    // Token deltas of a streamed completion. Cancelling the subscription closes the upstream connection.
+    public Flux<String> chatStream(List<Map<String, String>> messages) {
+        if (apiKey == null || apiKey.isEmpty()) {
+            return Flux.error(new IllegalStateException("OpenAI API Key is not configured."));
+        }
+
+        Map<String, Object> requestBody = Map.of(
+                "model", model,
+                "messages", messages,
+                "stream", true);
+
+        return chatWebClient.post()
+                .uri(COMPLETIONS_URL)
+                .header("Authorization", "Bearer " + apiKey)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .bodyValue(requestBody)
+                .retrieve()
+                .bodyToFlux(new ParameterizedTypeReference<ServerSentEvent<String>>() {
+                })
+                .map(event -> event.data() != null ? event.data() : "")
+                .takeWhile(data -> !"[DONE]".equals(data))
+                // Idle timeout between chunks (and before the first one)
+                .timeout(Duration.ofMillis(chatTimeoutMs))
+                .transformDeferred(this::guardStream)
+                .transformDeferred(BulkheadOperator.of(chatBulkhead))
+                .doOnComplete(() -> metricsService.incrementExternalRequest("openai_chat_success"))
+                .doOnError(e -> metricsService.incrementExternalRequest("openai_chat_error"))
+                .onErrorMap(OpenAiClient::isRejection,
+                        e -> new ProviderUnavailableException("OpenAI chat call rejected: " + e.getMessage(), e))
+                .mapNotNull(this::extractDelta)
+                .filter(delta -> !delta.isEmpty());
+    }
+
+    // The breaker operator would time the whole stream, so every long answer would count as a slow call.
+    // Streams record their outcome when they end, but with the time to the first chunk as the duration.
+    // A cancelled stream (client went away) records nothing.
+    private Flux<String> guardStream(Flux<String> stream) {
+        return Flux.defer(() -> {
+            chatCircuitBreaker.acquirePermission();
+            long started = chatCircuitBreaker.getCurrentTimestamp();
+            java.util.concurrent.atomic.AtomicLong firstChunkAt = new java.util.concurrent.atomic.AtomicLong(-1);
+            java.util.concurrent.atomic.AtomicBoolean done = new java.util.concurrent.atomic.AtomicBoolean();
+            java.util.function.LongSupplier elapsed = () -> (firstChunkAt.get() >= 0
+                    ? firstChunkAt.get() : chatCircuitBreaker.getCurrentTimestamp()) - started;
+            return stream
+                    .doOnNext(chunk -> firstChunkAt.compareAndSet(-1, chatCircuitBreaker.getCurrentTimestamp()))
+                    .doOnComplete(() -> {
+                        if (done.compareAndSet(false, true)) {
+                            chatCircuitBreaker.onSuccess(elapsed.getAsLong(), chatCircuitBreaker.getTimestampUnit());
+                        }
+                    })
+                    .doOnError(e -> {
+                        if (done.compareAndSet(false, true)) {
+                            chatCircuitBreaker.onError(elapsed.getAsLong(), chatCircuitBreaker.getTimestampUnit(), e);
+                        }
+                    })
+                    .doOnCancel(() -> {
+                        if (done.compareAndSet(false, true)) {
+                            chatCircuitBreaker.releasePermission();
+                        }
+                    });
+        });
+    }
+
+    private String extractDelta(String chunk) {
+        if (chunk.isEmpty()) {
+            return null;
+        }
+        try {
+            com.fasterxml.jackson.databind.JsonNode choices = objectMapper.readTree(chunk).path("choices");
+            if (!choices.isArray() || choices.isEmpty()) {
+                return null;
+            }
+            com.fasterxml.jackson.databind.JsonNode content = choices.get(0).path("delta").path("content");
+            return content.isTextual() ? content.asText() : null;
+        } catch (Exception e) {
+            log.warn("Failed to parse OpenAI stream chunk: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static boolean isRejection(Throwable throwable) {
+        return throwable instanceof CallNotPermittedException || throwable instanceof BulkheadFullException;
+    }
 }
@@ -73,6 +73,8 @@ public class SecurityConfig {
                 .requestMatchers("/api/health").permitAll()
                 .requestMatchers("/api/webhooks/**").permitAll()
                 .requestMatchers("/api/search/**").permitAll()
+                // "me" leaderboard reads need a caller; the rest of the rankings are public
+                .requestMatchers("/api/rankings/leaderboard/me", "/api/rankings/leaderboard/me/**").authenticated()
                 .requestMatchers("/api/rankings/**").permitAll()
                 .requestMatchers("/api/sprints/**").permitAll()
                 .requestMatchers("/api/auth/github/installation").permitAll()
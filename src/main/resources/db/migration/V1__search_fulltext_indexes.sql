@@ -0,0 +1,7 @@
+-- ddl-auto can't declare FULLTEXT indexes. The ngram parser tokenizes Korean text and partial
+-- identifiers (e.g. "octo" in "octocat"), which the default parser can't.
+ALTER TABLE `user` ADD FULLTEXT INDEX ft_user_username (username) WITH PARSER ngram;
+ALTER TABLE repositories ADD FULLTEXT INDEX ft_repo_text (reponame, description) WITH PARSER ngram;
+ALTER TABLE teams ADD FULLTEXT INDEX ft_team_text (team_name, description) WITH PARSER ngram;
+ALTER TABLE sprints ADD FULLTEXT INDEX ft_sprint_text (sprint_name, description) WITH PARSER ngram;
+ALTER TABLE commits ADD FULLTEXT INDEX ft_commit_message (message) WITH PARSER ngram;
@@ -0,0 +1,37 @@
+-- The delta counters (score_sum, scored_count, counted_score) were added by ddl-auto as 0/NULL on existing
+-- rows. Fill them from the commits once, before the first delta derives score/total_score from them.
+-- Same aggregates as ScoreAggregationService's recompute statements, over every row.
+UPDATE commits SET counted_score = IF(analysis_status = 'COMPLETED', total_score, NULL);
+
+UPDATE repositories r LEFT JOIN (
+    SELECT c.repo_id,
+           COALESCE(SUM(CASE WHEN c.analysis_status = 'COMPLETED' THEN c.total_score END), 0) AS score_sum,
+           COUNT(CASE WHEN c.analysis_status = 'COMPLETED' THEN 1 END) AS scored_count,
+           COUNT(DISTINCT c.commit_sha) AS commit_count
+    FROM commits c GROUP BY c.repo_id) agg ON agg.repo_id = r.id
+SET r.score_sum = COALESCE(agg.score_sum, 0), r.scored_count = COALESCE(agg.scored_count, 0),
+    r.commit_count = COALESCE(agg.commit_count, 0),
+    r.score = IF(agg.scored_count > 0, agg.score_sum DIV agg.scored_count, 0);
+
+UPDATE `user` u LEFT JOIN (
+    SELECT c.author_id,
+           COALESCE(SUM(CASE WHEN c.analysis_status = 'COMPLETED' THEN c.total_score END), 0) AS score_sum,
+           COUNT(CASE WHEN c.analysis_status = 'COMPLETED' THEN 1 END) AS scored_count,
+           COUNT(*) AS commit_count
+    FROM commits c GROUP BY c.author_id) agg ON agg.author_id = u.id
+SET u.score_sum = COALESCE(agg.score_sum, 0), u.scored_count = COALESCE(agg.scored_count, 0),
+    u.commit_count = COALESCE(agg.commit_count, 0),
+    u.score = IF(agg.scored_count > 0, agg.score_sum DIV agg.scored_count, 0),
+    u.total_score = IF(agg.scored_count > 0, agg.commit_count * (agg.score_sum DIV agg.scored_count), 0);
+
+UPDATE team_register_sprint trs LEFT JOIN (
+    SELECT s.sprint_id, c.repo_id,
+           COALESCE(SUM(CASE WHEN c.analysis_status = 'COMPLETED' THEN c.total_score END), 0) AS score_sum,
+           COUNT(CASE WHEN c.analysis_status = 'COMPLETED' THEN 1 END) AS scored_count,
+           COUNT(*) AS commit_count
+    FROM commits c JOIN sprints s ON c.committed_at BETWEEN s.start_date AND s.end_date
+    GROUP BY s.sprint_id, c.repo_id) agg
+    ON agg.sprint_id = trs.sprint_id AND agg.repo_id = trs.repo_id
+SET trs.score_sum = COALESCE(agg.score_sum, 0), trs.scored_count = COALESCE(agg.scored_count, 0),
+    trs.commit_num = COALESCE(agg.commit_count, 0),
+    trs.score = IF(agg.scored_count > 0, agg.score_sum DIV agg.scored_count, 0);
@@ -0,0 +1,75 @@
+package com.backend.githubanalyzer.domain.analysis.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class AnalysisBatchTrackerTest {
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private AnalysisBatchTracker analysisBatchTracker;
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private void completeTransaction(int status) {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(status);
+        }
+    }
+
+    @Test
+    @DisplayName("A result recorded inside a transaction is only counted once it commits")
+    void recordsAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        analysisBatchTracker.recordResultAfterCommit("b1", false, 0L);
+        verify(stringRedisTemplate, never()).execute(any(RedisScript.class), anyList(), any(Object[].class));
+
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+        verify(stringRedisTemplate).execute(any(RedisScript.class), anyList(), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("A rolled back transaction records nothing, so a retry can't count the commit twice")
+    void dropsOnRollback() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        analysisBatchTracker.recordResultAfterCommit("b1", false, 0L);
+        completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        verify(stringRedisTemplate, never()).execute(any(RedisScript.class), anyList(), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("Outside a transaction the result is recorded right away")
+    void recordsImmediatelyWithoutTransaction() {
+        analysisBatchTracker.recordResultAfterCommit("b1", true, 70L);
+
+        verify(stringRedisTemplate).execute(any(RedisScript.class), anyList(), any(Object[].class));
+    }
+}
@@ -0,0 +1,165 @@
+package com.backend.githubanalyzer.domain.analysis.service;
+
+import com.backend.githubanalyzer.domain.commit.entity.ChangedFile;
+import com.backend.githubanalyzer.domain.commit.entity.Commit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CommitPreClassifierTest {
+
+    private final CommitPreClassifier classifier = new CommitPreClassifier();
+
+    private Commit commit(String diff, ChangedFile... files) {
+        return Commit.builder()
+                .beforeCommitId("p1")
+                .diff(diff)
+                .changedFiles(ChangedFile.format(List.of(files)))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Merge commits are skipped")
+    void mergeCommit() {
+        Commit commit = Commit.builder().beforeCommitId("p1,p2").diff("").build();
+
+        assertEquals(Optional.of(CommitPreClassifier.Rule.MERGE), classifier.classify(commit));
+    }
+
+    @Test
+    @DisplayName("A lockfile refresh with a small manifest edit is a dependency bump")
+    void smallBumpWithLockfile() {
+        Commit commit = commit("", new ChangedFile("modified", 1, 1, "package.json"),
+                new ChangedFile("modified", 400, 380, "package-lock.json"));
+
+        assertEquals(Optional.of(CommitPreClassifier.Rule.DEPENDENCY_BUMP), classifier.classify(commit));
+    }
+
+    @Test
+    @DisplayName("A lockfile does not excuse a large manifest rewrite")
+    void largeManifestChurnWithLockfile() {
+        Commit commit = commit("", new ChangedFile("modified", 60, 10, "build.gradle"),
+                new ChangedFile("modified", 30, 5, "gradle.lockfile"));
+
+        assertTrue(classifier.classify(commit).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Re-indented lines are whitespace only")
+    void reindentedLines() {
+        String diff = """
+                --- src/App.java
+                @@ -1,3 +1,3 @@
+                 class App {
+                -  void run() {}
+                -  void stop() {}
+                +    void run() {}
+                +    void stop() {}
+                 }
+                """;
+
+        assertEquals(Optional.of(CommitPreClassifier.Rule.WHITESPACE_ONLY),
+                classifier.classify(commit(diff, new ChangedFile("modified", 2, 2, "src/App.java"))));
+    }
+
+    @Test
+    @DisplayName("Reordered lines within a hunk are not whitespace only")
+    void reorderedLines() {
+        String diff = """
+                --- src/App.java
+                @@ -1,4 +1,4 @@
+                 class App {
+                -  void run() {}
+                -  void stop() {}
+                +  void stop() {}
+                +  void run() {}
+                 }
+                """;
+
+        assertTrue(classifier.classify(commit(diff, new ChangedFile("modified", 2, 2, "src/App.java"))).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Code moved between hunks is not whitespace only")
+    void movedBetweenHunks() {
+        String diff = """
+                --- src/App.java
+                @@ -1,3 +1,2 @@
+                 class App {
+                -  void run() {}
+                 }
+                @@ -40,2 +39,3 @@
+                 class Other {
+                +  void run() {}
+                 }
+                """;
+
+        assertTrue(classifier.classify(commit(diff, new ChangedFile("modified", 1, 1, "src/App.java"))).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Moving a Python line out of its block is not whitespace only")
+    void pythonDedent() {
+        String diff = """
+                --- app/jobs.py
+                @@ -1,3 +1,3 @@
+                 for job in jobs:
+                     run(job)
+                -    notify(job)
+                +notify(job)
+                """;
+
+        assertTrue(classifier.classify(commit(diff, new ChangedFile("modified", 1, 1, "app/jobs.py"))).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Trailing whitespace in a Python file is still formatting")
+    void pythonTrailingWhitespace() {
+        String diff = """
+                --- app/jobs.py
+                @@ -1,2 +1,2 @@
+                 for job in jobs:
+                -    run(job)\t\s
+                +    run(job)
+                """;
+
+        assertEquals(Optional.of(CommitPreClassifier.Rule.WHITESPACE_ONLY),
+                classifier.classify(commit(diff, new ChangedFile("modified", 1, 1, "app/jobs.py"))));
+    }
+
+    @Test
+    @DisplayName("Removing a space inside a line is not whitespace only")
+    void spaceRemovedInsideLine() {
+        String diff = """
+                --- src/App.java
+                @@ -1,1 +1,1 @@
+                -  String greeting = "hello world";
+                +  String greeting = "helloworld";
+                """;
+
+        assertTrue(classifier.classify(commit(diff, new ChangedFile("modified", 1, 1, "src/App.java"))).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Build output at the repo root or node_modules at any depth is generated")
+    void generatedDirectories() {
+        Commit rootBuild = commit("", new ChangedFile("modified", 10, 2, "build/libs/app.jar"));
+        Commit nestedNodeModules = commit("", new ChangedFile("modified", 10, 2, "packages/web/node_modules/x/index.js"));
+
+        assertEquals(Optional.of(CommitPreClassifier.Rule.GENERATED_FILES), classifier.classify(rootBuild));
+        assertEquals(Optional.of(CommitPreClassifier.Rule.GENERATED_FILES), classifier.classify(nestedNodeModules));
+    }
+
+    @Test
+    @DisplayName("A nested build/ directory is hand-written code")
+    void nestedBuildDirectory() {
+        Commit commit = commit("", new ChangedFile("modified", 10, 2, "scripts/build/deploy.sh"));
+
+        assertTrue(classifier.classify(commit).isEmpty());
+    }
+}
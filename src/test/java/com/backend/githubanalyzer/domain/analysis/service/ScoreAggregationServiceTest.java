@@ -0,0 +1,154 @@
+package com.backend.githubanalyzer.domain.analysis.service;
+
+import com.backend.githubanalyzer.domain.analysis.event.CommitScoreChangedEvent;
+import com.backend.githubanalyzer.domain.commit.entity.AnalysisStatus;
+import com.backend.githubanalyzer.domain.commit.entity.Commit;
+import com.backend.githubanalyzer.domain.commit.entity.CommitId;
+import com.backend.githubanalyzer.domain.commit.repository.CommitRepository;
+import com.backend.githubanalyzer.domain.ranking.service.ScoreRollupService;
+import com.backend.githubanalyzer.domain.repository.entity.GithubRepository;
+import com.backend.githubanalyzer.domain.repository.repository.GithubRepositoryRepository;
+import com.backend.githubanalyzer.domain.team.repository.TeamRegisterSprintRepository;
+import com.backend.githubanalyzer.domain.user.entity.User;
+import com.backend.githubanalyzer.domain.user.repository.UserRepository;
+import com.backend.githubanalyzer.domain.user.service.UserActivityService;
+import com.backend.githubanalyzer.global.cache.VersionStampService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class ScoreAggregationServiceTest {
+
+    private static final LocalDateTime COMMITTED_AT = LocalDateTime.of(2026, 3, 2, 10, 0);
+
+    @Mock
+    private CommitRepository commitRepository;
+    @Mock
+    private GithubRepositoryRepository repositoryRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private TeamRegisterSprintRepository teamRegisterSprintRepository;
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private ScoreRollupService scoreRollupService;
+    @Mock
+    private UserActivityService userActivityService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private VersionStampService versionStampService;
+
+    @InjectMocks
+    private ScoreAggregationService scoreAggregationService;
+
+    private Commit commit(String sha, String branch, AnalysisStatus status, long totalScore, Long countedScore) {
+        Commit commit = Commit.builder()
+                .id(new CommitId(sha, "r1", branch))
+                .repository(GithubRepository.builder().id("r1").build())
+                .author(User.builder().id(7L).build())
+                .committedAt(COMMITTED_AT)
+                .analysisStatus(status)
+                .totalScore(totalScore)
+                .build();
+        commit.setCountedScore(countedScore);
+        return commit;
+    }
+
+    @Test
+    @DisplayName("First completed analysis adds its score and one scored commit")
+    void firstCompletionAddsScore() {
+        Commit commit = commit("a1", "main", AnalysisStatus.COMPLETED, 80L, null);
+
+        scoreAggregationService.applyScoreChange(commit);
+
+        verify(userRepository).applyScoreDelta(7L, 80L, 1L, 0L);
+        verify(repositoryRepository).applyScoreDelta("r1", 80L, 1L, 0L);
+        verify(teamRegisterSprintRepository).applyScoreDelta("r1", COMMITTED_AT, 80L, 1L, 0L);
+        verify(eventPublisher).publishEvent(new CommitScoreChangedEvent(7L, "r1", COMMITTED_AT, 80L, 1L, 0L));
+        assertEquals(80L, commit.getCountedScore());
+    }
+
+    @Test
+    @DisplayName("Re-analysis applies new minus old score without counting the commit twice")
+    void reanalysisAppliesDifference() {
+        Commit commit = commit("a1", "main", AnalysisStatus.COMPLETED, 60L, 80L);
+
+        scoreAggregationService.applyScoreChange(commit);
+
+        verify(userRepository).applyScoreDelta(7L, -20L, 0L, 0L);
+        verify(repositoryRepository).applyScoreDelta("r1", -20L, 0L, 0L);
+        assertEquals(60L, commit.getCountedScore());
+    }
+
+    @Test
+    @DisplayName("A completed commit that fails on re-analysis takes its score back out")
+    void failureRemovesCountedScore() {
+        Commit commit = commit("a1", "main", AnalysisStatus.FAILED, 80L, 80L);
+
+        scoreAggregationService.applyScoreChange(commit);
+
+        verify(userRepository).applyScoreDelta(7L, -80L, -1L, 0L);
+        verify(repositoryRepository).applyScoreDelta("r1", -80L, -1L, 0L);
+        assertNull(commit.getCountedScore());
+    }
+
+    @Test
+    @DisplayName("An unchanged counted score touches no counters")
+    void unchangedScoreIsNoop() {
+        scoreAggregationService.applyScoreChange(commit("a1", "main", AnalysisStatus.COMPLETED, 80L, 80L));
+
+        verifyNoInteractions(userRepository, repositoryRepository, teamRegisterSprintRepository, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Added commits count per user per copy, but per repo only once per SHA")
+    @SuppressWarnings("unchecked")
+    void commitsAddedGroupCounters() {
+        scoreAggregationService.applyCommitsAdded(List.of(
+                new ScoreAggregationService.AddedCommit(commit("a1", "main", AnalysisStatus.PENDING, 0L, null), true),
+                new ScoreAggregationService.AddedCommit(commit("a1", "dev", AnalysisStatus.PENDING, 0L, null), false)));
+
+        verify(userRepository).applyScoreDelta(7L, 0L, 0L, 2L);
+        verify(repositoryRepository).applyScoreDelta("r1", 0L, 0L, 1L);
+        ArgumentCaptor<List<Object[]>> sprintArgs = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), sprintArgs.capture());
+        assertEquals(2, sprintArgs.getValue().size());
+        verify(eventPublisher, times(2)).publishEvent(new CommitScoreChangedEvent(7L, "r1", COMMITTED_AT, 0L, 0L, 1L));
+    }
+
+    @Test
+    @DisplayName("Re-synced copies of a known SHA leave the repo commit count alone")
+    void knownShaSkipsRepoCounter() {
+        scoreAggregationService.applyCommitsAdded(List.of(
+                new ScoreAggregationService.AddedCommit(commit("a1", "dev", AnalysisStatus.PENDING, 0L, null), false)));
+
+        verify(userRepository).applyScoreDelta(7L, 0L, 0L, 1L);
+        verify(repositoryRepository, never()).applyScoreDelta(eq("r1"), any(Long.class), any(Long.class),
+                any(Long.class));
+    }
+}
@@ -0,0 +1,39 @@
+package com.backend.githubanalyzer.domain.commit.dto;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CommitCursorTest {
+
+    @Test
+    @DisplayName("A cursor survives the round trip, including a branch name containing the separator")
+    void roundTrip() {
+        CommitCursor cursor = new CommitCursor(LocalDateTime.of(2026, 3, 1, 12, 30, 5), "abc123", "R_1",
+                "feature|odd/name");
+
+        String token = cursor.encode();
+
+        assertFalse(token.contains("|"));
+        assertEquals(cursor, CommitCursor.decode(token));
+    }
+
+    @Test
+    @DisplayName("No cursor means the first page")
+    void blankIsStart() {
+        assertSame(CommitCursor.START, CommitCursor.decode(null));
+        assertSame(CommitCursor.START, CommitCursor.decode(" "));
+    }
+
+    @Test
+    @DisplayName("A tampered cursor is rejected as a bad argument")
+    void rejectsGarbage() {
+        assertThrows(IllegalArgumentException.class, () -> CommitCursor.decode("not-a-cursor"));
+    }
+}
@@ -0,0 +1,97 @@
+package com.backend.githubanalyzer.domain.commit.service;
+
+import com.backend.githubanalyzer.domain.commit.dto.CommitCursor;
+import com.backend.githubanalyzer.domain.commit.dto.CommitListItem;
+import com.backend.githubanalyzer.domain.commit.dto.CommitResponse;
+import com.backend.githubanalyzer.domain.commit.entity.AnalysisStatus;
+import com.backend.githubanalyzer.domain.commit.repository.CommitRepository;
+import com.backend.githubanalyzer.global.dto.CursorPageResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CommitServiceTest {
+
+    private static final LocalDateTime NEWEST = LocalDateTime.of(2026, 3, 1, 12, 0);
+
+    @Mock
+    private CommitRepository commitRepository;
+
+    @InjectMocks
+    private CommitService commitService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(commitService, "maxPageSize", 100);
+    }
+
+    // Newest first, one minute apart
+    private List<CommitListItem> rows(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new CommitListItem("sha" + i, "r1", "main", "msg " + i, NEWEST.minusMinutes(i),
+                        "dev", null, AnalysisStatus.COMPLETED, 70L))
+                .toList();
+    }
+
+    @Test
+    @DisplayName("The first page seeks from the start, fetches one extra row and points the cursor at its last row")
+    void firstPage() {
+        CommitCursor start = CommitCursor.START;
+        when(commitRepository.findRepoPage(eq("r1"), eq(start.committedAt()), eq(start.sha()), eq(start.repoId()),
+                eq(start.branchName()), eq(PageRequest.of(0, 4)))).thenReturn(rows(4));
+
+        CursorPageResponse<CommitResponse> page = commitService.getCommits("r1", null, 3);
+
+        assertEquals(List.of("sha0", "sha1", "sha2"), page.getContent().stream().map(CommitResponse::getSha).toList());
+        assertTrue(page.isHasNext());
+        assertEquals(new CommitCursor(NEWEST.minusMinutes(2), "sha2", "r1", "main"),
+                CommitCursor.decode(page.getNextCursor()));
+    }
+
+    @Test
+    @DisplayName("The next page seeks past the cursor's full key")
+    void nextPage() {
+        CommitCursor after = new CommitCursor(NEWEST.minusMinutes(2), "sha2", "r1", "main");
+        when(commitRepository.findRepoPage(eq("r1"), eq(after.committedAt()), eq("sha2"), eq("r1"), eq("main"),
+                any())).thenReturn(rows(2));
+
+        CursorPageResponse<CommitResponse> page = commitService.getCommits("r1", after.encode(), 3);
+
+        assertEquals(2, page.getContent().size());
+        assertFalse(page.isHasNext());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Page size is clamped to the configured maximum")
+    void clampsPageSize() {
+        ReflectionTestUtils.setField(commitService, "maxPageSize", 10);
+        when(commitRepository.findBranchPage(eq("r1"), eq("main"), any(), any(), any(), any(), any()))
+                .thenReturn(List.of());
+
+        commitService.getCommitsByBranch("r1", "main", null, 500);
+
+        verify(commitRepository).findBranchPage(eq("r1"), eq("main"), any(), any(), any(), any(),
+                eq(PageRequest.of(0, 11)));
+    }
+}
@@ -0,0 +1,194 @@
+package com.backend.githubanalyzer.domain.ranking.service;
+
+import com.backend.githubanalyzer.domain.analysis.event.CommitScoreChangedEvent;
+import com.backend.githubanalyzer.domain.user.repository.UserRepository;
+import com.backend.githubanalyzer.domain.user.service.UserActivityService;
+import com.backend.githubanalyzer.global.cache.VersionStampService;
+import com.backend.githubanalyzer.support.LuaRedis;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LeaderboardServiceTest {
+
+    private static final List<String> LOCK_KEYS = List.of("leaderboard:rebuilding", "leaderboard:pending");
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+    @Mock
+    private ScoreRollupService scoreRollupService;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private VersionStampService versionStampService;
+    @Mock
+    private UserActivityService userActivityService;
+
+    @InjectMocks
+    private LeaderboardService leaderboardService;
+
+    private final LuaRedis redis = new LuaRedis();
+
+    private long increment(String member, String delta, String... sets) {
+        List<String> keys = new ArrayList<>(LOCK_KEYS);
+        keys.addAll(List.of(sets));
+        return redis.run(LeaderboardService.INCREMENT_SCRIPT, keys, member, delta, "600", "2678400").tolong();
+    }
+
+    @Test
+    @DisplayName("Without a rebuild running the increment moves every given set")
+    void incrementApplied() {
+        assertEquals(1, increment("7", "40", "leaderboard:all", "leaderboard:day:2026-10-19"));
+
+        assertEquals(40.0, redis.zsets.get("leaderboard:all").get("7"));
+        assertEquals(40.0, redis.zsets.get("leaderboard:day:2026-10-19").get("7"));
+    }
+
+    @Test
+    @DisplayName("During a rebuild the increments are parked, one entry per set")
+    void incrementParked() {
+        redis.strings.put("leaderboard:rebuilding", "token-1");
+
+        assertEquals(0, increment("7", "40", "leaderboard:all", "leaderboard:week"));
+
+        assertFalse(redis.exists("leaderboard:all"));
+        assertEquals(List.of("leaderboard:all|7|40", "leaderboard:week|7|40"),
+                redis.lists.get("leaderboard:pending"));
+    }
+
+    @Test
+    @DisplayName("Finishing replays the parked increments onto the swapped-in sets and releases the lock")
+    void finishReplays() {
+        redis.strings.put("leaderboard:rebuilding", "token-1");
+        redis.zsets.put("leaderboard:all", new HashMap<>(Map.of("7", 100.0)));
+        redis.lists.put("leaderboard:pending", new ArrayList<>(List.of("leaderboard:all|7|40",
+                "leaderboard:day:2026-10-19|7|-5")));
+
+        long replayed = redis.run(LeaderboardService.FINISH_REBUILD_SCRIPT, LOCK_KEYS, "token-1", "2678400")
+                .tolong();
+
+        assertEquals(2, replayed);
+        assertEquals(140.0, redis.zsets.get("leaderboard:all").get("7"));
+        assertEquals(-5.0, redis.zsets.get("leaderboard:day:2026-10-19").get("7"));
+        assertFalse(redis.exists("leaderboard:rebuilding"));
+        assertFalse(redis.exists("leaderboard:pending"));
+    }
+
+    @Test
+    @DisplayName("A rebuild that lost its lock leaves the parked increments to the new owner")
+    void finishByStaleOwner() {
+        redis.strings.put("leaderboard:rebuilding", "token-2");
+        redis.lists.put("leaderboard:pending", new ArrayList<>(List.of("leaderboard:all|7|40")));
+
+        assertEquals(-1, redis.run(LeaderboardService.FINISH_REBUILD_SCRIPT, LOCK_KEYS, "token-1", "2678400")
+                .tolong());
+        assertEquals(List.of("leaderboard:all|7|40"), redis.lists.get("leaderboard:pending"));
+    }
+
+    @Test
+    @DisplayName("Score events go through the park-aware script with ALL, the day and the windows it falls in")
+    void scoreEventUsesScript() {
+        LocalDate today = LocalDate.of(2026, 10, 19);
+        when(userActivityService.today()).thenReturn(today);
+        when(userActivityService.toLocalDay(any())).thenReturn(today.minusDays(3));
+
+        leaderboardService.onCommitScoreChanged(new CommitScoreChangedEvent(7L, "R_1",
+                LocalDateTime.of(2026, 10, 16, 12, 0), 40L, 1L, 0L));
+
+        verify(stringRedisTemplate).execute(eq(LeaderboardService.INCREMENT_SCRIPT),
+                eq(List.of("leaderboard:rebuilding", "leaderboard:pending", "leaderboard:all",
+                        "leaderboard:day:2026-10-16", "leaderboard:week", "leaderboard:month")),
+                eq("7"), eq("40"), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Only the node holding the lock rebuilds")
+    void rebuildSkippedWithoutLock() {
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(eq("leaderboard:rebuilding"), anyString(), any(Duration.class)))
+                .thenReturn(false);
+
+        leaderboardService.rebuild();
+
+        verifyNoInteractions(scoreRollupService);
+        verify(stringRedisTemplate, never()).rename(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("A rebuild swaps in sets built under tmp keys of its own, then marks the boards built")
+    void rebuildUsesOwnTmpKeys() {
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(eq("leaderboard:rebuilding"), anyString(), any(Duration.class)))
+                .thenReturn(true);
+        when(stringRedisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(userActivityService.today()).thenReturn(LocalDate.of(2026, 10, 19));
+        when(userActivityService.startOfDayStored(any()))
+                .thenAnswer(invocation -> ((LocalDate) invocation.getArgument(0)).atStartOfDay());
+        when(scoreRollupService.rankUsers(any(), any(), any(), any(), anyInt(), anyInt())).thenReturn(List.of());
+        when(scoreRollupService.dailyTotalsByUser(null, null))
+                .thenReturn(List.of(new ScoreRollupService.UserScore(7L, 100L)));
+        when(stringRedisTemplate.execute(eq(LeaderboardService.FINISH_REBUILD_SCRIPT), eq(LOCK_KEYS), anyString(),
+                anyString())).thenReturn(0L);
+
+        leaderboardService.rebuild();
+
+        verify(stringRedisTemplate).rename(argThat(tmp -> tmp.startsWith("leaderboard:all:tmp:")),
+                eq("leaderboard:all"));
+        verify(zSetOperations).unionAndStore(anyString(), anyCollection(),
+                argThat(tmp -> tmp.startsWith("leaderboard:week:tmp:")));
+        verify(valueOperations).set("leaderboard:built", "1");
+    }
+
+    @Test
+    @DisplayName("A rebuild that lost its lock doesn't mark the boards built")
+    void rebuildLostLock() {
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(eq("leaderboard:rebuilding"), anyString(), any(Duration.class)))
+                .thenReturn(true);
+        when(stringRedisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(userActivityService.today()).thenReturn(LocalDate.of(2026, 10, 19));
+        when(userActivityService.startOfDayStored(any()))
+                .thenAnswer(invocation -> ((LocalDate) invocation.getArgument(0)).atStartOfDay());
+        when(scoreRollupService.rankUsers(any(), any(), any(), any(), anyInt(), anyInt())).thenReturn(List.of());
+        when(scoreRollupService.dailyTotalsByUser(null, null)).thenReturn(List.of());
+        when(stringRedisTemplate.execute(eq(LeaderboardService.FINISH_REBUILD_SCRIPT), anyList(), anyString(),
+                anyString())).thenReturn(-1L);
+
+        leaderboardService.rebuild();
+
+        verify(valueOperations, never()).set("leaderboard:built", "1");
+    }
+}
@@ -0,0 +1,88 @@
+package com.backend.githubanalyzer.domain.repository.controller;
+
+import com.backend.githubanalyzer.domain.repository.dto.RepositoryMetricResponse;
+import com.backend.githubanalyzer.domain.sync.service.GithubPersistenceService;
+import com.backend.githubanalyzer.global.cache.VersionStampService;
+import com.backend.githubanalyzer.global.dto.ApiResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GithubRepositoryControllerTest {
+
+    private static final String REPO_ID = "R_1";
+    private static final String TAG = "\"ab12cd34:metrics:repo:R_1=7\"";
+
+    @Mock
+    private GithubPersistenceService githubPersistenceService;
+    @Mock
+    private VersionStampService versionStampService;
+
+    @InjectMocks
+    private GithubRepositoryController controller;
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/repos/R_1/metrics");
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @Test
+    @DisplayName("A matching If-None-Match answers 304 without building the metrics")
+    void notModified() {
+        when(versionStampService.etag("metrics", VersionStampService.repo(REPO_ID))).thenReturn(TAG);
+        request.addHeader("If-None-Match", TAG);
+
+        ResponseEntity<ApiResponse<RepositoryMetricResponse>> result =
+                controller.getMetrics(REPO_ID, new ServletWebRequest(request, response));
+
+        assertNull(result);
+        assertEquals(304, response.getStatus());
+        assertEquals(TAG, response.getHeader("ETag"));
+        verifyNoInteractions(githubPersistenceService);
+    }
+
+    @Test
+    @DisplayName("A stale tag gets the body and the current ETag")
+    void modified() {
+        when(versionStampService.etag("metrics", VersionStampService.repo(REPO_ID))).thenReturn(TAG);
+        when(githubPersistenceService.getRepositoryMetrics(REPO_ID))
+                .thenReturn(RepositoryMetricResponse.builder().commitCount(3L).build());
+        request.addHeader("If-None-Match", "\"ab12cd34:metrics:repo:R_1=6\"");
+
+        ResponseEntity<ApiResponse<RepositoryMetricResponse>> result =
+                controller.getMetrics(REPO_ID, new ServletWebRequest(request, response));
+
+        assertNotNull(result);
+        assertEquals(200, result.getStatusCode().value());
+        assertEquals(3L, result.getBody().getData().getCommitCount());
+        assertEquals(TAG, response.getHeader("ETag"));
+        verify(githubPersistenceService).getRepositoryMetrics(REPO_ID);
+    }
+
+    @Test
+    @DisplayName("No If-None-Match: the body is built and tagged")
+    void firstRequest() {
+        when(versionStampService.etag("metrics", VersionStampService.repo(REPO_ID))).thenReturn(TAG);
+        when(githubPersistenceService.getRepositoryMetrics(REPO_ID))
+                .thenReturn(RepositoryMetricResponse.builder().commitCount(3L).build());
+
+        ResponseEntity<ApiResponse<RepositoryMetricResponse>> result =
+                controller.getMetrics(REPO_ID, new ServletWebRequest(request, response));
+
+        assertNotNull(result);
+        assertEquals(TAG, response.getHeader("ETag"));
+    }
+}
@@ -0,0 +1,223 @@
+package com.backend.githubanalyzer.domain.search.service;
+
+import com.backend.githubanalyzer.domain.search.dto.TypeaheadSuggestion;
+import com.backend.githubanalyzer.domain.sprint.entity.Sprint;
+import com.backend.githubanalyzer.domain.team.entity.Team;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.sql.ResultSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TypeaheadIndexTest {
+
+    private static final String USERS_SQL = "SELECT id, username FROM `user`";
+    private static final String REPOSITORIES_SQL = "SELECT id, reponame FROM repositories";
+    private static final String TEAMS_SQL = "SELECT team_id, team_name FROM teams WHERE is_public = TRUE";
+    private static final String SPRINTS_SQL = "SELECT sprint_id, sprint_name FROM sprints WHERE is_private = FALSE";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    private TypeaheadIndex typeaheadIndex;
+
+    private final Map<String, Load> loads = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        typeaheadIndex = new TypeaheadIndex(jdbcTemplate, stringRedisTemplate, listenerContainer);
+        ReflectionTestUtils.setField(typeaheadIndex, "channel", "search:typeahead");
+    }
+
+    @Test
+    @DisplayName("Prefix lookup is case-insensitive, ordered by name and capped at the limit")
+    void suggestMatchesPrefix() {
+        typeaheadIndex.put(TypeaheadIndex.USER, "1", "alice");
+        typeaheadIndex.put(TypeaheadIndex.USER, "2", "Albert");
+        typeaheadIndex.put(TypeaheadIndex.USER, "3", "bob");
+        typeaheadIndex.put(TypeaheadIndex.REPOSITORY, "r1", "algo-study");
+
+        assertThat(names(typeaheadIndex.suggest("AL", TypeaheadIndex.USER, 10))).containsExactly("Albert", "alice");
+        assertThat(names(typeaheadIndex.suggest("al", TypeaheadIndex.USER, 1))).containsExactly("Albert");
+        assertThat(names(typeaheadIndex.suggest("al", "REPO", 10))).containsExactly("algo-study");
+        assertThat(names(typeaheadIndex.suggest("al", "ALL", 10))).containsExactly("Albert", "algo-study", "alice");
+        assertThat(typeaheadIndex.suggest("  ", TypeaheadIndex.USER, 10)).isEmpty();
+        assertThatThrownBy(() -> typeaheadIndex.suggest("al", "COMMIT", 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("A rename re-keys the entry, so the old name no longer matches")
+    void renameRekeys() {
+        typeaheadIndex.put(TypeaheadIndex.REPOSITORY, "r1", "legacy-api");
+        typeaheadIndex.put(TypeaheadIndex.REPOSITORY, "r1", "core-api");
+
+        assertThat(typeaheadIndex.suggest("legacy", TypeaheadIndex.REPOSITORY, 10)).isEmpty();
+        List<TypeaheadSuggestion> hits = typeaheadIndex.suggest("core", TypeaheadIndex.REPOSITORY, 10);
+        assertThat(hits).hasSize(1);
+        assertThat(hits.get(0).getId()).isEqualTo("r1");
+        assertThat(hits.get(0).getName()).isEqualTo("core-api");
+    }
+
+    @Test
+    @DisplayName("Rebuild replaces the index with the database rows")
+    void rebuildLoadsRows() {
+        typeaheadIndex.put(TypeaheadIndex.USER, "9", "stale");
+        rows(USERS_SQL, new String[] { "1", "alice" });
+        rows(TEAMS_SQL, new String[] { "t1", "alpha-team" });
+        rows(SPRINTS_SQL, new String[] { "s1", "alpha-sprint" });
+
+        typeaheadIndex.rebuild();
+
+        assertThat(typeaheadIndex.suggest("stale", TypeaheadIndex.USER, 10)).isEmpty();
+        assertThat(names(typeaheadIndex.suggest("al", "ALL", 10)))
+                .containsExactly("alice", "alpha-sprint", "alpha-team");
+    }
+
+    @Test
+    @DisplayName("A rename that arrives during a rebuild survives the swap over the stale row")
+    void changeDuringRebuildSurvives() {
+        rows(USERS_SQL, new String[] { "1", "alice" });
+        // The rename commits after the users were read but before the load finishes
+        load(REPOSITORIES_SQL, handler -> typeaheadIndex.put(TypeaheadIndex.USER, "1", "alicia"));
+
+        typeaheadIndex.rebuild();
+
+        assertThat(typeaheadIndex.suggest("alice", TypeaheadIndex.USER, 10)).isEmpty();
+        assertThat(names(typeaheadIndex.suggest("ali", TypeaheadIndex.USER, 10))).containsExactly("alicia");
+    }
+
+    @Test
+    @DisplayName("A row read after a concurrent change does not overwrite it")
+    void staleRowAfterChangeIsSkipped() {
+        // The rename lands before the repositories query reads the old name
+        load(REPOSITORIES_SQL, handler -> {
+            typeaheadIndex.put(TypeaheadIndex.REPOSITORY, "r1", "core-api");
+            feed(handler, new String[] { "r1", "legacy-api" });
+        });
+
+        typeaheadIndex.rebuild();
+
+        assertThat(typeaheadIndex.suggest("legacy", TypeaheadIndex.REPOSITORY, 10)).isEmpty();
+        assertThat(names(typeaheadIndex.suggest("core", TypeaheadIndex.REPOSITORY, 10))).containsExactly("core-api");
+    }
+
+    @Test
+    @DisplayName("A team made private is removed and not resurrected by an in-flight rebuild")
+    void teamMadePrivateIsRemoved() {
+        TypeaheadEntityListener listener = new TypeaheadEntityListener(mock(EntityManagerFactory.class),
+                typeaheadIndex);
+        typeaheadIndex.put(TypeaheadIndex.TEAM, "t1", "alpha-team");
+        Team team = Team.builder().id("t1").name("alpha-team").isPublic(false).build();
+        PostUpdateEvent event = mock(PostUpdateEvent.class);
+        when(event.getEntity()).thenReturn(team);
+        // The rebuild read the team while it was still public; the flip commits mid-load
+        load(TEAMS_SQL, handler -> {
+            feed(handler, new String[] { "t1", "alpha-team" });
+            listener.onPostUpdate(event);
+        });
+
+        typeaheadIndex.rebuild();
+
+        assertThat(typeaheadIndex.suggest("alpha", TypeaheadIndex.TEAM, 10)).isEmpty();
+        verify(stringRedisTemplate).convertAndSend(eq("search:typeahead"),
+                argThat((String message) -> message.contains("|REMOVE|TEAM|t1|")));
+    }
+
+    @Test
+    @DisplayName("A sprint made private is removed when the flip is applied")
+    void sprintMadePrivateIsRemoved() {
+        TypeaheadEntityListener listener = new TypeaheadEntityListener(mock(EntityManagerFactory.class),
+                typeaheadIndex);
+        typeaheadIndex.put(TypeaheadIndex.SPRINT, "s1", "winter-sprint");
+        Sprint sprint = Sprint.builder().id("s1").name("winter-sprint").isPrivate(true).build();
+        PostUpdateEvent event = mock(PostUpdateEvent.class);
+        when(event.getEntity()).thenReturn(sprint);
+
+        listener.onPostUpdate(event);
+
+        assertThat(typeaheadIndex.suggest("winter", TypeaheadIndex.SPRINT, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Broadcasts from other nodes are applied; our own and malformed ones are ignored")
+    void onMessageAppliesRemoteChanges() {
+        typeaheadIndex.onMessage("other-node|PUT|TEAM|t1|alpha|team");
+        assertThat(names(typeaheadIndex.suggest("alpha", TypeaheadIndex.TEAM, 10))).containsExactly("alpha|team");
+
+        typeaheadIndex.onMessage("other-node|REMOVE|TEAM|t1|");
+        assertThat(typeaheadIndex.suggest("alpha", TypeaheadIndex.TEAM, 10)).isEmpty();
+
+        typeaheadIndex.onMessage("other-node|PUT|COMMIT|c1|alpha");
+        typeaheadIndex.onMessage("garbage");
+        String ownNode = (String) ReflectionTestUtils.getField(typeaheadIndex, "nodeId");
+        typeaheadIndex.onMessage(ownNode + "|PUT|USER|1|alpha");
+        assertThat(typeaheadIndex.suggest("alpha", "ALL", 10)).isEmpty();
+    }
+
+    private void rows(String sql, String[]... rows) {
+        load(sql, handler -> feed(handler, rows));
+    }
+
+    // One stub for every query; SQL without a registered load returns no rows
+    private void load(String sql, Load load) {
+        if (loads.isEmpty()) {
+            doAnswer(invocation -> {
+                Load registered = loads.get(invocation.<String>getArgument(0));
+                if (registered != null) {
+                    registered.run(invocation.getArgument(1));
+                }
+                return null;
+            }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+        }
+        loads.put(sql, load);
+    }
+
+    private interface Load {
+        void run(RowCallbackHandler handler) throws Exception;
+    }
+
+    private static void feed(RowCallbackHandler handler, String[]... rows) throws Exception {
+        for (String[] row : rows) {
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getString(1)).thenReturn(row[0]);
+            when(rs.getString(2)).thenReturn(row[1]);
+            handler.processRow(rs);
+        }
+    }
+
+    private static List<String> names(List<TypeaheadSuggestion> suggestions) {
+        return suggestions.stream().map(TypeaheadSuggestion::getName).toList();
+    }
+}
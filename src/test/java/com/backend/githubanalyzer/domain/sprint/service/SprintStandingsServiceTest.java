@@ -0,0 +1,215 @@
+package com.backend.githubanalyzer.domain.sprint.service;
+
+import com.backend.githubanalyzer.domain.commit.repository.CommitRepository;
+import com.backend.githubanalyzer.domain.sprint.entity.Sprint;
+import com.backend.githubanalyzer.domain.sprint.repository.SprintRepository;
+import com.backend.githubanalyzer.domain.team.entity.TeamRegisterSprint;
+import com.backend.githubanalyzer.domain.team.entity.TeamRegisterSprintId;
+import com.backend.githubanalyzer.domain.team.repository.TeamRegisterSprintRepository;
+import com.backend.githubanalyzer.domain.team.repository.TeamRepository;
+import com.backend.githubanalyzer.domain.team.repository.UserRegisterTeamRepository;
+import com.backend.githubanalyzer.domain.user.repository.UserRepository;
+import com.backend.githubanalyzer.global.cache.VersionStampService;
+import com.backend.githubanalyzer.support.LuaRedis;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SprintStandingsServiceTest {
+
+    private static final String PREFIX = "sprint:standings:s1:";
+    private static final List<String> INCREMENT_KEYS = List.of(PREFIX + "rebuilding", PREFIX + "pending",
+            PREFIX + "teams", PREFIX + "team-commits");
+    private static final List<String> FINISH_KEYS = List.of(PREFIX + "rebuilding", PREFIX + "pending",
+            PREFIX + "teams", PREFIX + "team-commits", PREFIX + "users", PREFIX + "user-commits");
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+    @Mock
+    private SprintRepository sprintRepository;
+    @Mock
+    private TeamRegisterSprintRepository teamRegisterSprintRepository;
+    @Mock
+    private UserRegisterTeamRepository userRegisterTeamRepository;
+    @Mock
+    private TeamRepository teamRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private CommitRepository commitRepository;
+    @Mock
+    private VersionStampService versionStampService;
+
+    @InjectMocks
+    private SprintStandingsService sprintStandingsService;
+
+    private final LuaRedis redis = new LuaRedis();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(sprintStandingsService, "rebuildIntervalHours", 24L);
+        ReflectionTestUtils.setField(sprintStandingsService, "rebuildWaitMs", 0L);
+    }
+
+    private long increment(String member, String score, String commits) {
+        return redis.run(SprintStandingsService.INCREMENT_SCRIPT, INCREMENT_KEYS, member, score, commits,
+                "t|" + member + "|" + score + "|" + commits, "600").tolong();
+    }
+
+    @Test
+    @DisplayName("Without a rebuild running the increment goes straight to the sets")
+    void incrementApplied() {
+        assertEquals(1, increment("team-a", "40", "1"));
+
+        assertEquals(40.0, redis.zsets.get(PREFIX + "teams").get("team-a"));
+        assertEquals(1L, redis.hashes.get(PREFIX + "team-commits").get("team-a"));
+    }
+
+    @Test
+    @DisplayName("During a rebuild the increment is parked, not applied")
+    void incrementParked() {
+        redis.strings.put(PREFIX + "rebuilding", "token-1");
+
+        assertEquals(0, increment("team-a", "40", "1"));
+
+        assertFalse(redis.exists(PREFIX + "teams"));
+        assertEquals(List.of("t|team-a|40|1"), redis.lists.get(PREFIX + "pending"));
+    }
+
+    @Test
+    @DisplayName("Finishing replays the parked team and user increments onto the new sets and drops the lock")
+    void finishReplays() {
+        redis.strings.put(PREFIX + "rebuilding", "token-1");
+        redis.zsets.put(PREFIX + "teams", new java.util.HashMap<>(Map.of("team-a", 100.0)));
+        redis.lists.put(PREFIX + "pending", new java.util.ArrayList<>(List.of("t|team-a|40|1", "u|7|40|1",
+                "t|team-b|0|1")));
+
+        long replayed = redis.run(SprintStandingsService.FINISH_REBUILD_SCRIPT, FINISH_KEYS, "token-1").tolong();
+
+        assertEquals(3, replayed);
+        assertEquals(140.0, redis.zsets.get(PREFIX + "teams").get("team-a"));
+        assertFalse(redis.zsets.get(PREFIX + "teams").containsKey("team-b"));
+        assertEquals(1L, redis.hashes.get(PREFIX + "team-commits").get("team-b"));
+        assertEquals(40.0, redis.zsets.get(PREFIX + "users").get("7"));
+        assertEquals(1L, redis.hashes.get(PREFIX + "user-commits").get("7"));
+        assertFalse(redis.exists(PREFIX + "rebuilding"));
+        assertFalse(redis.exists(PREFIX + "pending"));
+    }
+
+    @Test
+    @DisplayName("A rebuild that lost its lock leaves the lock and the parked increments to the new owner")
+    void finishByStaleOwner() {
+        redis.strings.put(PREFIX + "rebuilding", "token-2");
+        redis.lists.put(PREFIX + "pending", new java.util.ArrayList<>(List.of("t|team-a|40|1")));
+
+        long replayed = redis.run(SprintStandingsService.FINISH_REBUILD_SCRIPT, FINISH_KEYS, "token-1").tolong();
+
+        assertEquals(-1, replayed);
+        assertEquals("token-2", redis.strings.get(PREFIX + "rebuilding"));
+        assertEquals(List.of("t|team-a|40|1"), redis.lists.get(PREFIX + "pending"));
+    }
+
+    @Test
+    @DisplayName("A read that loses the rebuild lock serves the current sets without rebuilding")
+    void readWhileAnotherRebuilds() {
+        when(stringRedisTemplate.hasKey(PREFIX + "built")).thenReturn(false);
+        when(stringRedisTemplate.hasKey(PREFIX + "teams")).thenReturn(true);
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        Sprint sprint = sprint();
+        when(sprintRepository.findById("s1")).thenReturn(Optional.of(sprint));
+        when(valueOperations.setIfAbsent(eq(PREFIX + "rebuilding"), anyString(), any(Duration.class)))
+                .thenReturn(false);
+        when(stringRedisTemplate.opsForZSet()).thenReturn(zSetOperations);
+
+        sprintStandingsService.getTeamStandings("s1");
+
+        verifyNoInteractions(teamRegisterSprintRepository, commitRepository);
+        verify(stringRedisTemplate, never()).rename(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("A rebuild fills a tmp key of its own and swaps it in")
+    void rebuildUsesOwnTmpKey() {
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        Sprint sprint = sprint();
+        when(sprintRepository.findById("s1")).thenReturn(Optional.of(sprint));
+        when(valueOperations.setIfAbsent(eq(PREFIX + "rebuilding"), anyString(), any(Duration.class)))
+                .thenReturn(true);
+        when(stringRedisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(stringRedisTemplate.opsForHash()).thenReturn(hashOperations);
+        when(teamRegisterSprintRepository.findAllBySprintId("s1")).thenReturn(List.of(registration()));
+        when(commitRepository.aggregateByRepoAndTimeGroupByAuthor(eq("r1"), any(), any()))
+                .thenReturn(List.<Object[]>of(new Object[] { 7L, 40L, 1L }));
+        when(stringRedisTemplate.execute(eq(SprintStandingsService.FINISH_REBUILD_SCRIPT), eq(FINISH_KEYS),
+                anyString())).thenReturn(0L);
+
+        assertTrue(sprintStandingsService.rebuild("s1"));
+
+        verify(stringRedisTemplate).rename(argThat(tmp -> tmp.startsWith(PREFIX + "teams:tmp:")),
+                eq(PREFIX + "teams"));
+        verify(valueOperations).set(PREFIX + "built", "1", Duration.ofHours(24));
+    }
+
+    @Test
+    @DisplayName("A rebuild that lost its lock doesn't mark the sprint built")
+    void rebuildLostLock() {
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        Sprint sprint = sprint();
+        when(sprintRepository.findById("s1")).thenReturn(Optional.of(sprint));
+        when(valueOperations.setIfAbsent(eq(PREFIX + "rebuilding"), anyString(), any(Duration.class)))
+                .thenReturn(true);
+        when(teamRegisterSprintRepository.findAllBySprintId("s1")).thenReturn(List.of());
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), anyString())).thenReturn(-1L);
+
+        assertFalse(sprintStandingsService.rebuild("s1"));
+
+        verify(valueOperations, never()).set(eq(PREFIX + "built"), anyString(), any(Duration.class));
+    }
+
+    private Sprint sprint() {
+        Sprint sprint = org.mockito.Mockito.mock(Sprint.class);
+        when(sprint.getStartDate()).thenReturn(LocalDateTime.of(2026, 10, 1, 0, 0));
+        when(sprint.getEndDate()).thenReturn(LocalDateTime.of(2026, 10, 31, 0, 0));
+        return sprint;
+    }
+
+    private TeamRegisterSprint registration() {
+        return TeamRegisterSprint.builder().id(new TeamRegisterSprintId("s1", "team-a", "r1")).build();
+    }
+}
@@ -0,0 +1,137 @@
+package com.backend.githubanalyzer.domain.sync.queue;
+
+import com.backend.githubanalyzer.domain.analysis.service.AnalysisBatchTracker;
+import com.backend.githubanalyzer.domain.repository.entity.GithubRepository;
+import com.backend.githubanalyzer.domain.sync.service.GithubPersistenceService;
+import com.backend.githubanalyzer.domain.user.entity.User;
+import com.backend.githubanalyzer.domain.user.service.UserService;
+import com.backend.githubanalyzer.infra.github.GithubApiService;
+import com.backend.githubanalyzer.infra.github.dto.GithubCommitResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.ListOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CommitSyncQueueWorkerTest {
+
+    private static final String QUEUE = "github:sync:commit_queue";
+    private static final String BATCH = "batch-1";
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+    @Mock
+    private ListOperations<String, Object> listOperations;
+    @Mock
+    private GithubApiService githubApiService;
+    @Mock
+    private GithubPersistenceService githubPersistenceService;
+    @Mock
+    private UserService userService;
+    @Mock
+    private AnalysisBatchTracker analysisBatchTracker;
+
+    @InjectMocks
+    private CommitSyncQueueWorker worker;
+
+    private final User user = User.builder().id(1L).username("octocat").githubId("1").build();
+    private final GithubRepository repository = GithubRepository.builder().id("R_1").reponame("hello").build();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(worker, "batchSize", 10);
+        ReflectionTestUtils.setField(worker, "fetchConcurrency", 4);
+        when(redisTemplate.opsForList()).thenReturn(listOperations);
+    }
+
+    private void queued(String... shas) {
+        List<Object> jobs = new ArrayList<>();
+        for (String sha : shas) {
+            jobs.add(CommitSyncJobRequest.builder().owner("octocat").repoName("hello").sha(sha)
+                    .branchName("main").userId(1L).repositoryId("R_1").accessToken("token").batchId(BATCH)
+                    .build());
+        }
+        when(listOperations.leftPop(QUEUE, 10)).thenReturn(jobs);
+        when(userService.findById(1L)).thenReturn(user);
+        when(githubPersistenceService.findById("R_1")).thenReturn(repository);
+    }
+
+    private void fetches(String sha) {
+        GithubCommitResponse detail = new GithubCommitResponse();
+        ReflectionTestUtils.setField(detail, "sha", sha);
+        when(githubApiService.fetchCommitDetail("octocat", "hello", sha, "token")).thenReturn(Mono.just(detail));
+    }
+
+    private static List<GithubPersistenceService.IncomingCommit> single(String sha) {
+        return argThat(list -> list != null && list.size() == 1 && sha.equals(list.get(0).detail().getSha()));
+    }
+
+    @Test
+    @DisplayName("A saved chunk records nothing here; saveCommits records its results after commit")
+    void chunkSaved() {
+        queued("a", "b");
+        fetches("a");
+        fetches("b");
+
+        worker.processSyncJobs();
+
+        verify(githubPersistenceService).saveCommits(eq(repository), eq(user),
+                argThat(list -> list != null && list.size() == 2));
+        verify(analysisBatchTracker, never()).recordResult(anyString(), anyBoolean(), anyLong());
+    }
+
+    @Test
+    @DisplayName("A failed chunk is retried one by one and only the failing commit is recorded as failed")
+    void chunkFailureRetriedIndividually() {
+        queued("a", "b");
+        fetches("a");
+        fetches("b");
+        doThrow(new IllegalStateException("chunk")).when(githubPersistenceService).saveCommits(eq(repository),
+                eq(user), argThat(list -> list != null && list.size() == 2));
+        doNothing().when(githubPersistenceService).saveCommits(eq(repository), eq(user), single("a"));
+        doThrow(new IllegalStateException("bad row")).when(githubPersistenceService).saveCommits(eq(repository),
+                eq(user), single("b"));
+
+        worker.processSyncJobs();
+
+        verify(githubPersistenceService).saveCommits(eq(repository), eq(user), single("a"));
+        verify(githubPersistenceService).saveCommits(eq(repository), eq(user), single("b"));
+        verify(analysisBatchTracker, times(1)).recordResult(BATCH, false, 0L);
+    }
+
+    @Test
+    @DisplayName("A commit whose detail can't be fetched is recorded as failed and never saved")
+    void fetchFailure() {
+        queued("a");
+        when(githubApiService.fetchCommitDetail("octocat", "hello", "a", "token"))
+                .thenReturn(Mono.error(new IllegalStateException("404")));
+
+        worker.processSyncJobs();
+
+        verify(analysisBatchTracker).recordResult(BATCH, false, 0L);
+        verify(githubPersistenceService, never()).saveCommits(any(), any(), any());
+    }
+}
@@ -0,0 +1,95 @@
+package com.backend.githubanalyzer.domain.sync.service;
+
+import com.backend.githubanalyzer.domain.analysis.dto.AnalysisJobRequest;
+import com.backend.githubanalyzer.domain.analysis.queue.AnalysisQueueProducer;
+import com.backend.githubanalyzer.domain.analysis.service.AnalysisBatchTracker;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class GithubPersistenceServiceTest {
+
+    @Mock
+    private AnalysisQueueProducer analysisQueueProducer;
+
+    @Mock
+    private AnalysisBatchTracker analysisBatchTracker;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private GithubPersistenceService githubPersistenceService;
+
+    private static List<AnalysisJobRequest> jobs() {
+        return List.of(
+                AnalysisJobRequest.builder().commitSha("sha1").repositoryId("repo-1").batchId("batch-1").build(),
+                AnalysisJobRequest.builder().commitSha("sha2").repositoryId("repo-1").batchId("batch-1").build());
+    }
+
+    @Test
+    @DisplayName("A transient push failure is retried once and the batch is left to the worker")
+    void retriesOnce() {
+        List<AnalysisJobRequest> jobs = jobs();
+        doThrow(new RedisConnectionFailureException("connection reset"))
+                .doNothing()
+                .when(analysisQueueProducer).pushJobs(jobs);
+
+        githubPersistenceService.pushJobsOrReleaseBatch(jobs);
+
+        verify(analysisQueueProducer, times(2)).pushJobs(jobs);
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+        verify(analysisBatchTracker, never()).recordResult(any(), eq(false), anyLong());
+    }
+
+    @Test
+    @DisplayName("When the push keeps failing, the commits are marked FAILED and the batch still completes")
+    void releasesBatchWhenQueueUnavailable() {
+        List<AnalysisJobRequest> jobs = jobs();
+        doThrow(new RedisConnectionFailureException("connection refused"))
+                .when(analysisQueueProducer).pushJobs(jobs);
+
+        githubPersistenceService.pushJobsOrReleaseBatch(jobs);
+
+        verify(analysisQueueProducer, times(2)).pushJobs(jobs);
+        verify(jdbcTemplate).batchUpdate(contains("analysis_status = 'FAILED'"),
+                argThat((List<Object[]> args) -> args.size() == 2
+                        && "sha1".equals(args.get(0)[0]) && "repo-1".equals(args.get(0)[1])
+                        && "sha2".equals(args.get(1)[0])));
+        verify(analysisBatchTracker, times(2)).recordResult("batch-1", false, 0L);
+    }
+
+    @Test
+    @DisplayName("The batch is released even if the FAILED status can't be written")
+    void releasesBatchWhenStatusWriteFails() {
+        List<AnalysisJobRequest> jobs = jobs();
+        doThrow(new RedisConnectionFailureException("connection refused"))
+                .when(analysisQueueProducer).pushJobs(jobs);
+        doThrow(new org.springframework.dao.DataAccessResourceFailureException("db down"))
+                .when(jdbcTemplate).batchUpdate(anyString(), anyList());
+
+        githubPersistenceService.pushJobsOrReleaseBatch(jobs);
+
+        verify(analysisBatchTracker, times(2)).recordResult("batch-1", false, 0L);
+    }
+}
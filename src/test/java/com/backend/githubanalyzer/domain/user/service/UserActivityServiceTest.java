@@ -0,0 +1,150 @@
+package com.backend.githubanalyzer.domain.user.service;
+
+import com.backend.githubanalyzer.domain.user.repository.UserDailyActivityRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.BitFieldSubCommands;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserActivityServiceTest {
+
+    private static final String KEY = "activity:days:1";
+
+    @Mock
+    private UserDailyActivityRepository activityRepository;
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private Cursor<String> cursor;
+
+    @InjectMocks
+    private UserActivityService userActivityService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(userActivityService, "zone", "Asia/Seoul");
+        ReflectionTestUtils.setField(userActivityService, "storedZone", "UTC");
+    }
+
+    private void bitmapBuilt() {
+        when(stringRedisTemplate.hasKey(KEY + ":built")).thenReturn(true);
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @Test
+    @DisplayName("The streak is the trailing ones of the word that ends today")
+    void streakEndingToday() {
+        bitmapBuilt();
+        when(valueOperations.bitField(eq(KEY), any(BitFieldSubCommands.class))).thenReturn(List.of(0b0111L));
+
+        assertEquals(3, userActivityService.getCurrentStreak(1L));
+    }
+
+    @Test
+    @DisplayName("Nothing today yet: the streak ending yesterday still counts")
+    void streakEndingYesterday() {
+        bitmapBuilt();
+        when(valueOperations.bitField(eq(KEY), any(BitFieldSubCommands.class)))
+                .thenReturn(List.of(0b0110L), List.of(0b0011L));
+
+        assertEquals(2, userActivityService.getCurrentStreak(1L));
+    }
+
+    @Test
+    @DisplayName("A run longer than one 63-day word carries into the next word")
+    void streakAcrossWords() {
+        bitmapBuilt();
+        when(valueOperations.bitField(eq(KEY), any(BitFieldSubCommands.class)))
+                .thenReturn(List.of(Long.MAX_VALUE, 0b1011L));
+
+        assertEquals(65, userActivityService.getCurrentStreak(1L));
+    }
+
+    @Test
+    @DisplayName("Without Redis the streak is counted from the daily table")
+    void fallsBackToTable() {
+        when(stringRedisTemplate.hasKey(KEY + ":built")).thenThrow(new RedisConnectionFailureException("down"));
+        LocalDate today = userActivityService.today();
+        when(activityRepository.findActiveDates(1L))
+                .thenReturn(List.of(today.minusDays(3), today.minusDays(1), today));
+
+        assertEquals(2, userActivityService.getCurrentStreak(1L));
+    }
+
+    @Test
+    @DisplayName("The backfill's DELETE and INSERT run inside one transaction, then the lock is released")
+    void backfillInOneTransaction() {
+        AtomicBoolean inTransaction = new AtomicBoolean();
+        when(activityRepository.count()).thenReturn(0L);
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(eq("activity:backfill:lock"), eq("1"), any(Duration.class))).thenReturn(true);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            inTransaction.set(true);
+            try {
+                return invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null);
+            } finally {
+                inTransaction.set(false);
+            }
+        });
+        when(jdbcTemplate.update(any(String.class), any(MapSqlParameterSource.class))).thenAnswer(invocation -> {
+            assertTrue(inTransaction.get());
+            return 1;
+        });
+        when(stringRedisTemplate.scan(any(ScanOptions.class))).thenReturn(cursor);
+
+        userActivityService.backfillIfEmpty();
+
+        verify(jdbcTemplate, times(2)).update(any(String.class), any(MapSqlParameterSource.class));
+        verify(stringRedisTemplate).delete("activity:backfill:lock");
+    }
+
+    @Test
+    @DisplayName("Another node holding the backfill lock means no rebuild here")
+    void backfillLockedElsewhere() {
+        when(activityRepository.count()).thenReturn(0L);
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(eq("activity:backfill:lock"), eq("1"), any(Duration.class)))
+                .thenReturn(false);
+
+        userActivityService.backfillIfEmpty();
+
+        verifyNoInteractions(transactionTemplate, jdbcTemplate);
+        verify(stringRedisTemplate, never()).delete("activity:backfill:lock");
+    }
+}
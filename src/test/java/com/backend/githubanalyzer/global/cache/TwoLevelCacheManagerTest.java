@@ -0,0 +1,149 @@
+package com.backend.githubanalyzer.global.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TwoLevelCacheManagerTest {
+
+    private static final String CHANNEL = "cache:invalidation";
+
+    @Mock
+    private StringRedisTemplate nodeARedis;
+    @Mock
+    private StringRedisTemplate nodeBRedis;
+
+    // Two nodes sharing one L2
+    private final ConcurrentMapCacheManager remote = new ConcurrentMapCacheManager();
+    private TwoLevelCacheManager nodeA;
+    private TwoLevelCacheManager nodeB;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private void startNodes() {
+        nodeA = manager(nodeARedis);
+        nodeB = manager(nodeBRedis);
+    }
+
+    private TwoLevelCacheManager manager(StringRedisTemplate redis) {
+        return new TwoLevelCacheManager(remote, Set.of("userProfile"), Duration.ofMinutes(1), 100, redis,
+                new SimpleMeterRegistry(), CHANNEL);
+    }
+
+    private String published(StringRedisTemplate redis) {
+        ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+        verify(redis).convertAndSend(eq(CHANNEL), message.capture());
+        return message.getValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private com.github.benmanes.caffeine.cache.Cache<String, Cache.ValueWrapper> local(TwoLevelCacheManager manager) {
+        Cache target = ((TransactionAwareCacheDecorator) manager.getCache("userProfile")).getTargetCache();
+        return (com.github.benmanes.caffeine.cache.Cache<String, Cache.ValueWrapper>) target.getNativeCache();
+    }
+
+    @Test
+    @DisplayName("Caches outside the two-level set are served by the remote manager directly")
+    void remoteOnlyCache() {
+        startNodes();
+
+        assertSame(remote.getCache("teamMembers"), nodeA.getCache("teamMembers"));
+    }
+
+    @Test
+    @DisplayName("An eviction message drops the key from the other node's L1 but is ignored by its sender")
+    void invalidationFromOtherNode() {
+        startNodes();
+        nodeA.getCache("userProfile").put(7L, "profile");
+        nodeB.getCache("userProfile").get(7L);
+        assertNotNull(local(nodeB).getIfPresent("7"));
+
+        nodeA.getCache("userProfile").evict(7L);
+        String message = published(nodeARedis);
+        // Re-cached on A after its own eviction; its echo must not drop it again
+        local(nodeA).put("7", new SimpleValueWrapper("reloaded"));
+
+        nodeA.onInvalidation(message);
+        nodeB.onInvalidation(message);
+
+        assertNotNull(local(nodeA).getIfPresent("7"));
+        assertNull(local(nodeB).getIfPresent("7"));
+    }
+
+    @Test
+    @DisplayName("An empty key in the message clears the whole L1 of that cache")
+    void invalidationClear() {
+        startNodes();
+        nodeB.getCache("userProfile").put(7L, "a");
+        nodeB.getCache("userProfile").put(8L, "b");
+
+        nodeB.onInvalidation("other-node|userProfile|");
+
+        assertEquals(0, local(nodeB).estimatedSize());
+    }
+
+    @Test
+    @DisplayName("Malformed messages and unknown caches are ignored")
+    void invalidationIgnored() {
+        startNodes();
+        nodeB.getCache("userProfile").put(7L, "a");
+
+        nodeB.onInvalidation("garbage");
+        nodeB.onInvalidation("other-node|repository|7");
+
+        assertNotNull(local(nodeB).getIfPresent("7"));
+    }
+
+    @Test
+    @DisplayName("Inside a transaction an eviction waits for the commit")
+    void evictionAfterCommit() {
+        startNodes();
+        Cache cache = nodeA.getCache("userProfile");
+        cache.put(7L, "profile");
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.evict(7L);
+
+        assertEquals("profile", cache.get(7L).get());
+        verify(nodeARedis, never()).convertAndSend(anyString(), anyString());
+
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+        }
+        TransactionSynchronizationManager.clearSynchronization();
+
+        assertNull(cache.get(7L));
+        assertNull(remote.getCache("userProfile").get(7L));
+        assertNotNull(published(nodeARedis));
+    }
+}
@@ -0,0 +1,95 @@
+package com.backend.githubanalyzer.global.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TwoLevelCacheTest {
+
+    @Mock
+    private TwoLevelCacheManager manager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final com.github.benmanes.caffeine.cache.Cache<String, Cache.ValueWrapper> local =
+            Caffeine.newBuilder().build();
+    private final ConcurrentMapCache remote = new ConcurrentMapCache("repository");
+    private TwoLevelCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new TwoLevelCache("repository", local, remote, manager, meterRegistry);
+    }
+
+    private double count(String result) {
+        return meterRegistry.counter("cache.two-level.gets", "cache", "repository", "result", result).count();
+    }
+
+    @Test
+    @DisplayName("A miss, then an L2 hit that fills L1, then an L1 hit are each counted once")
+    void counters() {
+        assertNull(cache.get("R_1"));
+        remote.put("R_1", "repo");
+        assertEquals("repo", cache.get("R_1").get());
+        assertEquals("repo", cache.get("R_1").get());
+
+        assertEquals(1, count("miss"));
+        assertEquals(1, count("l2_hit"));
+        assertEquals(1, count("l1_hit"));
+    }
+
+    @Test
+    @DisplayName("get(key, loader) loads once, stores in both tiers and serves later reads from L1")
+    void loaderPopulatesL1() {
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("profile", cache.get(7L, () -> {
+            loads.incrementAndGet();
+            return "profile";
+        }));
+        assertEquals("profile", cache.get(7L, () -> "reloaded"));
+
+        assertEquals(1, loads.get());
+        assertNotNull(local.getIfPresent("7"));
+        assertEquals("profile", remote.get(7L).get());
+        assertEquals(1, count("miss"));
+        assertEquals(1, count("l1_hit"));
+    }
+
+    @Test
+    @DisplayName("get(key, loader) with the value only in L2 counts an L2 hit and fills L1")
+    void loaderL2Hit() {
+        remote.put(7L, "profile");
+
+        assertEquals("profile", cache.get(7L, () -> "reloaded"));
+
+        assertEquals(1, count("l2_hit"));
+        assertEquals("profile", local.getIfPresent("7").get());
+    }
+
+    @Test
+    @DisplayName("Evicting drops both tiers and broadcasts the key")
+    void evictBroadcasts() {
+        cache.put("R_1", "repo");
+
+        cache.evict("R_1");
+
+        assertNull(local.getIfPresent("R_1"));
+        assertNull(remote.get("R_1"));
+        verify(manager).publishEviction("repository", "R_1");
+    }
+}
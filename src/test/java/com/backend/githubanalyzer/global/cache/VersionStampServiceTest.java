@@ -0,0 +1,104 @@
+package com.backend.githubanalyzer.global.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class VersionStampServiceTest {
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+
+    @InjectMocks
+    private VersionStampService versionStampService;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("The tag carries the epoch, the variant and every ref's version; unknown refs are 0")
+    void etagFormat() {
+        when(stringRedisTemplate.opsForHash()).thenReturn(hashOperations);
+        when(hashOperations.multiGet(eq("versions"), any())).thenReturn(Arrays.asList("ab12cd34", "7", null));
+
+        String tag = versionStampService.etag("metrics", "repo:R_1", "scores");
+
+        assertEquals("\"ab12cd34:metrics:repo:R_1=7,scores=0\"", tag);
+    }
+
+    @Test
+    @DisplayName("A lost hash gets a new epoch, so restarted counters can't revive old tags")
+    void etagCreatesEpoch() {
+        when(stringRedisTemplate.opsForHash()).thenReturn(hashOperations);
+        when(hashOperations.multiGet(eq("versions"), any())).thenReturn(Arrays.asList(null, null));
+        when(hashOperations.get("versions", "_epoch")).thenReturn("ffff0000");
+
+        String tag = versionStampService.etag("metrics", "repo:R_1");
+
+        verify(hashOperations).putIfAbsent(eq("versions"), eq("_epoch"), anyString());
+        assertEquals("\"ffff0000:metrics:repo:R_1=0\"", tag);
+    }
+
+    @Test
+    @DisplayName("Inside a transaction the bump waits for the commit")
+    void bumpAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        versionStampService.bump("repo:R_1");
+        verify(stringRedisTemplate, never()).executePipelined(any(RedisCallback.class));
+
+        completeWith(TransactionSynchronization.STATUS_COMMITTED);
+        verify(stringRedisTemplate).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    @DisplayName("A rolled back transaction leaves the versions alone")
+    void noBumpOnRollback() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        versionStampService.bump("repo:R_1");
+        completeWith(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        verify(stringRedisTemplate, never()).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    @DisplayName("Outside a transaction the bump is immediate")
+    void bumpWithoutTransaction() {
+        versionStampService.bump("repo:R_1");
+
+        verify(stringRedisTemplate).executePipelined(any(RedisCallback.class));
+    }
+
+    private void completeWith(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(s -> s.afterCompletion(status));
+    }
+}
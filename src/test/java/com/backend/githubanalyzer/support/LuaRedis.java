@@ -0,0 +1,103 @@
+package com.backend.githubanalyzer.support;
+
+import org.luaj.vm2.Globals;
+import org.luaj.vm2.LuaTable;
+import org.luaj.vm2.LuaValue;
+import org.luaj.vm2.Varargs;
+import org.luaj.vm2.lib.VarArgFunction;
+import org.luaj.vm2.lib.jse.JsePlatform;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Runs a RedisScript against an in-memory keyspace, for unit tests of the Lua scripts.
+// Covers the commands our scripts use; anything else fails the test.
+public class LuaRedis {
+
+    public final Map<String, String> strings = new HashMap<>();
+    public final Map<String, List<String>> lists = new HashMap<>();
+    public final Map<String, Map<String, Double>> zsets = new HashMap<>();
+    public final Map<String, Map<String, Long>> hashes = new HashMap<>();
+
+    public LuaValue run(RedisScript<?> script, List<String> keys, String... args) {
+        Globals globals = JsePlatform.standardGlobals();
+        globals.set("KEYS", table(keys));
+        globals.set("ARGV", table(List.of(args)));
+        LuaTable redis = new LuaTable();
+        redis.set("call", new VarArgFunction() {
+            @Override
+            public Varargs invoke(Varargs varargs) {
+                List<String> command = new ArrayList<>();
+                for (int i = 1; i <= varargs.narg(); i++) {
+                    command.add(varargs.arg(i).tojstring());
+                }
+                return execute(command);
+            }
+        });
+        globals.set("redis", redis);
+        return globals.load(script.getScriptAsString(), "script").call();
+    }
+
+    public boolean exists(String key) {
+        return strings.containsKey(key) || lists.containsKey(key) || zsets.containsKey(key)
+                || hashes.containsKey(key);
+    }
+
+    private LuaValue execute(List<String> command) {
+        String key = command.get(1);
+        switch (command.get(0).toUpperCase()) {
+            case "GET":
+                return strings.containsKey(key) ? LuaValue.valueOf(strings.get(key)) : LuaValue.FALSE;
+            case "EXISTS":
+                return LuaValue.valueOf(exists(key) ? 1 : 0);
+            case "EXPIRE":
+                return LuaValue.valueOf(exists(key) ? 1 : 0);
+            case "DEL": {
+                int removed = 0;
+                for (String k : command.subList(1, command.size())) {
+                    removed += exists(k) ? 1 : 0;
+                    strings.remove(k);
+                    lists.remove(k);
+                    zsets.remove(k);
+                    hashes.remove(k);
+                }
+                return LuaValue.valueOf(removed);
+            }
+            case "RPUSH": {
+                List<String> list = lists.computeIfAbsent(key, k -> new ArrayList<>());
+                list.addAll(command.subList(2, command.size()));
+                return LuaValue.valueOf(list.size());
+            }
+            case "LRANGE": {
+                List<String> list = lists.getOrDefault(key, List.of());
+                int start = Integer.parseInt(command.get(2));
+                int stop = Integer.parseInt(command.get(3));
+                int end = stop < 0 ? list.size() + stop : Math.min(stop, list.size() - 1);
+                return table(start > end ? List.of() : list.subList(start, end + 1));
+            }
+            case "ZINCRBY": {
+                double score = zsets.computeIfAbsent(key, k -> new HashMap<>())
+                        .merge(command.get(3), Double.parseDouble(command.get(2)), Double::sum);
+                return LuaValue.valueOf(String.valueOf(score));
+            }
+            case "HINCRBY": {
+                long value = hashes.computeIfAbsent(key, k -> new HashMap<>())
+                        .merge(command.get(2), Long.parseLong(command.get(3)), Long::sum);
+                return LuaValue.valueOf(value);
+            }
+            default:
+                throw new UnsupportedOperationException("Not stubbed: " + command.get(0));
+        }
+    }
+
+    private static LuaTable table(List<String> values) {
+        LuaTable table = new LuaTable();
+        for (int i = 0; i < values.size(); i++) {
+            table.set(i + 1, LuaValue.valueOf(values.get(i)));
+        }
+        return table;
+    }
+}